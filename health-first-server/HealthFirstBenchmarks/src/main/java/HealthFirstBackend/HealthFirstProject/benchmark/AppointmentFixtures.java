@@ -0,0 +1,87 @@
+package HealthFirstBackend.HealthFirstProject.benchmark;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientSummary;
+import HealthFirstBackend.HealthFirstProject.repository.ProfileInvalidationRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import HealthFirstBackend.HealthFirstProject.service.AppointmentService;
+import HealthFirstBackend.HealthFirstProject.service.ProfileCache;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * An AppointmentService over in-memory repositories: one provider whose listing page returns {@code rows}
+ * booked appointments for distinct patients, with names served from a warm ProfileCache.
+ */
+public final class AppointmentFixtures {
+    public static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    public static final LocalDateTime TO = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+    private AppointmentFixtures() {}
+
+    public record Listing(AppointmentService service, UUID providerId, int pageSize) {
+    }
+
+    public static Listing providerListing(int pageSize) {
+        UUID providerId = UUID.randomUUID();
+        // One row more than the page so the service emits a next cursor
+        List<AppointmentSlot> rows = new ArrayList<>(pageSize + 1);
+        for (int i = 0; i <= pageSize; i++) {
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setId(UUID.randomUUID());
+            slot.setAvailabilityId(UUID.randomUUID());
+            slot.setProviderId(providerId);
+            slot.setPatientId(UUID.randomUUID());
+            slot.setSlotStartTime(FROM.plusMinutes(30L * i));
+            slot.setSlotEndTime(FROM.plusMinutes(30L * i + 30));
+            slot.setStatus(AppointmentSlot.Status.BOOKED);
+            slot.setAppointmentType("CONSULTATION");
+            slot.setBookingReference("BK" + String.format("%013d", i));
+            slot.setCreatedAt(FROM.minusDays(7));
+            slot.setUpdatedAt(FROM.minusDays(7));
+            rows.add(slot);
+        }
+        AppointmentSlotRepository.AppointmentSummary summary = Stubs.of(AppointmentSlotRepository.AppointmentSummary.class, Map.of(
+            "getTotal", args -> 240L,
+            "getUpcoming", args -> 200L,
+            "getCancelled", args -> 12L));
+        AppointmentSlotRepository slotRepository = Stubs.of(AppointmentSlotRepository.class, Map.of(
+            "findProviderPage", args -> rows,
+            "summarizeForProvider", args -> summary));
+
+        ProviderRepository providerRepository = Stubs.of(ProviderRepository.class, Map.of(
+            "findSummariesByIdIn", args -> ids(args).stream()
+                .map(id -> new ProviderSummary(id, "John", "Doe", "Cardiology", true, "Boston", "MA", "02101"))
+                .toList()));
+        PatientRepository patientRepository = Stubs.of(PatientRepository.class, Map.of(
+            "findSummariesByIdIn", args -> ids(args).stream()
+                .map(id -> new PatientSummary(id, "Jane", "Smith", true))
+                .toList()));
+        ProfileCache profileCache = new ProfileCache(providerRepository, patientRepository,
+            Stubs.of(ProfileInvalidationRepository.class, Map.of()), "local", 10_000, 60);
+
+        AppointmentService service = new AppointmentService();
+        Stubs.inject(service, "appointmentSlotRepository", slotRepository);
+        Stubs.inject(service, "profileCache", profileCache);
+        Listing listing = new Listing(service, providerId, pageSize);
+        // Warm the profile cache so the benchmark measures steady-state mapping
+        list(listing);
+        return listing;
+    }
+
+    public static Object list(Listing listing) {
+        return listing.service().getAppointmentsForProvider(listing.providerId(), FROM, TO, null, null, listing.pageSize());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Collection<UUID> ids(Object[] args) {
+        return (Collection<UUID>) args[0];
+    }
+}
@@ -0,0 +1,46 @@
+package HealthFirstBackend.HealthFirstProject.benchmark;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Minimal in-memory stand-ins so service code runs without Spring or a database: repository interfaces
+ * answered by a map of method name to result, and field injection for {@code @Autowired} fields.
+ */
+public final class Stubs {
+    private Stubs() {}
+
+    /**
+     * Implements the interface by looking methods up by name; unlisted methods throw, so a benchmark cannot
+     * silently measure a path it did not set up.
+     */
+    public static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> type.getSimpleName() + " stub";
+                };
+            }
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+        return type.cast(proxy);
+    }
+
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package HealthFirstBackend.HealthFirstProject.dto;
+
+import HealthFirstBackend.HealthFirstProject.benchmark.AppointmentFixtures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a GetAppointmentsResponseDTO page with an ObjectMapper configured like Spring Boot's
+ * (registered modules, ISO dates).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentJsonBenchmark {
+    @Param({"50", "200"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private GetAppointmentsResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        response = (GetAppointmentsResponseDTO) AppointmentFixtures.list(AppointmentFixtures.providerListing(pageSize));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
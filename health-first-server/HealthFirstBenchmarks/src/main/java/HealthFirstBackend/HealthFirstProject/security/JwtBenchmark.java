@@ -0,0 +1,37 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtil token issue and verification, the per-login and per-request cost of authentication.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+    private static final String SECRET = "ReplaceWithASecureSecretKeyForJWTGeneration1234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        token = issue();
+    }
+
+    @Benchmark
+    public String issue() {
+        return jwtUtil.generateToken("123e4567-e89b-12d3-a456-426614174000", "jane.smith@email.com", "PATIENT");
+    }
+
+    @Benchmark
+    public Claims verify() {
+        return jwtUtil.parseClaims(token).orElseThrow();
+    }
+}
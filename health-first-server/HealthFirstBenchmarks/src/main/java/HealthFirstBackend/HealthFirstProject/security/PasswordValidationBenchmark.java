@@ -0,0 +1,46 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password checks through PasswordHasher (BCrypt on its own pool) at the production cost factor and one below,
+ * for a correct and a wrong password.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordValidationBenchmark {
+    private static final String PASSWORD = "SecurePassword123!";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHasher hasher;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(strength), strength, 1, 64, 60_000);
+        hash = hasher.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hasher.shutdown();
+    }
+
+    @Benchmark
+    public boolean matchingPassword() {
+        return hasher.matches(PASSWORD, hash);
+    }
+
+    @Benchmark
+    public boolean wrongPassword() {
+        return hasher.matches("WrongPassword123!", hash);
+    }
+}
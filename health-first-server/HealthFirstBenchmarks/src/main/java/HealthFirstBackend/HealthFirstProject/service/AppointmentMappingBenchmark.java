@@ -0,0 +1,33 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.benchmark.AppointmentFixtures;
+import org.openjdk.jmh.annotations.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping of an appointment listing page in AppointmentService: cursor encoding, name lookups in
+ * a warm ProfileCache and building GetAppointmentsResponseDTO. Repositories are in-memory stubs, so no query
+ * time is included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppointmentMappingBenchmark {
+    @Param({"50", "200"})
+    public int pageSize;
+
+    private AppointmentFixtures.Listing listing;
+
+    @Setup
+    public void setUp() {
+        listing = AppointmentFixtures.providerListing(pageSize);
+    }
+
+    @Benchmark
+    public Object mapProviderPage() {
+        return AppointmentFixtures.list(listing);
+    }
+}
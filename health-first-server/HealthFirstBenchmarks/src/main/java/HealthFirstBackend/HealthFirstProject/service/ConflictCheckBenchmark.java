@@ -0,0 +1,74 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.benchmark.Stubs;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import org.openjdk.jmh.annotations.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability conflict checks against ProviderScheduleIndex for a provider with a year of daily 09:00-12:00
+ * and 13:00-17:00 windows: a request inside an existing window, one in the free lunch hour, and reserving a
+ * recurring weekly window (52 checks) that conflicts on its last occurrence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictCheckBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+
+    private ProviderScheduleIndex index;
+    private UUID providerId;
+    private LocalDateTime conflictingStart;
+    private LocalDateTime freeStart;
+    private List<LocalDate> weeklyDates;
+
+    @Setup
+    public void setUp() {
+        ProviderAvailabilityRepository repository = Stubs.of(ProviderAvailabilityRepository.class,
+            Map.of("findByProviderId", args -> List.of(), "findOccurringBetween", args -> List.of()));
+        index = new ProviderScheduleIndex(repository, 1000, 60);
+        providerId = UUID.randomUUID();
+        List<LocalDate> year = new ArrayList<>();
+        for (int day = 0; day < 365; day++) {
+            year.add(FIRST_DAY.plusDays(day));
+        }
+        index.reserve(providerId, year, LocalTime.of(9, 0), LocalTime.of(12, 0));
+        index.reserve(providerId, year, LocalTime.of(13, 0), LocalTime.of(17, 0));
+        conflictingStart = FIRST_DAY.plusDays(180).atTime(10, 0);
+        freeStart = FIRST_DAY.plusDays(180).atTime(12, 0);
+        weeklyDates = new ArrayList<>();
+        for (int week = 0; week < 52; week++) {
+            weeklyDates.add(FIRST_DAY.minusWeeks(51).plusWeeks(week));
+        }
+    }
+
+    @Benchmark
+    public boolean overlapsExistingWindow() {
+        return index.overlaps(providerId, conflictingStart, conflictingStart.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean overlapsNothing() {
+        return index.overlaps(providerId, freeStart, freeStart.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean reserveRecurringWithLateConflict() {
+        try {
+            index.reserve(providerId, weeklyDates, LocalTime.of(11, 0), LocalTime.of(11, 30));
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Slot expansion in ProviderAvailabilityService: one 09:00-17:00 window with 30 minute slots and 15 minute
+ * breaks, either a single day or recurring daily for a year. Slots go to a Blackhole instead of the JDBC writer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlotGenerationBenchmark {
+    @Param({"SINGLE_DAY", "DAILY_FOR_A_YEAR"})
+    public String recurrence;
+
+    private ProviderAvailability availability;
+
+    @Setup
+    public void setUp() {
+        availability = new ProviderAvailability();
+        availability.setId(UUID.randomUUID());
+        availability.setProviderId(UUID.randomUUID());
+        availability.setDate(LocalDate.of(2030, 1, 1));
+        availability.setStartTime(LocalTime.of(9, 0));
+        availability.setEndTime(LocalTime.of(17, 0));
+        availability.setSlotDuration(30);
+        availability.setBreakDuration(15);
+        availability.setAppointmentType(ProviderAvailability.AppointmentType.CONSULTATION);
+        if (recurrence.equals("DAILY_FOR_A_YEAR")) {
+            availability.setIsRecurring(true);
+            availability.setRecurrencePattern(ProviderAvailability.RecurrencePattern.DAILY);
+            availability.setRecurrenceEndDate(LocalDate.of(2030, 12, 31));
+        }
+    }
+
+    @Benchmark
+    public int generateSlots(Blackhole blackhole) {
+        return ProviderAvailabilityService.forEachSlot(availability, (AppointmentSlot slot) -> blackhole.consume(slot));
+    }
+}
@@ -0,0 +1,113 @@
+package HealthFirstBackend.HealthFirstProject.config;
+
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
+import HealthFirstBackend.HealthFirstProject.security.VerifiedTokenCache;
+import HealthFirstBackend.HealthFirstProject.service.EmailOutboxDispatcher;
+import HealthFirstBackend.HealthFirstProject.service.ProfileCache;
+import HealthFirstBackend.HealthFirstProject.service.SecondLevelCacheStats;
+import HealthFirstBackend.HealthFirstProject.service.SlotHoldService;
+import HealthFirstBackend.HealthFirstProject.service.VerificationTokenReaper;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metrics beyond what Spring Boot records on its own (http.server.requests for every controller endpoint,
+ * spring.data.repository.invocations for every repository query). Enables {@code @Timed} on the services and
+ * JDBC repositories, and publishes the counters that components already keep in their stats() records.
+ * Everything is scraped from /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MeterBinder componentStatsMetrics(VerifiedTokenCache verifiedTokenCache,
+                                             ProfileCache profileCache,
+                                             PasswordHasher passwordHasher,
+                                             EmailOutboxDispatcher emailOutboxDispatcher,
+                                             SlotHoldService slotHoldService,
+                                             VerificationTokenReaper verificationTokenReaper,
+                                             SecondLevelCacheStats secondLevelCacheStats) {
+        return registry -> {
+            cacheMetrics(registry, "verified-tokens", verifiedTokenCache, VerifiedTokenCache::stats, VerifiedTokenCache::size);
+            cacheMetrics(registry, "provider-profiles", profileCache, cache -> cache.stats().providers(),
+                cache -> cache.stats().providerEntries());
+            cacheMetrics(registry, "patient-profiles", profileCache, cache -> cache.stats().patients(),
+                cache -> cache.stats().patientEntries());
+            FunctionCounter.builder("healthfirst.profile.invalidations", profileCache, cache -> cache.stats().invalidationsPublished())
+                .tag("direction", "published").register(registry);
+            FunctionCounter.builder("healthfirst.profile.invalidations", profileCache, cache -> cache.stats().invalidationsReceived())
+                .tag("direction", "received").register(registry);
+
+            Gauge.builder("healthfirst.password.hash.queued", passwordHasher, PasswordHasher::getQueuedTasks)
+                .description("Password hashing tasks waiting for the hashing pool").register(registry);
+            Gauge.builder("healthfirst.password.hash.active", passwordHasher, PasswordHasher::getActiveTasks)
+                .description("Password hashing tasks running").register(registry);
+
+            // Two COUNT queries per scrape
+            Gauge.builder("healthfirst.email.outbox.depth", emailOutboxDispatcher, dispatcher -> dispatcher.stats().queueDepth())
+                .description("Outbox emails pending or being sent").register(registry);
+
+            FunctionCounter.builder("healthfirst.slot.holds", slotHoldService, service -> service.stats().held())
+                .tag("event", "held").register(registry);
+            FunctionCounter.builder("healthfirst.slot.holds", slotHoldService, service -> service.stats().released())
+                .tag("event", "released").register(registry);
+            FunctionCounter.builder("healthfirst.slot.holds", slotHoldService, service -> service.stats().expired())
+                .tag("event", "expired").register(registry);
+            Gauge.builder("healthfirst.slot.holds.pending", slotHoldService, service -> service.stats().pending())
+                .description("Holds waiting to expire on this instance").register(registry);
+            TimeGauge.builder("healthfirst.slot.holds.expiry.lag.max", slotHoldService, TimeUnit.MILLISECONDS,
+                service -> service.stats().maxExpiryLagMillis()).register(registry);
+
+            FunctionCounter.builder("healthfirst.verification.tokens.purged", verificationTokenReaper,
+                reaper -> reaper.stats().patientTokensPurged()).tag("kind", "patient").register(registry);
+            FunctionCounter.builder("healthfirst.verification.tokens.purged", verificationTokenReaper,
+                reaper -> reaper.stats().providerTokensPurged()).tag("kind", "provider").register(registry);
+            FunctionCounter.builder("healthfirst.verification.tokens.purge.runs", verificationTokenReaper,
+                reaper -> reaper.stats().runs()).register(registry);
+            TimeGauge.builder("healthfirst.verification.tokens.purge.last", verificationTokenReaper, TimeUnit.MILLISECONDS,
+                reaper -> reaper.stats().lastRunMillis()).register(registry);
+
+            for (SecondLevelCacheStats.Region region : secondLevelCacheStats.stats().regions()) {
+                String name = region.name();
+                FunctionCounter.builder("healthfirst.hibernate.cache.gets", secondLevelCacheStats, stats -> stats.region(name).hits())
+                    .tags("region", name, "result", "hit").register(registry);
+                FunctionCounter.builder("healthfirst.hibernate.cache.gets", secondLevelCacheStats, stats -> stats.region(name).misses())
+                    .tags("region", name, "result", "miss").register(registry);
+                FunctionCounter.builder("healthfirst.hibernate.cache.puts", secondLevelCacheStats, stats -> stats.region(name).puts())
+                    .tag("region", name).register(registry);
+            }
+            FunctionCounter.builder("healthfirst.hibernate.query.cache.gets", secondLevelCacheStats, stats -> stats.stats().queryCacheHits())
+                .tag("result", "hit").register(registry);
+            FunctionCounter.builder("healthfirst.hibernate.query.cache.gets", secondLevelCacheStats, stats -> stats.stats().queryCacheMisses())
+                .tag("result", "miss").register(registry);
+        };
+    }
+
+    // Same meter names and tags as Micrometer's own cache binders, so cache dashboards work unchanged.
+    // Meters hold their owner weakly; the owners here are singleton beans.
+    private static <T> void cacheMetrics(MeterRegistry registry, String cache, T owner, Function<T, CacheStats> stats,
+                                         ToDoubleFunction<T> size) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).hitCount())
+            .tags("cache", cache, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).missCount())
+            .tags("cache", cache, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).evictionCount())
+            .tag("cache", cache).register(registry);
+        Gauge.builder("cache.size", owner, size).tag("cache", cache).register(registry);
+    }
+}
@@ -1,9 +1,16 @@
 package HealthFirstBackend.HealthFirstProject.config;
 
-import HealthFirstBackend.HealthFirstProject.security.AuthMiddleware;
+import HealthFirstBackend.HealthFirstProject.security.JwtAuthenticationFilter;
+import HealthFirstBackend.HealthFirstProject.security.ProviderRole;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.info.InfoEndpoint;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -13,11 +20,19 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @Configuration
 public class SecurityConfig {
     @Autowired
-    private AuthMiddleware authMiddleware;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
 
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public BCryptPasswordEncoder passwordEncoder(@Value("${security.password.bcrypt-strength:12}") int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    // Keep Boot from also registering the filter with the servlet container; it runs only in the security chain
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration() {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     @Bean
@@ -31,8 +46,18 @@ public class SecurityConfig {
                 // Swagger UI endpoints
                 .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**", "/swagger-resources/**", "/webjars/**").permitAll()
                 .requestMatchers("/api/v1/patient/**").authenticated()
+                // Bulk export of every patient's appointments is for reporting accounts only
+                .requestMatchers("/api/v1/appointments/export").hasRole(ProviderRole.ADMIN.name())
+                // Bulk availability is saved under the provider id in the caller's token
+                .requestMatchers(HttpMethod.POST, "/api/v1/provider/availability/bulk")
+                    .hasAnyRole(ProviderRole.PROVIDER.name(), ProviderRole.ADMIN.name())
+                // Holds are placed by the patient themselves; AppointmentController checks patient_id against the token
+                .requestMatchers("/api/v1/appointments/holds", "/api/v1/appointments/holds/**").hasRole("PATIENT")
+                // Health and info for load balancers; metrics and the Prometheus scrape reveal internal layout and traffic
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class, InfoEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.toAnyEndpoint()).hasRole(ProviderRole.ADMIN.name())
                 .anyRequest().permitAll();
-        http.addFilterBefore(authMiddleware, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,149 @@
+package HealthFirstBackend.HealthFirstProject.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the SQL statements each HTTP request executes and the time spent in them. Every request is recorded
+ * in {@code healthfirst.http.sql.statements}. Requests over {@code statement-budget} statements are logged
+ * and counted in {@code healthfirst.http.sql.budget.exceeded}.
+ *
+ * <p>With {@code response-headers} on (non-production), the totals are also returned in the X-SQL-* headers.
+ * The headers are written when the response commits, so they miss statements run while the body streams.
+ * With {@code log-requests} on (production), every request gets one key=value log line instead.
+ * Work handed to other threads or async dispatches is not counted.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "sql.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+    public static final String BUDGET_EXCEEDED_HEADER = "X-SQL-Budget-Exceeded";
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    @Value("${sql.tracing.statement-budget:50}")
+    private int statementBudget;
+    @Value("${sql.tracing.response-headers:true}")
+    private boolean responseHeaders;
+    @Value("${sql.tracing.log-requests:false}")
+    private boolean logRequests;
+    // Falls back to the global registry when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (SqlStatementTracker.Scope scope = SqlStatementTracker.open()) {
+            HeadersOnCommit withHeaders = responseHeaders ? new HeadersOnCommit(response, scope) : null;
+            try {
+                filterChain.doFilter(request, withHeaders != null ? withHeaders : response);
+            } finally {
+                if (withHeaders != null) {
+                    withHeaders.writeHeaders();
+                }
+                report(request, response, scope);
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, HttpServletResponse response, SqlStatementTracker.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        String method = request.getMethod();
+        int statements = scope.statements();
+        long sqlMillis = TimeUnit.NANOSECONDS.toMillis(scope.elapsedNanos());
+        meterRegistry.summary("healthfirst.http.sql.statements", "method", method, "uri", uri).record(statements);
+        if (overBudget(statements)) {
+            meterRegistry.counter("healthfirst.http.sql.budget.exceeded", "method", method, "uri", uri).increment();
+            log.warn("sql_budget_exceeded method={} uri={} path={} status={} sql_statements={} sql_budget={} sql_time_ms={}",
+                method, uri, request.getRequestURI(), response.getStatus(), statements, statementBudget, sqlMillis);
+        } else if (logRequests) {
+            log.info("sql_request method={} uri={} status={} sql_statements={} sql_time_ms={}",
+                method, uri, response.getStatus(), statements, sqlMillis);
+        }
+    }
+
+    private boolean overBudget(int statements) {
+        return statementBudget > 0 && statements > statementBudget;
+    }
+
+    // Adds the X-SQL-* headers just before the response commits, when the handler has normally finished its queries
+    private final class HeadersOnCommit extends HttpServletResponseWrapper {
+        private final SqlStatementTracker.Scope scope;
+        private boolean written;
+
+        private HeadersOnCommit(HttpServletResponse response, SqlStatementTracker.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(scope.statements()));
+            setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(scope.elapsedNanos())));
+            if (overBudget(scope.statements())) {
+                setHeader(BUDGET_EXCEEDED_HEADER, "true");
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package HealthFirstBackend.HealthFirstProject.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Counts JDBC statement executions, and the time spent in them, on the current thread while a Scope is open.
+ * SqlStatementBudgetFilter opens one per HTTP request; tests can open one around any call to bound the number
+ * of statements it issues. A batch counts as one execution. Statements slower than {@code slow-query-ms} are
+ * logged with their SQL but never their bind parameters, which may hold patient data.
+ */
+public class SqlStatementTracker implements QueryExecutionListener {
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementTracker.class);
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+    private static final String STARTED_NANOS = SqlStatementTracker.class.getName() + ".started";
+    private static final int MAX_LOGGED_SQL_LENGTH = 1000;
+
+    private final long slowQueryNanos;
+
+    public SqlStatementTracker(long slowQueryMillis) {
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    /**
+     * Starts counting on this thread. Scopes nest: statements are counted in every open scope.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long started = execInfo.getCustomValue(STARTED_NANOS, Long.class);
+        long elapsedNanos = started != null ? System.nanoTime() - started : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(elapsedNanos);
+        }
+        if (slowQueryNanos > 0 && elapsedNanos >= slowQueryNanos) {
+            log.warn("slow_query sql_time_ms={} batch_size={} success={} sql=\"{}\"", TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                execInfo.getBatchSize(), execInfo.isSuccess(), sql(queryInfoList));
+        }
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+        return sql.length() <= MAX_LOGGED_SQL_LENGTH ? sql : sql.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    /**
+     * Statements executed on the opening thread until close(). Not thread-safe; use it on that thread only.
+     */
+    public static final class Scope implements AutoCloseable {
+        private final Scope parent;
+        private int statements;
+        private long elapsedNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        private void record(long nanos) {
+            for (Scope scope = this; scope != null; scope = scope.parent) {
+                scope.statements++;
+                scope.elapsedNanos += nanos;
+            }
+        }
+
+        public int statements() {
+            return statements;
+        }
+
+        public long elapsedNanos() {
+            return elapsedNanos;
+        }
+
+        @Override
+        public void close() {
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package HealthFirstBackend.HealthFirstProject.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource in a datasource-proxy that reports each statement execution to SqlStatementTracker.
+ * Per-request totals, the statement budget and response headers are handled by SqlStatementBudgetFilter.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlTracingConfig {
+
+    // Static so the post-processor is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor sqlTracingDataSourcePostProcessor(@Value("${sql.tracing.slow-query-ms:500}") long slowQueryMs) {
+        SqlStatementTracker tracker = new SqlStatementTracker(slowQueryMs);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .listener(tracker)
+                        .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
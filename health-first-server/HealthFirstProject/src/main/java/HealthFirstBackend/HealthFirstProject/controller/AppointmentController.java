@@ -2,8 +2,18 @@ package HealthFirstBackend.HealthFirstProject.controller;
 
 import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentResponseDTO;
+import HealthFirstBackend.HealthFirstProject.dto.FreeSlotSearchResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.GetAppointmentsResponseDTO;
+import HealthFirstBackend.HealthFirstProject.dto.SlotHoldRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.SlotHoldResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HoldLimitExceededException;
+import HealthFirstBackend.HealthFirstProject.exception.SlotUnavailableException;
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.security.VerifiedTokenCache;
+import HealthFirstBackend.HealthFirstProject.service.AppointmentExportService;
 import HealthFirstBackend.HealthFirstProject.service.AppointmentService;
+import HealthFirstBackend.HealthFirstProject.service.FreeSlotSearchService;
+import HealthFirstBackend.HealthFirstProject.service.SlotHoldService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +21,21 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -27,6 +45,12 @@ import java.util.UUID;
 public class AppointmentController {
     @Autowired
     private AppointmentService appointmentService;
+    @Autowired
+    private FreeSlotSearchService freeSlotSearchService;
+    @Autowired
+    private AppointmentExportService exportService;
+    @Autowired
+    private SlotHoldService slotHoldService;
 
     @PostMapping("/book")
     @Operation(summary = "Book an appointment", description = "Books an appointment with a provider after checking availability")
@@ -44,6 +68,11 @@ public class AppointmentController {
         try {
             BookAppointmentResponseDTO response = appointmentService.bookAppointment(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (SlotUnavailableException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -51,9 +80,6 @@ public class AppointmentController {
             
             if (e.getMessage().toLowerCase().contains("not found")) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
-            } else if (e.getMessage().toLowerCase().contains("no available slots") || 
-                       e.getMessage().toLowerCase().contains("no longer available")) {
-                return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
             } else if (e.getMessage().toLowerCase().contains("future")) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
             }
@@ -62,8 +88,144 @@ public class AppointmentController {
         }
     }
 
+    @PostMapping("/holds")
+    @Operation(summary = "Hold a slot", description = "Holds an open slot for the signed-in patient while they complete the " +
+        "booking. Booking the same time as the same patient claims the hold; it lapses after slot.hold.ttl otherwise. " +
+        "A patient may have slot.hold.max-per-patient live holds and only one slot at a given time.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Slot held",
+            content = @Content(schema = @Schema(implementation = SlotHoldResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid request or patient not found",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "403", description = "Not signed in as the patient in the request",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "409", description = "No available slots for requested time, or the patient already has a slot then",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "429", description = "The patient already has the maximum number of holds",
+            content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    public ResponseEntity<?> holdSlot(@Valid @RequestBody SlotHoldRequestDTO request,
+                                      @AuthenticationPrincipal VerifiedTokenCache.VerifiedToken caller) {
+        try {
+            UUID providerId = UUID.fromString(request.getProviderId());
+            UUID patientId = UUID.fromString(request.getPatientId());
+            if (!isCaller(caller, patientId)) {
+                return forbidden();
+            }
+            SlotHoldService.Hold hold = slotHoldService.hold(providerId, patientId, request.getAppointmentDateTime());
+
+            SlotHoldResponseDTO.Data data = new SlotHoldResponseDTO.Data();
+            data.setHold_id(hold.slotId().toString());
+            data.setProvider_id(hold.providerId().toString());
+            data.setPatient_id(hold.patientId().toString());
+            data.setAppointment_date_time(hold.start());
+            data.setAppointment_end_time(hold.end());
+            data.setExpires_at(hold.expiresAt());
+            SlotHoldResponseDTO response = new SlotHoldResponseDTO();
+            response.setSuccess(true);
+            response.setMessage("Slot held successfully");
+            response.setData(data);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (SlotUnavailableException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        } catch (HoldLimitExceededException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    @DeleteMapping("/holds/{holdId}")
+    @Operation(summary = "Release a held slot", description = "Gives up the patient's hold so the slot is open again")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Hold released",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid hold or patient ID",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "403", description = "Not signed in as the patient in the request",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "404", description = "The patient holds no such slot",
+            content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    public ResponseEntity<?> releaseHold(
+            @Parameter(description = "Hold ID returned when the slot was held", required = true)
+            @PathVariable String holdId,
+            @Parameter(description = "Patient holding the slot", required = true)
+            @RequestParam(name = "patient_id") String patientId,
+            @AuthenticationPrincipal VerifiedTokenCache.VerifiedToken caller) {
+        Map<String, Object> body = new HashMap<>();
+        try {
+            UUID holdingPatient = UUID.fromString(patientId);
+            if (!isCaller(caller, holdingPatient)) {
+                return forbidden();
+            }
+            boolean released = slotHoldService.release(UUID.fromString(holdId), holdingPatient);
+            body.put("success", released);
+            body.put("message", released ? "Hold released" : "Hold not found");
+            return ResponseEntity.status(released ? HttpStatus.OK : HttpStatus.NOT_FOUND).body(body);
+        } catch (IllegalArgumentException e) {
+            body.put("success", false);
+            body.put("message", "Invalid hold or patient ID format");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+        }
+    }
+
+    @GetMapping("/available")
+    @Operation(summary = "Search available slots", description = "Finds the earliest open slots across all providers of a " +
+        "specialization, optionally filtered by appointment type, location type, city and zip. Defaults to the next 7 days.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Available slots retrieved successfully",
+            content = @Content(schema = @Schema(implementation = FreeSlotSearchResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Invalid search parameters",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "503", description = "Search index is still loading",
+            content = @Content(schema = @Schema(implementation = Map.class)))
+    })
+    public ResponseEntity<?> searchAvailableSlots(
+            @Parameter(description = "Provider specialization", required = true, example = "Cardiology")
+            @RequestParam(required = false) String specialization,
+            @Parameter(description = "Only slots starting at or after this time (default now)", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only slots starting before this time (default 'from' plus 7 days)", example = "2024-02-08T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Appointment type", example = "CONSULTATION")
+            @RequestParam(name = "appointment_type", required = false) String appointmentType,
+            @Parameter(description = "Location type", example = "CLINIC")
+            @RequestParam(name = "location_type", required = false) String locationType,
+            @Parameter(description = "Clinic city", example = "Boston")
+            @RequestParam(required = false) String city,
+            @Parameter(description = "Clinic zip code", example = "02115")
+            @RequestParam(required = false) String zip,
+            @Parameter(description = "Maximum number of slots (default 20, max 100)", example = "20")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(freeSlotSearchService.search(specialization, from, to, appointmentType, locationType,
+                city, zip, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        } catch (IllegalStateException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "5").body(error);
+        }
+    }
+
     @GetMapping("/provider/{providerId}")
-    @Operation(summary = "Get appointments for provider", description = "Retrieves all appointments for a specific provider")
+    @Operation(summary = "Get appointments for provider", description = "Retrieves a page of appointments for a specific provider, " +
+        "optionally filtered by date range and status. Pass next_cursor from the previous page as 'cursor' to continue.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully",
             content = @Content(schema = @Schema(implementation = GetAppointmentsResponseDTO.class))),
@@ -74,10 +236,21 @@ public class AppointmentController {
     })
     public ResponseEntity<?> getAppointmentsForProvider(
             @Parameter(description = "Provider ID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
-            @PathVariable String providerId) {
+            @PathVariable String providerId,
+            @Parameter(description = "Only appointments starting at or after this time", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only appointments starting before this time", example = "2024-03-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Slot statuses to include (default BOOKED)", example = "BOOKED")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Opaque cursor returned as next_cursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, max 200)", example = "50")
+            @RequestParam(required = false) Integer limit) {
         try {
             UUID providerUUID = UUID.fromString(providerId);
-            GetAppointmentsResponseDTO response = appointmentService.getAppointmentsForProvider(providerUUID);
+            GetAppointmentsResponseDTO response = appointmentService.getAppointmentsForProvider(
+                providerUUID, from, to, parseStatuses(status), cursor, limit);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
@@ -93,7 +266,8 @@ public class AppointmentController {
     }
 
     @GetMapping("/patient/{patientId}")
-    @Operation(summary = "Get appointments for patient", description = "Retrieves all appointments for a specific patient")
+    @Operation(summary = "Get appointments for patient", description = "Retrieves a page of appointments for a specific patient, " +
+        "optionally filtered by date range and status. Pass next_cursor from the previous page as 'cursor' to continue.")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Appointments retrieved successfully",
             content = @Content(schema = @Schema(implementation = GetAppointmentsResponseDTO.class))),
@@ -104,10 +278,21 @@ public class AppointmentController {
     })
     public ResponseEntity<?> getAppointmentsForPatient(
             @Parameter(description = "Patient ID", required = true, example = "123e4567-e89b-12d3-a456-426614174000")
-            @PathVariable String patientId) {
+            @PathVariable String patientId,
+            @Parameter(description = "Only appointments starting at or after this time", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only appointments starting before this time", example = "2024-03-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Slot statuses to include (default BOOKED)", example = "BOOKED")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Opaque cursor returned as next_cursor by the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (default 50, max 200)", example = "50")
+            @RequestParam(required = false) Integer limit) {
         try {
             UUID patientUUID = UUID.fromString(patientId);
-            GetAppointmentsResponseDTO response = appointmentService.getAppointmentsForPatient(patientUUID);
+            GetAppointmentsResponseDTO response = appointmentService.getAppointmentsForPatient(
+                patientUUID, from, to, parseStatuses(status), cursor, limit);
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
@@ -122,6 +307,79 @@ public class AppointmentController {
         }
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export appointments", description = "Streams all appointments matching the filters as NDJSON (default) " +
+        "or CSV. Rows are written while they are read, so exports of any size use constant memory. Requires an ADMIN token.")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export stream (application/x-ndjson or text/csv)"),
+        @ApiResponse(responseCode = "400", description = "Invalid export parameters",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "403", description = "Missing token or not an ADMIN account")
+    })
+    public ResponseEntity<?> exportAppointments(
+            @Parameter(description = "Only appointments starting at or after this time", example = "2024-02-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Only appointments starting before this time", example = "2024-03-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Slot statuses to include (default BOOKED)", example = "BOOKED")
+            @RequestParam(required = false) List<String> status,
+            @Parameter(description = "Only appointments of this provider", example = "123e4567-e89b-12d3-a456-426614174000")
+            @RequestParam(name = "provider_id", required = false) String providerId,
+            @Parameter(description = "ndjson (default) or csv", example = "csv")
+            @RequestParam(required = false) String format,
+            HttpServletResponse response) throws IOException {
+        AppointmentExportService.ExportQuery query;
+        try {
+            UUID providerUUID = null;
+            if (providerId != null) {
+                try {
+                    providerUUID = UUID.fromString(providerId);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid provider ID format");
+                }
+            }
+            query = exportService.prepare(format, parseStatuses(status), from, to, providerUUID);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+        response.setContentType(query.format().getContentType() + ";charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"appointments." + query.format().getExtension() + "\"");
+        exportService.write(query, response.getOutputStream());
+        // The body has been written directly
+        return null;
+    }
+
+    private List<AppointmentSlot.Status> parseStatuses(List<String> status) {
+        if (status == null) {
+            return null;
+        }
+        List<AppointmentSlot.Status> statuses = new ArrayList<>();
+        for (String value : status) {
+            try {
+                statuses.add(AppointmentSlot.Status.valueOf(value.trim().toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + value);
+            }
+        }
+        return statuses;
+    }
+
+    // Patient tokens carry the patient's id; holds may only be placed or released for that patient
+    private static boolean isCaller(VerifiedTokenCache.VerifiedToken caller, UUID patientId) {
+        return caller != null && patientId.toString().equals(caller.userId());
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        Map<String, Object> error = new HashMap<>();
+        error.put("success", false);
+        error.put("message", "Patient ID does not match the signed-in patient");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<?> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
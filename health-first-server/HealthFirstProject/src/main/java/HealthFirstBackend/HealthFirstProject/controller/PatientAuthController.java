@@ -2,6 +2,7 @@ package HealthFirstBackend.HealthFirstProject.controller;
 
 import HealthFirstBackend.HealthFirstProject.dto.PatientLoginRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.PatientLoginResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.service.PatientAuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,6 +12,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -33,12 +35,21 @@ public class PatientAuthController {
         @ApiResponse(responseCode = "401", description = "Invalid credentials",
             content = @Content(schema = @Schema(implementation = Map.class))),
         @ApiResponse(responseCode = "422", description = "Invalid input data",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "503", description = "Password hashing is saturated; retry after the Retry-After delay",
             content = @Content(schema = @Schema(implementation = Map.class)))
     })
     public ResponseEntity<?> login(@Valid @RequestBody PatientLoginRequestDTO request) {
         try {
             PatientLoginResponseDTO response = patientAuthService.login(request);
             return ResponseEntity.ok(response);
+        } catch (HashingCapacityExceededException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
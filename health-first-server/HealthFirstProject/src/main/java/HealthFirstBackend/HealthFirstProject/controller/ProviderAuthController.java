@@ -2,9 +2,11 @@ package HealthFirstBackend.HealthFirstProject.controller;
 
 import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.service.ProviderAuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,6 +24,13 @@ public class ProviderAuthController {
         try {
             ProviderLoginResponseDTO response = providerAuthService.login(request);
             return ResponseEntity.ok(response);
+        } catch (HashingCapacityExceededException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
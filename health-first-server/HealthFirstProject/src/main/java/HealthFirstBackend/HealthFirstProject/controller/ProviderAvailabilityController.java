@@ -1,9 +1,13 @@
 package HealthFirstBackend.HealthFirstProject.controller;
 
+import HealthFirstBackend.HealthFirstProject.dto.BulkAvailabilityResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityListResponseDTO;
+import HealthFirstBackend.HealthFirstProject.security.VerifiedTokenCache;
 import HealthFirstBackend.HealthFirstProject.service.ProviderAvailabilityService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,13 +15,20 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -27,6 +38,8 @@ import java.util.UUID;
 public class ProviderAvailabilityController {
     @Autowired
     private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @PostMapping("/availability")
     @Operation(summary = "Create provider availability", description = "Creates new availability slots for a provider")
@@ -55,6 +68,88 @@ public class ProviderAvailabilityController {
         }
     }
 
+    @PostMapping(value = "/availability/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create provider availability in bulk", description = "Creates many availability windows for the signed-in " +
+        "provider from a JSON array (or NDJSON with Content-Type application/x-ndjson) and reports the outcome of each item by its index")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "All availabilities created",
+            content = @Content(schema = @Schema(implementation = BulkAvailabilityResponseDTO.class))),
+        @ApiResponse(responseCode = "207", description = "Some availabilities were not created, see results",
+            content = @Content(schema = @Schema(implementation = BulkAvailabilityResponseDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Empty, oversized or malformed request",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "403", description = "Not signed in as a provider",
+            content = @Content(schema = @Schema(implementation = Map.class))),
+        @ApiResponse(responseCode = "422", description = "No availability could be created, see results",
+            content = @Content(schema = @Schema(implementation = BulkAvailabilityResponseDTO.class)))
+    })
+    public ResponseEntity<?> createAvailabilityBulk(@RequestBody List<ProviderAvailabilityRequestDTO> requests,
+                                                    @AuthenticationPrincipal VerifiedTokenCache.VerifiedToken caller) {
+        return bulkResponse(caller, requests);
+    }
+
+    @PostMapping(value = "/availability/bulk", consumes = "application/x-ndjson")
+    @Operation(hidden = true)
+    public ResponseEntity<?> createAvailabilityBulkNdjson(HttpServletRequest request,
+                                                          @AuthenticationPrincipal VerifiedTokenCache.VerifiedToken caller) throws IOException {
+        List<ProviderAvailabilityRequestDTO> requests = new ArrayList<>();
+        BufferedReader reader = request.getReader();
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                requests.add(objectMapper.readValue(line, ProviderAvailabilityRequestDTO.class));
+            } catch (JsonProcessingException e) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "Invalid JSON on line " + lineNumber);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+            }
+        }
+        return bulkResponse(caller, requests);
+    }
+
+    // SecurityConfig only lets provider tokens through; their user id claim is the provider's id
+    private ResponseEntity<?> bulkResponse(VerifiedTokenCache.VerifiedToken caller, List<ProviderAvailabilityRequestDTO> requests) {
+        UUID providerId = providerId(caller);
+        if (providerId == null) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "A provider token is required");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        try {
+            BulkAvailabilityResponseDTO response = availabilityService.createAvailabilities(providerId, requests);
+            if (response.isSuccess()) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            }
+            if (response.getData().getCreated() == 0) {
+                return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(response);
+            }
+            return ResponseEntity.status(HttpStatus.MULTI_STATUS).body(response);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+        }
+    }
+
+    private static UUID providerId(VerifiedTokenCache.VerifiedToken caller) {
+        if (caller == null || caller.userId() == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(caller.userId());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     @GetMapping("/availability/{providerId}")
     @Operation(summary = "Get provider availability slots", description = "Retrieves all availability slots for a specific provider")
     @ApiResponses(value = {
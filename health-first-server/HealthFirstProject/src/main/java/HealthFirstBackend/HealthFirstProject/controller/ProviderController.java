@@ -2,9 +2,11 @@ package HealthFirstBackend.HealthFirstProject.controller;
 
 import HealthFirstBackend.HealthFirstProject.dto.ProviderRegistrationRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderRegistrationResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.service.ProviderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -27,6 +29,13 @@ public class ProviderController {
         try {
             ProviderRegistrationResponseDTO response = providerService.registerProvider(request);
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        } catch (HashingCapacityExceededException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
         } catch (IllegalArgumentException e) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
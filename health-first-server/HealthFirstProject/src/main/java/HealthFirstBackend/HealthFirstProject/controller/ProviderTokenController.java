@@ -1,5 +1,7 @@
 package HealthFirstBackend.HealthFirstProject.controller;
 
+import HealthFirstBackend.HealthFirstProject.model.Provider;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
 import HealthFirstBackend.HealthFirstProject.security.JwtRefreshUtil;
 import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
 import io.jsonwebtoken.Claims;
@@ -9,6 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/v1/provider")
@@ -17,23 +20,36 @@ public class ProviderTokenController {
     private JwtRefreshUtil jwtRefreshUtil;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private ProviderRepository providerRepository;
 
     @PostMapping("/refresh-token")
     public ResponseEntity<?> refreshToken(@RequestBody Map<String, String> body) {
         String refreshToken = body.get("refreshToken");
-        if (refreshToken == null || !jwtRefreshUtil.validateRefreshToken(refreshToken)) {
+        Claims claims = refreshToken != null ? jwtRefreshUtil.parseClaims(refreshToken).orElse(null) : null;
+        // The role is read from the provider's record, so a refresh keeps an ADMIN an ADMIN and picks up role changes
+        Provider provider = claims != null ? findActiveProvider(claims.get("providerId", String.class)) : null;
+        if (provider == null) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "Invalid or expired refresh token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
         }
-        Claims claims = jwtRefreshUtil.getClaims(refreshToken);
-        String providerId = claims.get("providerId", String.class);
-        String email = claims.get("email", String.class);
-        String newAccessToken = jwtUtil.generateToken(providerId, email,"PROVIDER");
+        String newAccessToken = jwtUtil.generateToken(provider.getId().toString(), provider.getEmail(), provider.getRole().name());
         Map<String, Object> response = new HashMap<>();
         response.put("token", newAccessToken);
         response.put("success", true);
         return ResponseEntity.ok(response);
     }
+
+    private Provider findActiveProvider(String providerId) {
+        if (providerId == null) {
+            return null;
+        }
+        try {
+            return providerRepository.findById(UUID.fromString(providerId)).filter(Provider::isActive).orElse(null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 } 
\ No newline at end of file
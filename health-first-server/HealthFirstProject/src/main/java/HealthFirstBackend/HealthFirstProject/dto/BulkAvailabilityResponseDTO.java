@@ -0,0 +1,57 @@
+package HealthFirstBackend.HealthFirstProject.dto;
+
+import java.util.List;
+
+public class BulkAvailabilityResponseDTO {
+    private boolean success;
+    private String message;
+    private Data data;
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public Data getData() { return data; }
+    public void setData(Data data) { this.data = data; }
+
+    public static class Data {
+        private String provider_id;
+        private int total;
+        private int created;
+        private int failed;
+        private int slots_created;
+        private List<Result> results;
+
+        public String getProvider_id() { return provider_id; }
+        public void setProvider_id(String provider_id) { this.provider_id = provider_id; }
+        public int getTotal() { return total; }
+        public void setTotal(int total) { this.total = total; }
+        public int getCreated() { return created; }
+        public void setCreated(int created) { this.created = created; }
+        public int getFailed() { return failed; }
+        public void setFailed(int failed) { this.failed = failed; }
+        public int getSlots_created() { return slots_created; }
+        public void setSlots_created(int slots_created) { this.slots_created = slots_created; }
+        public List<Result> getResults() { return results; }
+        public void setResults(List<Result> results) { this.results = results; }
+
+        public static class Result {
+            private int index;
+            private String status; // CREATED, INVALID, CONFLICT or FAILED
+            private String availability_id;
+            private int slots_created;
+            private String message;
+
+            public int getIndex() { return index; }
+            public void setIndex(int index) { this.index = index; }
+            public String getStatus() { return status; }
+            public void setStatus(String status) { this.status = status; }
+            public String getAvailability_id() { return availability_id; }
+            public void setAvailability_id(String availability_id) { this.availability_id = availability_id; }
+            public int getSlots_created() { return slots_created; }
+            public void setSlots_created(int slots_created) { this.slots_created = slots_created; }
+            public String getMessage() { return message; }
+            public void setMessage(String message) { this.message = message; }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package HealthFirstBackend.HealthFirstProject.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class FreeSlotSearchResponseDTO {
+    private boolean success;
+    private String message;
+    private Data data;
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public Data getData() { return data; }
+    public void setData(Data data) { this.data = data; }
+
+    public static class Data {
+        private String specialization;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private List<Slot> slots;
+        private int count;
+
+        public String getSpecialization() { return specialization; }
+        public void setSpecialization(String specialization) { this.specialization = specialization; }
+        public LocalDateTime getFrom() { return from; }
+        public void setFrom(LocalDateTime from) { this.from = from; }
+        public LocalDateTime getTo() { return to; }
+        public void setTo(LocalDateTime to) { this.to = to; }
+        public List<Slot> getSlots() { return slots; }
+        public void setSlots(List<Slot> slots) { this.slots = slots; }
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+
+        public static class Slot {
+            private String slot_id;
+            private String provider_id;
+            private String provider_name;
+            private String specialization;
+            private LocalDateTime slot_start_time;
+            private LocalDateTime slot_end_time;
+            private String appointment_type;
+            private String location_type;
+            private String city;
+            private String state;
+            private String zip;
+
+            public String getSlot_id() { return slot_id; }
+            public void setSlot_id(String slot_id) { this.slot_id = slot_id; }
+            public String getProvider_id() { return provider_id; }
+            public void setProvider_id(String provider_id) { this.provider_id = provider_id; }
+            public String getProvider_name() { return provider_name; }
+            public void setProvider_name(String provider_name) { this.provider_name = provider_name; }
+            public String getSpecialization() { return specialization; }
+            public void setSpecialization(String specialization) { this.specialization = specialization; }
+            public LocalDateTime getSlot_start_time() { return slot_start_time; }
+            public void setSlot_start_time(LocalDateTime slot_start_time) { this.slot_start_time = slot_start_time; }
+            public LocalDateTime getSlot_end_time() { return slot_end_time; }
+            public void setSlot_end_time(LocalDateTime slot_end_time) { this.slot_end_time = slot_end_time; }
+            public String getAppointment_type() { return appointment_type; }
+            public void setAppointment_type(String appointment_type) { this.appointment_type = appointment_type; }
+            public String getLocation_type() { return location_type; }
+            public void setLocation_type(String location_type) { this.location_type = location_type; }
+            public String getCity() { return city; }
+            public void setCity(String city) { this.city = city; }
+            public String getState() { return state; }
+            public void setState(String state) { this.state = state; }
+            public String getZip() { return zip; }
+            public void setZip(String zip) { this.zip = zip; }
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class GetAppointmentsResponseDTO {
         private String user_type; // "provider" or "patient"
         private List<Appointment> appointments;
         private Summary summary;
+        private String next_cursor;
+        private boolean has_more;
 
         public String getUser_id() { return user_id; }
         public void setUser_id(String user_id) { this.user_id = user_id; }
@@ -29,6 +31,10 @@ public class GetAppointmentsResponseDTO {
         public void setAppointments(List<Appointment> appointments) { this.appointments = appointments; }
         public Summary getSummary() { return summary; }
         public void setSummary(Summary summary) { this.summary = summary; }
+        public String getNext_cursor() { return next_cursor; }
+        public void setNext_cursor(String next_cursor) { this.next_cursor = next_cursor; }
+        public boolean isHas_more() { return has_more; }
+        public void setHas_more(boolean has_more) { this.has_more = has_more; }
 
         public static class Appointment {
             private String appointment_id;
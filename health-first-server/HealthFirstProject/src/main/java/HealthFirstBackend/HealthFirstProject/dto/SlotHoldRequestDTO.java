@@ -0,0 +1,24 @@
+package HealthFirstBackend.HealthFirstProject.dto;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+public class SlotHoldRequestDTO {
+    @NotNull
+    private String providerId;
+
+    @NotNull
+    private String patientId;
+
+    @NotNull
+    private LocalDateTime appointmentDateTime;
+
+    public String getProviderId() { return providerId; }
+    public void setProviderId(String providerId) { this.providerId = providerId; }
+
+    public String getPatientId() { return patientId; }
+    public void setPatientId(String patientId) { this.patientId = patientId; }
+
+    public LocalDateTime getAppointmentDateTime() { return appointmentDateTime; }
+    public void setAppointmentDateTime(LocalDateTime appointmentDateTime) { this.appointmentDateTime = appointmentDateTime; }
+}
@@ -0,0 +1,38 @@
+package HealthFirstBackend.HealthFirstProject.dto;
+
+import java.time.LocalDateTime;
+
+public class SlotHoldResponseDTO {
+    private boolean success;
+    private String message;
+    private Data data;
+
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public Data getData() { return data; }
+    public void setData(Data data) { this.data = data; }
+
+    public static class Data {
+        private String hold_id;
+        private String provider_id;
+        private String patient_id;
+        private LocalDateTime appointment_date_time;
+        private LocalDateTime appointment_end_time;
+        private LocalDateTime expires_at;
+
+        public String getHold_id() { return hold_id; }
+        public void setHold_id(String hold_id) { this.hold_id = hold_id; }
+        public String getProvider_id() { return provider_id; }
+        public void setProvider_id(String provider_id) { this.provider_id = provider_id; }
+        public String getPatient_id() { return patient_id; }
+        public void setPatient_id(String patient_id) { this.patient_id = patient_id; }
+        public LocalDateTime getAppointment_date_time() { return appointment_date_time; }
+        public void setAppointment_date_time(LocalDateTime appointment_date_time) { this.appointment_date_time = appointment_date_time; }
+        public LocalDateTime getAppointment_end_time() { return appointment_end_time; }
+        public void setAppointment_end_time(LocalDateTime appointment_end_time) { this.appointment_end_time = appointment_end_time; }
+        public LocalDateTime getExpires_at() { return expires_at; }
+        public void setExpires_at(LocalDateTime expires_at) { this.expires_at = expires_at; }
+    }
+}
@@ -0,0 +1,16 @@
+package HealthFirstBackend.HealthFirstProject.exception;
+
+/**
+ * Thrown when the password hashing pool and its queue are full, or a queued hash timed out.
+ * Mapped to 503 Service Unavailable with a Retry-After header by the registration and login controllers.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(long retryAfterSeconds, String message) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() { return retryAfterSeconds; }
+}
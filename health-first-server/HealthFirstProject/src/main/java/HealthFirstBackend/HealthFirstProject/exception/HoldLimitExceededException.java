@@ -0,0 +1,18 @@
+package HealthFirstBackend.HealthFirstProject.exception;
+
+import java.util.UUID;
+
+/**
+ * Thrown when a patient already has {@code slot.hold.max-per-patient} live holds.
+ * Mapped to 429 Too Many Requests by the appointment controller.
+ */
+public class HoldLimitExceededException extends RuntimeException {
+    private final UUID patientId;
+
+    public HoldLimitExceededException(UUID patientId, String message) {
+        super(message);
+        this.patientId = patientId;
+    }
+
+    public UUID getPatientId() { return patientId; }
+}
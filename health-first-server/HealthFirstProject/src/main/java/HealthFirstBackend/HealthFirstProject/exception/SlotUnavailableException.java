@@ -0,0 +1,22 @@
+package HealthFirstBackend.HealthFirstProject.exception;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Thrown when a booking request loses the race for a slot, or no slot is open at the requested time.
+ * Mapped to 409 Conflict by the appointment controller.
+ */
+public class SlotUnavailableException extends RuntimeException {
+    private final UUID providerId;
+    private final LocalDateTime slotStartTime;
+
+    public SlotUnavailableException(UUID providerId, LocalDateTime slotStartTime, String message) {
+        super(message);
+        this.providerId = providerId;
+        this.slotStartTime = slotStartTime;
+    }
+
+    public UUID getProviderId() { return providerId; }
+    public LocalDateTime getSlotStartTime() { return slotStartTime; }
+}
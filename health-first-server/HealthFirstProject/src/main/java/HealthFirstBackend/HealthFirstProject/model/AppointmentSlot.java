@@ -4,16 +4,27 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.UuidGenerator;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "appointment_slots")
+@Table(name = "appointment_slots", indexes = {
+    // Booking lookup, range listings and window summaries by provider
+    @Index(name = "idx_slot_provider_start_status", columnList = "provider_id, slot_start_time, status"),
+    // Status-filtered provider listings ordered by start time (keyset pages)
+    @Index(name = "idx_slot_provider_status_start", columnList = "provider_id, status, slot_start_time"),
+    @Index(name = "idx_slot_patient_start", columnList = "patient_id, slot_start_time"),
+    @Index(name = "idx_slot_patient_status_start", columnList = "patient_id, status, slot_start_time"),
+    @Index(name = "idx_slot_availability", columnList = "availability_id"),
+    // Cross-provider exports and the free slot index rebuild
+    @Index(name = "idx_slot_status_start", columnList = "status, slot_start_time"),
+    // Startup reload and backstop sweep of lapsed holds
+    @Index(name = "idx_slot_status_hold_expires", columnList = "status, hold_expires_at")
+})
 public class AppointmentSlot {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -46,6 +57,10 @@ public class AppointmentSlot {
     @Column(name = "booking_reference", unique = true)
     private String bookingReference;
 
+    // Set while the slot is HELD for patientId; the hold lapses at this time
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
@@ -74,12 +89,14 @@ public class AppointmentSlot {
     public void setAppointmentType(String appointmentType) { this.appointmentType = appointmentType; }
     public String getBookingReference() { return bookingReference; }
     public void setBookingReference(String bookingReference) { this.bookingReference = bookingReference; }
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
     public enum Status {
-        AVAILABLE, BOOKED, CANCELLED, BLOCKED
+        AVAILABLE, HELD, BOOKED, CANCELLED, BLOCKED
     }
 } 
\ No newline at end of file
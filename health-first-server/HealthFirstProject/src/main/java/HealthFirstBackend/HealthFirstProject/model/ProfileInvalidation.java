@@ -0,0 +1,45 @@
+package HealthFirstBackend.HealthFirstProject.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A provider or patient profile that changed. Written in the transaction that changed it and read by every
+ * application node, which then drops the profile from its local ProfileCache.
+ */
+@Entity
+@Table(name = "profile_invalidations", indexes = {
+    @Index(name = "idx_profile_invalidation_created", columnList = "created_at")
+})
+public class ProfileInvalidation {
+    public enum Kind { PROVIDER, PATIENT }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "kind", nullable = false, length = 16)
+    private Kind kind;
+
+    @Column(name = "entity_id", nullable = false)
+    private UUID entityId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    public ProfileInvalidation() {}
+
+    public ProfileInvalidation(Kind kind, UUID entityId) {
+        this.kind = kind;
+        this.entityId = entityId;
+    }
+
+    public Long getId() { return id; }
+    public Kind getKind() { return kind; }
+    public UUID getEntityId() { return entityId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
@@ -2,9 +2,11 @@ package HealthFirstBackend.HealthFirstProject.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.UuidGenerator;
 import java.util.UUID;
 import java.time.LocalDateTime;
 import HealthFirstBackend.HealthFirstProject.model.ClinicAddress;
@@ -16,10 +18,10 @@ import HealthFirstBackend.HealthFirstProject.security.ProviderRole;
     @UniqueConstraint(columnNames = "phone_number"),
     @UniqueConstraint(columnNames = "license_number")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider")
 public class Provider {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -2,9 +2,11 @@ package HealthFirstBackend.HealthFirstProject.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.UuidGenerator;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,11 +17,14 @@ import java.util.UUID;
 @Entity
 @Table(name = "provider_availability", uniqueConstraints = {
     @UniqueConstraint(columnNames = {"provider_id", "date", "start_time"})
+}, indexes = {
+    // Lookups by provider and date are served by the unique (provider_id, date, start_time) key
+    @Index(name = "idx_availability_provider_status_date", columnList = "provider_id, status, date")
 })
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider_availability")
 public class ProviderAvailability {
     @Id
-    @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     @Column(name = "id", updatable = false, nullable = false)
     private UUID id;
 
@@ -91,6 +96,7 @@ public class ProviderAvailability {
     private String notes;
 
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "provider_availability_requirements")
     private List<String> specialRequirements;
 
     @CreationTimestamp
@@ -0,0 +1,47 @@
+package HealthFirstBackend.HealthFirstProject.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.uuid.UuidValueGenerator;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time-ordered version 7 UUIDs (RFC 9562) for entity primary keys: 48 bits of Unix milliseconds, a 12-bit
+ * counter in rand_a and 62 random bits. Stored big-endian in BINARY(16) columns, new keys are appended at
+ * the right edge of the primary key index instead of splitting random pages.
+ *
+ * <p>The counter makes ids from one JVM strictly increasing; when it overflows within a millisecond, or the
+ * clock moves backwards, the timestamp runs ahead of the clock. Uniqueness across instances comes from the
+ * random bits.
+ *
+ * <p>Rows created before this generator keep their random version 4 ids. Both versions share the column type,
+ * and the ids are visible to clients (appointment ids, token subjects), so existing rows are not re-keyed.
+ */
+public class UuidV7Generator implements UuidValueGenerator {
+    private static final int COUNTER_BITS = 12;
+    // (unix millis << COUNTER_BITS) | counter of the last id handed out
+    private static final AtomicLong last = new AtomicLong();
+
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long state;
+        while (true) {
+            long previous = last.get();
+            state = now > previous >>> COUNTER_BITS ? now << COUNTER_BITS : previous + 1;
+            if (last.compareAndSet(previous, state)) {
+                break;
+            }
+        }
+        long millis = state >>> COUNTER_BITS;
+        long counter = state & ((1L << COUNTER_BITS) - 1);
+        long msb = millis << 16 | 0x7000L | counter;
+        long lsb = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @Override
+    public UUID generateUuid(SharedSessionContractImplementor session) {
+        return next();
+    }
+}
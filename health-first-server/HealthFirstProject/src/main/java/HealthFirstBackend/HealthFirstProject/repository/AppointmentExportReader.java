@@ -0,0 +1,105 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams appointment rows for exports through a forward-only cursor. Each row is handed to the consumer and
+ * dropped, so memory use does not grow with the size of the export.
+ *
+ * <p>Plain JDBC rather than a JPA {@code Stream<AppointmentSlot>}: a streamed entity stays in the persistence
+ * context until it is detached, and the provider and patient names would need separate lookups. The statement
+ * still uses the configured fetch size, which streams with useCursorFetch on MySQL.
+ */
+@Repository
+@Timed("healthfirst.repository")
+public class AppointmentExportReader {
+    private static final String SELECT_SQL = "SELECT s.id, s.booking_reference, s.provider_id, " +
+        "pr.first_name AS provider_first_name, pr.last_name AS provider_last_name, s.patient_id, " +
+        "pa.first_name AS patient_first_name, pa.last_name AS patient_last_name, s.slot_start_time, s.slot_end_time, " +
+        "s.status, s.appointment_type, s.created_at, s.updated_at " +
+        "FROM appointment_slots s " +
+        "LEFT JOIN providers pr ON pr.id = s.provider_id " +
+        "LEFT JOIN patients pa ON pa.id = s.patient_id " +
+        "WHERE s.status IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    @Autowired
+    public AppointmentExportReader(JdbcTemplate jdbcTemplate, @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Rows with one of the statuses starting in [from, to), optionally for one provider, ordered by status and
+     * start time (the order of idx_slot_status_start, so the database does not sort). Null bounds are open.
+     */
+    public void forEach(List<AppointmentSlot.Status> statuses, LocalDateTime from, LocalDateTime to, UUID providerId,
+                        Consumer<ExportRow> consumer) {
+        StringBuilder sql = new StringBuilder(String.format(SELECT_SQL, String.join(", ", Collections.nCopies(statuses.size(), "?"))));
+        List<Object> params = new ArrayList<>(statuses.size() + 3);
+        statuses.forEach(status -> params.add(status.name()));
+        if (providerId != null) {
+            sql.append(" AND s.provider_id = ?");
+            params.add(AppointmentSlotBatchWriter.toBytes(providerId));
+        }
+        if (from != null) {
+            sql.append(" AND s.slot_start_time >= ?");
+            params.add(Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            sql.append(" AND s.slot_start_time < ?");
+            params.add(Timestamp.valueOf(to));
+        }
+        sql.append(" ORDER BY s.status, s.slot_start_time, s.id");
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            for (int i = 0; i < params.size(); i++) {
+                statement.setObject(i + 1, params.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(new ExportRow(
+            AvailableSlotReader.toUuid(rs.getObject("id")),
+            rs.getString("booking_reference"),
+            AvailableSlotReader.toUuid(rs.getObject("provider_id")),
+            fullName(rs.getString("provider_first_name"), rs.getString("provider_last_name")),
+            rs.getObject("patient_id") != null ? AvailableSlotReader.toUuid(rs.getObject("patient_id")) : null,
+            fullName(rs.getString("patient_first_name"), rs.getString("patient_last_name")),
+            toLocalDateTime(rs.getTimestamp("slot_start_time")),
+            toLocalDateTime(rs.getTimestamp("slot_end_time")),
+            rs.getString("status"),
+            rs.getString("appointment_type"),
+            toLocalDateTime(rs.getTimestamp("created_at")),
+            toLocalDateTime(rs.getTimestamp("updated_at")))));
+    }
+
+    public record ExportRow(UUID id, String bookingReference, UUID providerId, String providerName, UUID patientId,
+                            String patientName, LocalDateTime slotStartTime, LocalDateTime slotEndTime, String status,
+                            String appointmentType, LocalDateTime createdAt, LocalDateTime updatedAt) {}
+
+    private static String fullName(String firstName, String lastName) {
+        return firstName == null ? null : firstName + " " + lastName;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,68 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.UuidV7Generator;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Inserts generated appointment slots with JDBC batches, bypassing the persistence context so bulk
+ * generation does not keep every slot entity in memory until commit.
+ */
+@Repository
+@Timed("healthfirst.repository")
+public class AppointmentSlotBatchWriter {
+    private static final String INSERT_SQL = "INSERT INTO appointment_slots " +
+        "(id, availability_id, provider_id, slot_start_time, slot_end_time, status, patient_id, " +
+        "appointment_type, booking_reference, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AppointmentSlotBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes the slots as a single JDBC batch, assigning ids to slots that do not have one.
+     * Runs in the caller's transaction.
+     */
+    public int insert(List<AppointmentSlot> slots) {
+        if (slots.isEmpty()) {
+            return 0;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, slots, slots.size(), (ps, slot) -> {
+            if (slot.getId() == null) {
+                slot.setId(UuidV7Generator.next());
+            }
+            ps.setBytes(1, toBytes(slot.getId()));
+            ps.setBytes(2, toBytes(slot.getAvailabilityId()));
+            ps.setBytes(3, toBytes(slot.getProviderId()));
+            ps.setTimestamp(4, Timestamp.valueOf(slot.getSlotStartTime()));
+            ps.setTimestamp(5, Timestamp.valueOf(slot.getSlotEndTime()));
+            ps.setString(6, slot.getStatus().name());
+            ps.setBytes(7, slot.getPatientId() != null ? toBytes(slot.getPatientId()) : null);
+            ps.setString(8, slot.getAppointmentType());
+            ps.setString(9, slot.getBookingReference());
+            ps.setTimestamp(10, now);
+            ps.setTimestamp(11, now);
+        });
+        return slots.size();
+    }
+
+    // UUID columns are BINARY(16) in MySQL
+    static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .array();
+    }
+}
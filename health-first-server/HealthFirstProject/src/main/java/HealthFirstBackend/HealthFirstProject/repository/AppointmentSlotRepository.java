@@ -1,8 +1,13 @@
 package HealthFirstBackend.HealthFirstProject.repository;
 
 import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,4 +23,155 @@ public interface AppointmentSlotRepository extends JpaRepository<AppointmentSlot
     List<AppointmentSlot> findByPatientIdAndStatusOrderBySlotStartTime(UUID patientId, AppointmentSlot.Status status);
     List<AppointmentSlot> findByProviderIdOrderBySlotStartTime(UUID providerId);
     List<AppointmentSlot> findByPatientIdOrderBySlotStartTime(UUID patientId);
-} 
\ No newline at end of file
+
+    // Atomically claims a slot; returns 0 when another booking already took it
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.status = :booked, s.patientId = :patientId, " +
+           "s.appointmentType = :appointmentType, s.bookingReference = :bookingReference, s.updatedAt = :updatedAt " +
+           "WHERE s.id = :id AND s.status = :available")
+    int claimSlot(@Param("id") UUID id,
+                  @Param("patientId") UUID patientId,
+                  @Param("appointmentType") String appointmentType,
+                  @Param("bookingReference") String bookingReference,
+                  @Param("updatedAt") LocalDateTime updatedAt,
+                  @Param("available") AppointmentSlot.Status available,
+                  @Param("booked") AppointmentSlot.Status booked);
+
+    // Places a hold on a free slot, or on one whose hold has lapsed; returns 0 when the slot is taken
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.status = :held, s.patientId = :patientId, s.holdExpiresAt = :expiresAt, " +
+           "s.updatedAt = :now " +
+           "WHERE s.id = :id AND (s.status = :available OR (s.status = :held AND s.holdExpiresAt <= :now))")
+    int holdSlot(@Param("id") UUID id,
+                 @Param("patientId") UUID patientId,
+                 @Param("expiresAt") LocalDateTime expiresAt,
+                 @Param("now") LocalDateTime now,
+                 @Param("available") AppointmentSlot.Status available,
+                 @Param("held") AppointmentSlot.Status held);
+
+    // Holds the patient has that have not lapsed yet
+    @Query("SELECT COUNT(s) FROM AppointmentSlot s WHERE s.patientId = :patientId AND s.status = :held AND s.holdExpiresAt > :now")
+    long countLiveHolds(@Param("patientId") UUID patientId,
+                        @Param("now") LocalDateTime now,
+                        @Param("held") AppointmentSlot.Status held);
+
+    // Whether the patient already has a booking or a live hold starting at that time, with any provider
+    @Query("SELECT COUNT(s) > 0 FROM AppointmentSlot s WHERE s.patientId = :patientId AND s.slotStartTime = :start " +
+           "AND (s.status = :booked OR (s.status = :held AND s.holdExpiresAt > :now))")
+    boolean hasSlotAt(@Param("patientId") UUID patientId,
+                      @Param("start") LocalDateTime start,
+                      @Param("now") LocalDateTime now,
+                      @Param("held") AppointmentSlot.Status held,
+                      @Param("booked") AppointmentSlot.Status booked);
+
+    // Books a slot the patient holds; returns 0 when there is no such hold or it has lapsed
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.status = :booked, s.appointmentType = :appointmentType, " +
+           "s.bookingReference = :bookingReference, s.holdExpiresAt = null, s.updatedAt = :now " +
+           "WHERE s.id = :id AND s.status = :held AND s.patientId = :patientId AND s.holdExpiresAt > :now")
+    int claimHeldSlot(@Param("id") UUID id,
+                      @Param("patientId") UUID patientId,
+                      @Param("appointmentType") String appointmentType,
+                      @Param("bookingReference") String bookingReference,
+                      @Param("now") LocalDateTime now,
+                      @Param("held") AppointmentSlot.Status held,
+                      @Param("booked") AppointmentSlot.Status booked);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.status = :available, s.patientId = null, s.holdExpiresAt = null, " +
+           "s.updatedAt = :now WHERE s.id = :id AND s.status = :held AND s.patientId = :patientId")
+    int releaseHold(@Param("id") UUID id,
+                    @Param("patientId") UUID patientId,
+                    @Param("now") LocalDateTime now,
+                    @Param("held") AppointmentSlot.Status held,
+                    @Param("available") AppointmentSlot.Status available);
+
+    // Releases the given holds that have lapsed; holds that were booked or renewed meanwhile are left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE AppointmentSlot s SET s.status = :available, s.patientId = null, s.holdExpiresAt = null, " +
+           "s.updatedAt = :now WHERE s.id IN :ids AND s.status = :held AND s.holdExpiresAt <= :now")
+    int releaseLapsedHolds(@Param("ids") Collection<UUID> ids,
+                           @Param("now") LocalDateTime now,
+                           @Param("held") AppointmentSlot.Status held,
+                           @Param("available") AppointmentSlot.Status available);
+
+    @Query("SELECT s.id AS id, s.holdExpiresAt AS holdExpiresAt FROM AppointmentSlot s " +
+           "WHERE s.status = :held AND s.holdExpiresAt <= :until")
+    List<PendingHold> findHoldsExpiringBy(@Param("held") AppointmentSlot.Status held,
+                                          @Param("until") LocalDateTime until);
+
+    // Keyset pages ordered by (slot_start_time, id); pass PageRequest.ofSize(n) to bound the page
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.providerId = :providerId AND s.status IN :statuses " +
+           "AND s.slotStartTime >= :from AND s.slotStartTime < :to ORDER BY s.slotStartTime, s.id")
+    List<AppointmentSlot> findProviderPage(@Param("providerId") UUID providerId,
+                                           @Param("statuses") Collection<AppointmentSlot.Status> statuses,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable page);
+
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.providerId = :providerId AND s.status IN :statuses " +
+           "AND s.slotStartTime >= :from AND s.slotStartTime < :to " +
+           "AND (s.slotStartTime > :afterTime OR (s.slotStartTime = :afterTime AND s.id > :afterId)) " +
+           "ORDER BY s.slotStartTime, s.id")
+    List<AppointmentSlot> findProviderPageAfter(@Param("providerId") UUID providerId,
+                                                @Param("statuses") Collection<AppointmentSlot.Status> statuses,
+                                                @Param("from") LocalDateTime from,
+                                                @Param("to") LocalDateTime to,
+                                                @Param("afterTime") LocalDateTime afterTime,
+                                                @Param("afterId") UUID afterId,
+                                                Pageable page);
+
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.patientId = :patientId AND s.status IN :statuses " +
+           "AND s.slotStartTime >= :from AND s.slotStartTime < :to ORDER BY s.slotStartTime, s.id")
+    List<AppointmentSlot> findPatientPage(@Param("patientId") UUID patientId,
+                                          @Param("statuses") Collection<AppointmentSlot.Status> statuses,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to,
+                                          Pageable page);
+
+    @Query("SELECT s FROM AppointmentSlot s WHERE s.patientId = :patientId AND s.status IN :statuses " +
+           "AND s.slotStartTime >= :from AND s.slotStartTime < :to " +
+           "AND (s.slotStartTime > :afterTime OR (s.slotStartTime = :afterTime AND s.id > :afterId)) " +
+           "ORDER BY s.slotStartTime, s.id")
+    List<AppointmentSlot> findPatientPageAfter(@Param("patientId") UUID patientId,
+                                               @Param("statuses") Collection<AppointmentSlot.Status> statuses,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") UUID afterId,
+                                               Pageable page);
+
+    // Summary counts for a listing window, computed in the database
+    @Query("SELECT SUM(CASE WHEN s.status = :booked THEN 1 ELSE 0 END) AS total, " +
+           "SUM(CASE WHEN s.status = :booked AND s.slotStartTime > :now THEN 1 ELSE 0 END) AS upcoming, " +
+           "SUM(CASE WHEN s.status = :cancelled THEN 1 ELSE 0 END) AS cancelled " +
+           "FROM AppointmentSlot s WHERE s.providerId = :providerId AND s.slotStartTime >= :from AND s.slotStartTime < :to")
+    AppointmentSummary summarizeForProvider(@Param("providerId") UUID providerId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("booked") AppointmentSlot.Status booked,
+                                            @Param("cancelled") AppointmentSlot.Status cancelled);
+
+    @Query("SELECT SUM(CASE WHEN s.status = :booked THEN 1 ELSE 0 END) AS total, " +
+           "SUM(CASE WHEN s.status = :booked AND s.slotStartTime > :now THEN 1 ELSE 0 END) AS upcoming, " +
+           "SUM(CASE WHEN s.status = :cancelled THEN 1 ELSE 0 END) AS cancelled " +
+           "FROM AppointmentSlot s WHERE s.patientId = :patientId AND s.slotStartTime >= :from AND s.slotStartTime < :to")
+    AppointmentSummary summarizeForPatient(@Param("patientId") UUID patientId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("now") LocalDateTime now,
+                                           @Param("booked") AppointmentSlot.Status booked,
+                                           @Param("cancelled") AppointmentSlot.Status cancelled);
+
+    interface PendingHold {
+        UUID getId();
+        LocalDateTime getHoldExpiresAt();
+    }
+
+    interface AppointmentSummary {
+        Long getTotal();
+        Long getUpcoming();
+        Long getCancelled();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import java.nio.ByteBuffer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Streams the rows the free-slot search index is built from. Reads go straight through JDBC with a fetch
+ * size so a full rebuild does not materialise millions of entities.
+ */
+@Repository
+@Timed("healthfirst.repository")
+public class AvailableSlotReader {
+    private static final String PROVIDERS_SQL = "SELECT id, first_name, last_name, specialization, city, state, zip " +
+        "FROM providers WHERE is_active = TRUE";
+    private static final String AVAILABLE_SLOTS_SQL = "SELECT s.id, s.provider_id, s.slot_start_time, s.slot_end_time, " +
+        "s.appointment_type, a.type AS location_type " +
+        "FROM appointment_slots s LEFT JOIN provider_availability a ON a.id = s.availability_id " +
+        "WHERE s.status = 'AVAILABLE' AND s.slot_start_time >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+
+    @Autowired
+    public AvailableSlotReader(JdbcTemplate jdbcTemplate, @Value("${search.index.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    public void forEachActiveProvider(Consumer<ProviderRow> consumer) {
+        jdbcTemplate.query(PROVIDERS_SQL, (RowCallbackHandler) rs -> consumer.accept(new ProviderRow(
+            toUuid(rs.getObject("id")),
+            rs.getString("first_name") + " " + rs.getString("last_name"),
+            rs.getString("specialization"),
+            rs.getString("city"),
+            rs.getString("state"),
+            rs.getString("zip"))));
+    }
+
+    public void forEachAvailableSlot(LocalDateTime from, Consumer<SlotRow> consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(AVAILABLE_SLOTS_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            statement.setTimestamp(1, Timestamp.valueOf(from));
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(new SlotRow(
+            toUuid(rs.getObject("id")),
+            toUuid(rs.getObject("provider_id")),
+            rs.getTimestamp("slot_start_time").toLocalDateTime(),
+            rs.getTimestamp("slot_end_time").toLocalDateTime(),
+            rs.getString("appointment_type"),
+            rs.getString("location_type"))));
+    }
+
+    public record ProviderRow(UUID id, String name, String specialization, String city, String state, String zip) {}
+
+    public record SlotRow(UUID id, UUID providerId, LocalDateTime start, LocalDateTime end,
+                          String appointmentType, String locationType) {}
+
+    // BINARY(16) on MySQL, a native UUID type on H2
+    static UUID toUuid(Object value) throws SQLException {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+        throw new SQLException("Unexpected UUID column value: " + value);
+    }
+}
@@ -0,0 +1,61 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.OutboundEmail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboundEmailRepository extends JpaRepository<OutboundEmail, Long> {
+    // PENDING rows that are due, plus SENDING rows whose lease ran out (dispatcher died mid-send)
+    @Query("SELECT e.id FROM OutboundEmail e WHERE e.status IN :statuses AND e.nextAttemptAt <= :now " +
+           "ORDER BY e.nextAttemptAt, e.id")
+    List<Long> findDueIds(@Param("statuses") Collection<OutboundEmail.Status> statuses,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    /**
+     * Claims the given rows for one dispatcher run. Rows already claimed by another dispatcher
+     * (lease still in the future) are skipped, so concurrent instances never send the same row twice.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboundEmail e SET e.status = :sending, e.claimToken = :claimToken, e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id IN :ids AND e.status IN :statuses AND e.nextAttemptAt <= :now")
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("claimToken") String claimToken,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("statuses") Collection<OutboundEmail.Status> statuses,
+              @Param("sending") OutboundEmail.Status sending);
+
+    List<OutboundEmail> findByClaimTokenOrderById(String claimToken);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboundEmail e SET e.status = :sent, e.sentAt = :sentAt, e.attempts = e.attempts + 1, e.claimToken = null " +
+           "WHERE e.id IN :ids AND e.claimToken = :claimToken")
+    int markSent(@Param("ids") Collection<Long> ids,
+                 @Param("claimToken") String claimToken,
+                 @Param("sentAt") LocalDateTime sentAt,
+                 @Param("sent") OutboundEmail.Status sent);
+
+    /**
+     * Records a failed send: back to PENDING with a new due time, or FAILED. Like markSent it only touches the
+     * row while this run's claim still holds; if the lease ran out and another dispatcher re-claimed the row,
+     * that dispatcher's result stands.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE OutboundEmail e SET e.status = :status, e.attempts = :attempts, e.nextAttemptAt = :nextAttemptAt, " +
+           "e.lastError = :lastError, e.claimToken = null WHERE e.id = :id AND e.claimToken = :claimToken")
+    int reschedule(@Param("id") Long id,
+                   @Param("claimToken") String claimToken,
+                   @Param("status") OutboundEmail.Status status,
+                   @Param("attempts") int attempts,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    long countByStatus(OutboundEmail.Status status);
+}
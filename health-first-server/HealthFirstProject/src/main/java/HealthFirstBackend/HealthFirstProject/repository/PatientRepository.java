@@ -1,11 +1,26 @@
 package HealthFirstBackend.HealthFirstProject.repository;
 
 import HealthFirstBackend.HealthFirstProject.model.Patient;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface PatientRepository extends JpaRepository<Patient, UUID> {
     Optional<Patient> findByEmail(String email);
     Optional<Patient> findByPhoneNumber(String phoneNumber);
+
+    @Query("SELECT new HealthFirstBackend.HealthFirstProject.repository.PatientSummary(p.id, p.firstName, p.lastName, p.isActive) " +
+           "FROM Patient p WHERE p.id IN :ids")
+    List<PatientSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Row lock held to the end of the transaction; serializes one patient's hold requests across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Patient p WHERE p.id = :id")
+    Optional<Patient> lockById(@Param("id") UUID id);
 } 
\ No newline at end of file
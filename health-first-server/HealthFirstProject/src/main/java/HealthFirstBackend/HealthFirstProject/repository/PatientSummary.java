@@ -0,0 +1,12 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import java.util.UUID;
+
+/**
+ * The patient fields bookings and listings need, without credentials or medical details.
+ */
+public record PatientSummary(UUID id, String firstName, String lastName, boolean active) {
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -0,0 +1,19 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.ProfileInvalidation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ProfileInvalidationRepository extends JpaRepository<ProfileInvalidation, Long> {
+    // Served by idx_profile_invalidation_created
+    List<ProfileInvalidation> findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(LocalDateTime since, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProfileInvalidation i WHERE i.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
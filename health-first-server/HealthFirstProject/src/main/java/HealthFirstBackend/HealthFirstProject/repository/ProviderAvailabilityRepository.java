@@ -1,7 +1,12 @@
 package HealthFirstBackend.HealthFirstProject.repository;
 
 import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -11,5 +16,19 @@ public interface ProviderAvailabilityRepository extends JpaRepository<ProviderAv
     List<ProviderAvailability> findByProviderIdAndDateBetween(UUID providerId, LocalDate startDate, LocalDate endDate);
     List<ProviderAvailability> findByProviderIdAndStatus(UUID providerId, ProviderAvailability.Status status);
     List<ProviderAvailability> findByProviderIdAndDateBetweenAndStatus(UUID providerId, LocalDate startDate, LocalDate endDate, ProviderAvailability.Status status);
+
+    // Served from the query cache until the next write to provider_availability
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "provider_availability_queries")
+    })
     List<ProviderAvailability> findByProviderId(UUID providerId);
+
+    // Windows that can occur in [from, to]: starting by the last date and not ending (recurrence included) before
+    // the first. Not cached; conflict checks need what has committed.
+    @Query("SELECT a FROM ProviderAvailability a WHERE a.providerId = :providerId AND a.date <= :to " +
+           "AND (a.date >= :from OR a.recurrenceEndDate >= :from)")
+    List<ProviderAvailability> findOccurringBetween(@Param("providerId") UUID providerId,
+                                                    @Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to);
 } 
\ No newline at end of file
@@ -1,7 +1,13 @@
 package HealthFirstBackend.HealthFirstProject.repository;
 
 import HealthFirstBackend.HealthFirstProject.model.Provider;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -9,4 +15,14 @@ public interface ProviderRepository extends JpaRepository<Provider, UUID> {
     Optional<Provider> findByEmail(String email);
     Optional<Provider> findByPhoneNumber(String phoneNumber);
     Optional<Provider> findByLicenseNumber(String licenseNumber);
+
+    // Row lock held to the end of the transaction; serializes one provider's availability writes across nodes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Provider p WHERE p.id = :id")
+    Optional<Provider> lockById(@Param("id") UUID id);
+
+    @Query("SELECT new HealthFirstBackend.HealthFirstProject.repository.ProviderSummary(p.id, p.firstName, p.lastName, " +
+           "p.specialization, p.isActive, p.clinicAddress.city, p.clinicAddress.state, p.clinicAddress.zip) " +
+           "FROM Provider p WHERE p.id IN :ids")
+    List<ProviderSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import java.util.UUID;
+
+/**
+ * The provider fields bookings, listings and slot search need, without credentials or collections.
+ */
+public record ProviderSummary(UUID id, String firstName, String lastName, String specialization, boolean active,
+                              String city, String state, String zip) {
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
@@ -1,9 +1,24 @@
 package HealthFirstBackend.HealthFirstProject.repository;
 
 import HealthFirstBackend.HealthFirstProject.model.ProviderVerificationToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ProviderVerificationTokenRepository extends JpaRepository<ProviderVerificationToken, Long> {
     Optional<ProviderVerificationToken> findByToken(String token);
-} 
\ No newline at end of file
+
+    // Keyset page of expired token ids walking the primary key from afterId
+    @Query("SELECT t.id FROM ProviderVerificationToken t WHERE t.id > :afterId AND t.expiryDate < :now ORDER BY t.id")
+    List<Long> findExpiredIdsAfter(@Param("afterId") long afterId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProviderVerificationToken t WHERE t.id IN :ids AND t.expiryDate < :now")
+    int deleteExpired(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+}
@@ -1,45 +0,0 @@
-package HealthFirstBackend.HealthFirstProject.security;
-
-import io.jsonwebtoken.Claims;
-import jakarta.servlet.FilterChain;
-import jakarta.servlet.ServletException;
-import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.stereotype.Component;
-import org.springframework.web.filter.OncePerRequestFilter;
-import java.io.IOException;
-import java.util.Collections;
-
-@Component
-public class AuthMiddleware extends OncePerRequestFilter {
-    @Autowired
-    private JwtUtil jwtUtil;
-
-    @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
-            throws ServletException, IOException {
-        String path = request.getRequestURI();
-        if (path.startsWith("/api/v1/patient/") && !path.endsWith("/login") && !path.endsWith("/register")) {
-            String header = request.getHeader("Authorization");
-            String token = null;
-            if (header != null && header.startsWith("Bearer ")) {
-                token = header.substring(7);
-            }
-            if (token != null && jwtUtil.validateToken(token)) {
-                Claims claims = jwtUtil.getClaims(token);
-                String email = claims.get("email", String.class);
-                String patientId = claims.get("patient_id", String.class);
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        new User(email, "", Collections.emptyList()), null, Collections.emptyList());
-                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authentication);
-            }
-        }
-        filterChain.doFilter(request, response);
-    }
-} 
\ No newline at end of file
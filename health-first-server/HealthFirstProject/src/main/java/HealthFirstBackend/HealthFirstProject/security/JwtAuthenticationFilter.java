@@ -1,24 +1,31 @@
 package HealthFirstBackend.HealthFirstProject.security;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
 
+/**
+ * The single bearer-token filter for the API. Registered only in the Spring Security chain
+ * (see SecurityConfig); tokens are verified through VerifiedTokenCache. The token's role claim becomes
+ * the ROLE_ authority that SecurityConfig's hasRole rules check, and the verified token itself is the
+ * principal, so controllers can compare ids in a request with the caller's ({@code @AuthenticationPrincipal}).
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
-    private JwtUtil jwtUtil;
+    private VerifiedTokenCache verifiedTokenCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -28,15 +35,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (header != null && header.startsWith("Bearer ")) {
             token = header.substring(7);
         }
-        if (token != null && jwtUtil.validateToken(token)) {
-            Claims claims = jwtUtil.getClaims(token);
-            String email = claims.get("email", String.class);
-            String providerId = claims.get("providerId", String.class);
-            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    new User(email, "", Collections.emptyList()), null, Collections.emptyList());
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (token != null) {
+            verifiedTokenCache.resolve(token).ifPresent(verified -> {
+                List<GrantedAuthority> authorities = verified.role() != null
+                        ? List.of(new SimpleGrantedAuthority("ROLE_" + verified.role()))
+                        : Collections.emptyList();
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        verified, null, authorities);
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
         }
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+}
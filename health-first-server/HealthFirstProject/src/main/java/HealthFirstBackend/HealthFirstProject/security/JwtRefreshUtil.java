@@ -3,16 +3,19 @@ package HealthFirstBackend.HealthFirstProject.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.security.Key;
 
 @Component
 public class JwtRefreshUtil {
     private final String refreshSecret = "ReplaceWithARefreshSecretKeyForJWTRefreshTokens1234567890";
     private final long refreshExpirationMs = 604800000; // 7 days
-    private final Key key = Keys.hmacShaKeyFor(refreshSecret.getBytes());
+    private final Key key = Keys.hmacShaKeyFor(refreshSecret.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
 
     public String generateRefreshToken(String providerId, String email) {
         Map<String, Object> claims = new HashMap<>();
@@ -27,16 +30,20 @@ public class JwtRefreshUtil {
                 .compact();
     }
 
-    public boolean validateRefreshToken(String token) {
+    // Verifies once and returns the claims, or empty if the refresh token is invalid or expired
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
         }
     }
 
+    public boolean validateRefreshToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
     public Claims getClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
-} 
\ No newline at end of file
+}
@@ -2,25 +2,39 @@ package HealthFirstBackend.HealthFirstProject.security;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import java.security.Key;
 
 @Component
 public class JwtUtil {
-    @Value("${jwt.secret:ReplaceWithASecureSecretKeyForJWTGeneration1234567890}")
-    private String jwtSecret;
     private final long jwtExpirationMs = 1800000; // 30 minutes
+    // Derived once; JwtParser is immutable and safe to share across request threads
+    private final Key key;
+    private final JwtParser parser;
+    // Falls back to the global registry when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public JwtUtil(@Value("${jwt.secret:ReplaceWithASecureSecretKeyForJWTGeneration1234567890}") String jwtSecret) {
+        this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+    }
 
     public String generateToken(String patientId, String email, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("patient_id", patientId);
         claims.put("email", email);
         claims.put("role", role);
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(email)
@@ -30,18 +44,29 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry and returns the claims, or empty if the token is invalid.
+     * Use this instead of validateToken followed by getClaims, which verifies the token twice.
+     * Timed as {@code healthfirst.jwt.verify} with outcome valid or invalid.
+     */
+    public Optional<Claims> parseClaims(String token) {
+        long started = System.nanoTime();
+        Optional<Claims> claims;
         try {
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            claims = Optional.of(parser.parseClaimsJws(token).getBody());
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            claims = Optional.empty();
         }
+        meterRegistry.timer("healthfirst.jwt.verify", "outcome", claims.isPresent() ? "valid" : "invalid")
+            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return claims;
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
     }
 
     public Claims getClaims(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
-} 
\ No newline at end of file
+}
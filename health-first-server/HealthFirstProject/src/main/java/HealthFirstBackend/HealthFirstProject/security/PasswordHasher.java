@@ -0,0 +1,148 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs BCrypt on a small dedicated pool instead of the request threads, so a burst of logins or
+ * registrations can use at most {@code security.password.hashing-threads} cores. When the pool and its
+ * queue are full the call fails fast with HashingCapacityExceededException rather than piling up.
+ * Every call is timed as {@code healthfirst.password.hash}, including time spent queued for the pool.
+ */
+@Component
+public class PasswordHasher {
+    private static final long RETRY_AFTER_SECONDS = 1;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+    // Falls back to the global registry when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Autowired
+    public PasswordHasher(BCryptPasswordEncoder encoder,
+                          @Value("${security.password.bcrypt-strength:12}") int strength,
+                          @Value("${security.password.hashing-threads:0}") int threads,
+                          @Value("${security.password.queue-capacity:64}") int queueCapacity,
+                          @Value("${security.password.timeout-ms:5000}") long timeoutMs) {
+        this(encoder, strength, newExecutor(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), queueCapacity), timeoutMs);
+    }
+
+    PasswordHasher(BCryptPasswordEncoder encoder, int strength, ThreadPoolExecutor executor, long timeoutMs) {
+        this.encoder = encoder;
+        this.strength = strength;
+        this.executor = executor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return run("matches", () -> encoder.matches(rawPassword, passwordHash));
+    }
+
+    /**
+     * True when the stored hash was made with a different cost than the configured one,
+     * so callers can re-hash it after a successful login.
+     */
+    public boolean needsRehash(String passwordHash) {
+        Integer cost = costOf(passwordHash);
+        return cost != null && cost != strength;
+    }
+
+    public int getQueuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveTasks() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(String operation, Callable<T> task) {
+        long started = System.nanoTime();
+        String outcome = "error";
+        try {
+            T result = execute(task);
+            outcome = "success";
+            return result;
+        } catch (HashingCapacityExceededException e) {
+            outcome = "rejected";
+            throw e;
+        } finally {
+            meterRegistry.timer("healthfirst.password.hash", "operation", operation, "outcome", outcome)
+                .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new HashingCapacityExceededException(RETRY_AFTER_SECONDS, "Server is busy, please retry shortly");
+        }
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new HashingCapacityExceededException(RETRY_AFTER_SECONDS, "Server is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // BCrypt hashes look like $2a$12$<salt+hash>; the two digits after the version are the cost
+    static Integer costOf(String passwordHash) {
+        if (passwordHash == null || passwordHash.length() < 7 || passwordHash.charAt(0) != '$' || passwordHash.charAt(3) != '$') {
+            return null;
+        }
+        try {
+            return Integer.parseInt(passwordHash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
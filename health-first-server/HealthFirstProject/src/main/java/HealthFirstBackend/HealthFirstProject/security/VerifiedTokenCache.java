@@ -0,0 +1,125 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers access tokens whose signature has already been verified, keyed by the SHA-256 of the token,
+ * so repeated requests from the same session skip JWS verification. Entries are evicted when the cache
+ * is full and expire at the token's own exp claim. Invalid tokens are never cached.
+ */
+@Component
+public class VerifiedTokenCache {
+    private final JwtUtil jwtUtil;
+    private final Cache<String, VerifiedToken> cache;
+
+    @Autowired
+    public VerifiedTokenCache(JwtUtil jwtUtil, @Value("${jwt.cache.max-size:10000}") long maxSize) {
+        this(jwtUtil, maxSize, Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(JwtUtil jwtUtil, long maxSize, Ticker ticker) {
+        this.jwtUtil = jwtUtil;
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfter(new UntilTokenExpiry(ticker))
+            .ticker(ticker)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<VerifiedToken> resolve(String token) {
+        String key = hash(token);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<VerifiedToken> verified = jwtUtil.parseClaims(token).map(VerifiedToken::from);
+        verified.ifPresent(value -> cache.put(key, value));
+        return verified;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    void cleanUp() {
+        cache.cleanUp();
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // The request principal once JwtAuthenticationFilter accepts the token; its name is the email
+    public record VerifiedToken(String email, String userId, String role, long expiresAtMillis) implements Principal {
+        @Override
+        public String getName() {
+            return email;
+        }
+
+        static VerifiedToken from(Claims claims) {
+            return new VerifiedToken(
+                claims.get("email", String.class),
+                claims.get("patient_id", String.class),
+                claims.get("role", String.class),
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE);
+        }
+    }
+
+    // Each entry lives until its token's exp; reads and updates do not extend it
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        private final Ticker ticker;
+        private final long originNanos;
+        private final long originMillis;
+
+        private UntilTokenExpiry(Ticker ticker) {
+            this.ticker = ticker;
+            this.originNanos = ticker.read();
+            this.originMillis = System.currentTimeMillis();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long nowMillis = originMillis + TimeUnit.NANOSECONDS.toMillis(ticker.read() - originNanos);
+            long remainingMillis = value.expiresAtMillis() - nowMillis;
+            if (remainingMillis <= 0) {
+                return 0;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.min(remainingMillis, TimeUnit.DAYS.toMillis(365)));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentExportReader;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes appointments as NDJSON or CSV straight to an output stream while the rows are read, so an export of
+ * any size needs only the write buffer in memory.
+ */
+@Service
+public class AppointmentExportService {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] COLUMNS = {"appointment_id", "booking_reference", "provider_id", "provider_name",
+        "patient_id", "patient_name", "slot_start_time", "slot_end_time", "status", "appointment_type", "created_at", "updated_at"};
+
+    @Autowired
+    private AppointmentExportReader exportReader;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+    }
+
+    public record ExportQuery(Format format, List<AppointmentSlot.Status> statuses, LocalDateTime from, LocalDateTime to,
+                              UUID providerId) {}
+
+    /**
+     * Validates the parameters before anything is written, so errors can still be sent as a normal response.
+     * Defaults to NDJSON and BOOKED appointments.
+     */
+    public ExportQuery prepare(String format, List<AppointmentSlot.Status> statuses, LocalDateTime from, LocalDateTime to,
+                               UUID providerId) {
+        Format exportFormat;
+        try {
+            exportFormat = format == null || format.isBlank() ? Format.NDJSON : Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid format: " + format + " (expected ndjson or csv)");
+        }
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        List<AppointmentSlot.Status> exportStatuses = statuses == null || statuses.isEmpty()
+            ? List.of(AppointmentSlot.Status.BOOKED) : List.copyOf(statuses);
+        return new ExportQuery(exportFormat, exportStatuses, from, to, providerId);
+    }
+
+    /**
+     * Streams every matching appointment to the output and flushes it; the stream is left open.
+     * Returns the number of rows written.
+     */
+    public long write(ExportQuery query, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = query.format() == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] rows = new long[1];
+        try {
+            rowWriter.start();
+            exportReader.forEach(query.statuses(), query.from(), query.to(), query.providerId(), row -> {
+                try {
+                    rowWriter.write(row);
+                    rows[0]++;
+                } catch (IOException e) {
+                    // Usually the client went away; stop reading instead of draining the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+            rowWriter.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        default void start() throws IOException {}
+
+        void write(AppointmentExportReader.ExportRow row) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.writer = writer;
+            this.generator = JSON_FACTORY.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(AppointmentExportReader.ExportRow row) throws IOException {
+            String[] values = values(row);
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                generator.writeStringField(COLUMNS[i], values[i]);
+            }
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(AppointmentExportReader.ExportRow row) throws IOException {
+            String[] values = values(row);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvField(values[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        // RFC 4180: quote fields containing separators, quotes or line breaks and double embedded quotes
+        private void writeCsvField(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private static String[] values(AppointmentExportReader.ExportRow row) {
+        return new String[] {
+            row.id().toString(),
+            row.bookingReference(),
+            row.providerId().toString(),
+            row.providerName(),
+            row.patientId() != null ? row.patientId().toString() : null,
+            row.patientName(),
+            format(row.slotStartTime()),
+            format(row.slotEndTime()),
+            row.status(),
+            row.appointmentType(),
+            format(row.createdAt()),
+            format(row.updatedAt())
+        };
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(time) : null;
+    }
+}
@@ -3,35 +3,56 @@ package HealthFirstBackend.HealthFirstProject.service;
 import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.GetAppointmentsResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.SlotUnavailableException;
 import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
-import HealthFirstBackend.HealthFirstProject.model.Patient;
-import HealthFirstBackend.HealthFirstProject.model.Provider;
 import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
-import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
-import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientSummary;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 @Validated
+@Timed("healthfirst.service")
 public class AppointmentService {
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Open-ended listing windows are bounded by these so the range predicate can always use an index
+    private static final LocalDateTime EARLIEST_APPOINTMENT = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST_APPOINTMENT = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     @Autowired
     private AppointmentSlotRepository appointmentSlotRepository;
     
     @Autowired
-    private PatientRepository patientRepository;
-    
+    private ProfileCache profileCache;
+
+    @Autowired
+    private FreeSlotIndex freeSlotIndex;
+
     @Autowired
-    private ProviderRepository providerRepository;
+    private BookingReferenceGenerator bookingReferences;
 
+    // Timed on its own, with a histogram, for booking latency SLOs (buckets in application.properties)
+    @Timed(value = "healthfirst.appointments.book", histogram = true)
     @Transactional
     public BookAppointmentResponseDTO bookAppointment(@Valid BookAppointmentRequestDTO request) {
         // Parse UUIDs
@@ -39,10 +60,10 @@ public class AppointmentService {
         UUID patientId = UUID.fromString(request.getPatientId());
         
         // Validate that provider and patient exist
-        Provider provider = providerRepository.findById(providerId)
+        ProviderSummary provider = profileCache.provider(providerId)
             .orElseThrow(() -> new IllegalArgumentException("Provider not found"));
         
-        Patient patient = patientRepository.findById(patientId)
+        PatientSummary patient = profileCache.patient(patientId)
             .orElseThrow(() -> new IllegalArgumentException("Patient not found"));
         
         // Check if the requested time is in the future
@@ -50,29 +71,52 @@ public class AppointmentService {
             throw new IllegalArgumentException("Appointment time must be in the future");
         }
         
-        // Find available slot for the requested time
-        List<AppointmentSlot> availableSlots = appointmentSlotRepository
+        String bookingReference = bookingReferences.next();
+
+        // A slot the patient holds at this time is booked first (see SlotHoldService)
+        AppointmentSlot slot = null;
+        for (AppointmentSlot candidate : appointmentSlotRepository
+                .findByProviderIdAndSlotStartTimeAndStatus(providerId, request.getAppointmentDateTime(), AppointmentSlot.Status.HELD)) {
+            if (patientId.equals(candidate.getPatientId()) && appointmentSlotRepository.claimHeldSlot(candidate.getId(), patientId,
+                    request.getAppointmentType(), bookingReference, LocalDateTime.now(),
+                    AppointmentSlot.Status.HELD, AppointmentSlot.Status.BOOKED) == 1) {
+                slot = candidate;
+                break;
+            }
+        }
+
+        // Find candidate slots for the requested time
+        List<AppointmentSlot> availableSlots = slot != null ? List.of() : appointmentSlotRepository
             .findByProviderIdAndSlotStartTimeAndStatus(providerId, request.getAppointmentDateTime(), AppointmentSlot.Status.AVAILABLE);
-        
-        if (availableSlots.isEmpty()) {
-            throw new IllegalArgumentException("No available slots found for the requested time");
+
+        if (slot == null && availableSlots.isEmpty()) {
+            throw new SlotUnavailableException(providerId, request.getAppointmentDateTime(),
+                "No available slots found for the requested time");
+        }
+
+        // Claim the first candidate still AVAILABLE with a conditional update; a concurrent
+        // booking that got there first makes the update touch zero rows
+        for (int i = 0; i < Math.min(availableSlots.size(), MAX_CLAIM_ATTEMPTS) && slot == null; i++) {
+            AppointmentSlot candidate = availableSlots.get(i);
+            int claimed = appointmentSlotRepository.claimSlot(candidate.getId(), patientId, request.getAppointmentType(),
+                bookingReference, LocalDateTime.now(), AppointmentSlot.Status.AVAILABLE, AppointmentSlot.Status.BOOKED);
+            if (claimed == 1) {
+                slot = candidate;
+            }
         }
         
-        // Get the first available slot
-        AppointmentSlot slot = availableSlots.get(0);
-        
-        // Check if the slot is still available (double-check)
-        if (slot.getStatus() != AppointmentSlot.Status.AVAILABLE) {
-            throw new IllegalArgumentException("Selected slot is no longer available");
+        if (slot == null) {
+            throw new SlotUnavailableException(providerId, request.getAppointmentDateTime(),
+                "Selected slot is no longer available");
         }
         
-        // Book the appointment
+        freeSlotIndex.removeAfterCommit(slot);
+
+        // Mirror the claimed state on the (now detached) candidate for the response
         slot.setStatus(AppointmentSlot.Status.BOOKED);
         slot.setPatientId(patientId);
         slot.setAppointmentType(request.getAppointmentType());
-        slot.setBookingReference(generateBookingReference());
-        
-        appointmentSlotRepository.save(slot);
+        slot.setBookingReference(bookingReference);
         
         // Prepare response
         BookAppointmentResponseDTO response = new BookAppointmentResponseDTO();
@@ -90,8 +134,8 @@ public class AppointmentService {
         
         BookAppointmentResponseDTO.Data.AppointmentDetails details = new BookAppointmentResponseDTO.Data.AppointmentDetails();
         details.setNotes(request.getNotes());
-        details.setProvider_name(provider.getFirstName() + " " + provider.getLastName());
-        details.setPatient_name(patient.getFirstName() + " " + patient.getLastName());
+        details.setProvider_name(provider.fullName());
+        details.setPatient_name(patient.fullName());
         // Location would be set based on provider's availability location
         details.setLocation("To be determined based on provider availability");
         
@@ -102,120 +146,99 @@ public class AppointmentService {
     }
 
     public GetAppointmentsResponseDTO getAppointmentsForProvider(UUID providerId) {
-        List<AppointmentSlot> appointments = appointmentSlotRepository.findByProviderIdOrderBySlotStartTime(providerId);
-        
-        GetAppointmentsResponseDTO response = new GetAppointmentsResponseDTO();
-        response.setSuccess(true);
-        response.setMessage("Appointments retrieved successfully");
-        
-        GetAppointmentsResponseDTO.Data data = new GetAppointmentsResponseDTO.Data();
-        data.setUser_id(providerId.toString());
-        data.setUser_type("provider");
-        
-        List<GetAppointmentsResponseDTO.Data.Appointment> appointmentList = new ArrayList<>();
-        GetAppointmentsResponseDTO.Data.Summary summary = new GetAppointmentsResponseDTO.Data.Summary();
-        
-        int total = 0, upcoming = 0, completed = 0, cancelled = 0;
-        
-        for (AppointmentSlot slot : appointments) {
-            if (slot.getStatus() == AppointmentSlot.Status.BOOKED) {
-                GetAppointmentsResponseDTO.Data.Appointment appointment = new GetAppointmentsResponseDTO.Data.Appointment();
-                appointment.setAppointment_id(slot.getId().toString());
-                appointment.setBooking_reference(slot.getBookingReference());
-                appointment.setProvider_id(slot.getProviderId().toString());
-                appointment.setPatient_id(slot.getPatientId() != null ? slot.getPatientId().toString() : null);
-                appointment.setAppointment_date_time(slot.getSlotStartTime());
-                appointment.setAppointment_type(slot.getAppointmentType());
-                appointment.setStatus(slot.getStatus().name());
-                appointment.setCreated_at(slot.getCreatedAt());
-                appointment.setUpdated_at(slot.getUpdatedAt());
-                
-                // Get patient and provider names if available
-                if (slot.getPatientId() != null) {
-                    patientRepository.findById(slot.getPatientId()).ifPresent(patient -> 
-                        appointment.setPatient_name(patient.getFirstName() + " " + patient.getLastName()));
-                }
-                
-                providerRepository.findById(slot.getProviderId()).ifPresent(provider -> 
-                    appointment.setProvider_name(provider.getFirstName() + " " + provider.getLastName()));
-                
-                appointmentList.add(appointment);
-                total++;
-                
-                if (slot.getSlotStartTime().isAfter(LocalDateTime.now())) {
-                    upcoming++;
-                } else {
-                    completed++;
-                }
-            } else if (slot.getStatus() == AppointmentSlot.Status.CANCELLED) {
-                cancelled++;
-            }
-        }
-        
-        data.setAppointments(appointmentList);
-        summary.setTotal_appointments(total);
-        summary.setUpcoming_appointments(upcoming);
-        summary.setCompleted_appointments(completed);
-        summary.setCancelled_appointments(cancelled);
-        data.setSummary(summary);
-        
-        response.setData(data);
-        return response;
+        return getAppointmentsForProvider(providerId, null, null, null, null, null);
+    }
+
+    public GetAppointmentsResponseDTO getAppointmentsForProvider(UUID providerId, LocalDateTime from, LocalDateTime to,
+                                                                 List<AppointmentSlot.Status> statuses, String cursor, Integer limit) {
+        ListingWindow window = new ListingWindow(from, to, statuses, cursor, limit);
+        List<AppointmentSlot> appointments = window.after == null
+            ? appointmentSlotRepository.findProviderPage(providerId, window.statuses, window.from, window.to, window.page())
+            : appointmentSlotRepository.findProviderPageAfter(providerId, window.statuses, window.from, window.to,
+                window.after.slotStartTime, window.after.id, window.page());
+        AppointmentSlotRepository.AppointmentSummary summary = appointmentSlotRepository.summarizeForProvider(
+            providerId, window.from, window.to, LocalDateTime.now(), AppointmentSlot.Status.BOOKED, AppointmentSlot.Status.CANCELLED);
+        return buildAppointmentsResponse(providerId, "provider", appointments, window.limit, summary);
     }
 
     public GetAppointmentsResponseDTO getAppointmentsForPatient(UUID patientId) {
-        List<AppointmentSlot> appointments = appointmentSlotRepository.findByPatientIdOrderBySlotStartTime(patientId);
-        
+        return getAppointmentsForPatient(patientId, null, null, null, null, null);
+    }
+
+    public GetAppointmentsResponseDTO getAppointmentsForPatient(UUID patientId, LocalDateTime from, LocalDateTime to,
+                                                                List<AppointmentSlot.Status> statuses, String cursor, Integer limit) {
+        ListingWindow window = new ListingWindow(from, to, statuses, cursor, limit);
+        List<AppointmentSlot> appointments = window.after == null
+            ? appointmentSlotRepository.findPatientPage(patientId, window.statuses, window.from, window.to, window.page())
+            : appointmentSlotRepository.findPatientPageAfter(patientId, window.statuses, window.from, window.to,
+                window.after.slotStartTime, window.after.id, window.page());
+        AppointmentSlotRepository.AppointmentSummary summary = appointmentSlotRepository.summarizeForPatient(
+            patientId, window.from, window.to, LocalDateTime.now(), AppointmentSlot.Status.BOOKED, AppointmentSlot.Status.CANCELLED);
+        return buildAppointmentsResponse(patientId, "patient", appointments, window.limit, summary);
+    }
+
+    private GetAppointmentsResponseDTO buildAppointmentsResponse(UUID userId, String userType, List<AppointmentSlot> rows,
+                                                                 int limit, AppointmentSlotRepository.AppointmentSummary counts) {
         GetAppointmentsResponseDTO response = new GetAppointmentsResponseDTO();
         response.setSuccess(true);
         response.setMessage("Appointments retrieved successfully");
         
         GetAppointmentsResponseDTO.Data data = new GetAppointmentsResponseDTO.Data();
-        data.setUser_id(patientId.toString());
-        data.setUser_type("patient");
-        
-        List<GetAppointmentsResponseDTO.Data.Appointment> appointmentList = new ArrayList<>();
-        GetAppointmentsResponseDTO.Data.Summary summary = new GetAppointmentsResponseDTO.Data.Summary();
+        data.setUser_id(userId.toString());
+        data.setUser_type(userType);
         
-        int total = 0, upcoming = 0, completed = 0, cancelled = 0;
+        // One extra row is fetched to detect whether another page exists
+        boolean hasMore = rows.size() > limit;
+        List<AppointmentSlot> appointments = hasMore ? rows.subList(0, limit) : rows;
+        if (hasMore) {
+            AppointmentSlot last = appointments.get(appointments.size() - 1);
+            data.setNext_cursor(encodeCursor(last.getSlotStartTime(), last.getId()));
+        }
+        data.setHas_more(hasMore);
         
+        // Resolve patient and provider names from the profile cache, loading misses in one query each
+        Set<UUID> patientIds = new HashSet<>();
+        Set<UUID> providerIds = new HashSet<>();
         for (AppointmentSlot slot : appointments) {
-            if (slot.getStatus() == AppointmentSlot.Status.BOOKED) {
-                GetAppointmentsResponseDTO.Data.Appointment appointment = new GetAppointmentsResponseDTO.Data.Appointment();
-                appointment.setAppointment_id(slot.getId().toString());
-                appointment.setBooking_reference(slot.getBookingReference());
-                appointment.setProvider_id(slot.getProviderId().toString());
-                appointment.setPatient_id(slot.getPatientId().toString());
-                appointment.setAppointment_date_time(slot.getSlotStartTime());
-                appointment.setAppointment_type(slot.getAppointmentType());
-                appointment.setStatus(slot.getStatus().name());
-                appointment.setCreated_at(slot.getCreatedAt());
-                appointment.setUpdated_at(slot.getUpdatedAt());
-                
-                // Get patient and provider names
-                patientRepository.findById(slot.getPatientId()).ifPresent(patient -> 
-                    appointment.setPatient_name(patient.getFirstName() + " " + patient.getLastName()));
-                
-                providerRepository.findById(slot.getProviderId()).ifPresent(provider -> 
-                    appointment.setProvider_name(provider.getFirstName() + " " + provider.getLastName()));
-                
-                appointmentList.add(appointment);
-                total++;
-                
-                if (slot.getSlotStartTime().isAfter(LocalDateTime.now())) {
-                    upcoming++;
-                } else {
-                    completed++;
-                }
-            } else if (slot.getStatus() == AppointmentSlot.Status.CANCELLED) {
-                cancelled++;
+            if (slot.getPatientId() != null) {
+                patientIds.add(slot.getPatientId());
             }
+            providerIds.add(slot.getProviderId());
+        }
+        Map<UUID, String> patientNames = new HashMap<>();
+        if (!patientIds.isEmpty()) {
+            profileCache.patients(patientIds).forEach((id, patient) -> patientNames.put(id, patient.fullName()));
+        }
+        Map<UUID, String> providerNames = new HashMap<>();
+        if (!providerIds.isEmpty()) {
+            profileCache.providers(providerIds).forEach((id, provider) -> providerNames.put(id, provider.fullName()));
         }
         
+        List<GetAppointmentsResponseDTO.Data.Appointment> appointmentList = new ArrayList<>();
+        for (AppointmentSlot slot : appointments) {
+            GetAppointmentsResponseDTO.Data.Appointment appointment = new GetAppointmentsResponseDTO.Data.Appointment();
+            appointment.setAppointment_id(slot.getId().toString());
+            appointment.setBooking_reference(slot.getBookingReference());
+            appointment.setProvider_id(slot.getProviderId().toString());
+            appointment.setPatient_id(slot.getPatientId() != null ? slot.getPatientId().toString() : null);
+            appointment.setAppointment_date_time(slot.getSlotStartTime());
+            appointment.setAppointment_type(slot.getAppointmentType());
+            appointment.setStatus(slot.getStatus().name());
+            appointment.setCreated_at(slot.getCreatedAt());
+            appointment.setUpdated_at(slot.getUpdatedAt());
+            appointment.setPatient_name(slot.getPatientId() != null ? patientNames.get(slot.getPatientId()) : null);
+            appointment.setProvider_name(providerNames.get(slot.getProviderId()));
+            appointmentList.add(appointment);
+        }
         data.setAppointments(appointmentList);
+        
+        int total = counts != null && counts.getTotal() != null ? counts.getTotal().intValue() : 0;
+        int upcoming = counts != null && counts.getUpcoming() != null ? counts.getUpcoming().intValue() : 0;
+        int cancelled = counts != null && counts.getCancelled() != null ? counts.getCancelled().intValue() : 0;
+        GetAppointmentsResponseDTO.Data.Summary summary = new GetAppointmentsResponseDTO.Data.Summary();
         summary.setTotal_appointments(total);
         summary.setUpcoming_appointments(upcoming);
-        summary.setCompleted_appointments(completed);
+        summary.setCompleted_appointments(total - upcoming);
         summary.setCancelled_appointments(cancelled);
         data.setSummary(summary);
         
@@ -223,8 +246,44 @@ public class AppointmentService {
         return response;
     }
 
-    private String generateBookingReference() {
-        // Generate a unique booking reference
-        return "BK" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    private static String encodeCursor(LocalDateTime slotStartTime, UUID id) {
+        String raw = slotStartTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private record Cursor(LocalDateTime slotStartTime, UUID id) {}
+
+    // Normalized listing parameters: defaults applied, page size clamped, cursor decoded
+    private static final class ListingWindow {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private final List<AppointmentSlot.Status> statuses;
+        private final Cursor after;
+        private final int limit;
+
+        private ListingWindow(LocalDateTime from, LocalDateTime to, List<AppointmentSlot.Status> statuses, String cursor, Integer limit) {
+            this.from = from != null ? from : EARLIEST_APPOINTMENT;
+            this.to = to != null ? to : LATEST_APPOINTMENT;
+            if (!this.from.isBefore(this.to)) {
+                throw new IllegalArgumentException("'from' must be before 'to'");
+            }
+            this.statuses = statuses == null || statuses.isEmpty() ? List.of(AppointmentSlot.Status.BOOKED) : statuses;
+            this.after = cursor == null || cursor.isBlank() ? null : decodeCursor(cursor);
+            this.limit = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        }
+
+        private Pageable page() {
+            return PageRequest.ofSize(limit + 1);
+        }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,95 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Booking references of the form {@code BK} + 13 Crockford base32 characters, e.g. {@code BK01JC4Q7Z0M3K8}.
+ * The encoded 63-bit value is 41 bits of milliseconds since 2025-01-01 UTC, a 10-bit node id and a 12-bit
+ * per-millisecond sequence. References from one node are strictly increasing, and since the encoding is fixed
+ * width they also sort that way as strings, so inserts land at the right edge of the unique index.
+ *
+ * <p>Ids are handed out with a single CAS on the packed (timestamp, sequence) state, no lock. When more than 4096
+ * are needed in one millisecond, or the clock moves backwards, the timestamp part runs ahead of the clock instead
+ * of waiting for it.
+ *
+ * <p>Each instance needs its own {@code booking.reference.node-id} (0-1023). When unset, one is derived from the
+ * host name and process id, which is unique in practice but not guaranteed; the unique index on booking_reference
+ * is the backstop.
+ */
+@Component
+public class BookingReferenceGenerator {
+    private static final Logger log = LoggerFactory.getLogger(BookingReferenceGenerator.class);
+    private static final String PREFIX = "BK";
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+    static final long EPOCH_MILLIS = 1735689600000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (millis since EPOCH_MILLIS << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    @Autowired
+    public BookingReferenceGenerator(@Value("${booking.reference.node-id:-1}") int nodeId) {
+        this(nodeId < 0 ? derivedNodeId() : nodeId, System::currentTimeMillis);
+    }
+
+    BookingReferenceGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("booking.reference.node-id must be between 0 and " + MAX_NODE_ID + ", was: " + nodeId);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public String next() {
+        return encode(nextId());
+    }
+
+    long nextId() {
+        long now = clock.getAsLong() - EPOCH_MILLIS;
+        while (true) {
+            long previous = last.get();
+            // A full sequence carries into the timestamp, i.e. borrows the next millisecond
+            long next = now > previous >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : previous + 1;
+            if (last.compareAndSet(previous, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    static String encode(long id) {
+        char[] chars = new char[PREFIX.length() + ENCODED_LENGTH];
+        PREFIX.getChars(0, PREFIX.length(), chars, 0);
+        for (int i = chars.length - 1; i >= PREFIX.length(); i--) {
+            chars[i] = CROCKFORD[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    private static int derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        int nodeId = ((host + "/" + ProcessHandle.current().pid()).hashCode() & Integer.MAX_VALUE) % (MAX_NODE_ID + 1);
+        log.warn("booking.reference.node-id is not set; using {} derived from {}. Set it explicitly when running more than one instance",
+            nodeId, host);
+        return nodeId;
+    }
+}
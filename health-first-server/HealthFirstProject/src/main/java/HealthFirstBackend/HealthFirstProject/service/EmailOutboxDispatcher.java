@@ -0,0 +1,288 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.OutboundEmail;
+import HealthFirstBackend.HealthFirstProject.repository.OutboundEmailRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains the email outbox. Each run claims up to {@code claim-limit} due rows, splits them into batches of
+ * {@code batch-size} and sends every batch from a worker thread over a single SMTP connection
+ * (JavaMailSender.send with several messages connects once). Failed messages are retried with exponential
+ * backoff and marked FAILED after {@code max-attempts}. Each message's share of its batch's send time is
+ * recorded as {@code healthfirst.email.send} with outcome sent, retry or failed.
+ */
+@Service
+public class EmailOutboxDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    private static final List<OutboundEmail.Status> CLAIMABLE = List.of(OutboundEmail.Status.PENDING, OutboundEmail.Status.SENDING);
+
+    private final OutboundEmailRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+
+    @Value("${email.outbox.enabled:true}")
+    private boolean enabled;
+    @Value("${email.outbox.from:no-reply@healthfirst.local}")
+    private String from;
+    @Value("${email.outbox.claim-limit:500}")
+    private int claimLimit;
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+    @Value("${email.outbox.max-attempts:6}")
+    private int maxAttempts;
+    @Value("${email.outbox.initial-backoff-ms:2000}")
+    private long initialBackoffMs;
+    @Value("${email.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs;
+    @Value("${email.outbox.lease-ms:120000}")
+    private long leaseMs;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong maxSendNanos = new AtomicLong();
+    // Falls back to the global registry when constructed outside Spring
+    @Autowired(required = false)
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    @Autowired
+    public EmailOutboxDispatcher(OutboundEmailRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${email.outbox.workers:2}") int workerCount,
+                                 Environment environment) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.workers = newWorkerPool(workerCount, Threading.VIRTUAL.isActive(environment));
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int processed;
+            do {
+                processed = drain();
+            } while (processed >= claimLimit);
+        } catch (RuntimeException e) {
+            log.warn("Email outbox drain failed", e);
+        }
+    }
+
+    /**
+     * Sends one claim's worth of due messages and waits for the workers to finish.
+     * Returns the number of rows processed (sent, rescheduled or failed).
+     */
+    public int drain() {
+        LocalDateTime now = LocalDateTime.now();
+        String claimToken = UUID.randomUUID().toString();
+        List<OutboundEmail> claimed = transactionTemplate.execute(status -> {
+            List<Long> ids = outboxRepository.findDueIds(CLAIMABLE, now, PageRequest.of(0, claimLimit));
+            if (ids.isEmpty()) {
+                return List.of();
+            }
+            outboxRepository.claim(ids, claimToken, now, now.plus(Duration.ofMillis(leaseMs)), CLAIMABLE, OutboundEmail.Status.SENDING);
+            return outboxRepository.findByClaimTokenOrderById(claimToken);
+        });
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start = 0; start < claimed.size(); start += batchSize) {
+            List<OutboundEmail> batch = claimed.subList(start, Math.min(start + batchSize, claimed.size()));
+            futures.add(workers.submit(() -> sendBatch(batch, claimToken)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                // Rows stay SENDING and are reclaimed once their lease expires
+                log.warn("Email outbox batch failed", e.getCause());
+            }
+        }
+        return claimed.size();
+    }
+
+    public Stats stats() {
+        long sentCount = sent.sum();
+        long totalNanos = sendNanos.sum();
+        return new Stats(
+            outboxRepository.countByStatus(OutboundEmail.Status.PENDING) + outboxRepository.countByStatus(OutboundEmail.Status.SENDING),
+            sentCount,
+            retried.sum(),
+            failed.sum(),
+            batches.sum(),
+            sentCount == 0 ? 0 : totalNanos / sentCount,
+            maxSendNanos.get());
+    }
+
+    /**
+     * Queue depth counts PENDING and in-flight rows. Latencies are per message, measured around the SMTP
+     * send of the batch the message was part of.
+     */
+    public record Stats(long queueDepth, long sent, long retried, long failed, long batches,
+                        long averageSendLatencyNanos, long maxSendLatencyNanos) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void sendBatch(List<OutboundEmail> batch, String claimToken) {
+        SimpleMailMessage[] messages = new SimpleMailMessage[batch.size()];
+        Map<SimpleMailMessage, OutboundEmail> byMessage = new IdentityHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            messages[i] = toMessage(batch.get(i));
+            byMessage.put(messages[i], batch.get(i));
+        }
+        Map<OutboundEmail, Exception> failures = new IdentityHashMap<>();
+        long started = System.nanoTime();
+        try {
+            mailSender.send(messages);
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                batch.forEach(email -> failures.put(email, e));
+            }
+            failedMessages.forEach((message, cause) -> {
+                OutboundEmail email = byMessage.get(message);
+                if (email != null) {
+                    failures.put(email, cause);
+                }
+            });
+        } catch (MailException e) {
+            batch.forEach(email -> failures.put(email, e));
+        }
+        long elapsed = System.nanoTime() - started;
+        batches.increment();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> sentIds = new ArrayList<>();
+        for (OutboundEmail email : batch) {
+            if (!failures.containsKey(email)) {
+                sentIds.add(email.getId());
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, claimToken, now, OutboundEmail.Status.SENT);
+            }
+            failures.forEach((email, cause) -> reschedule(email, claimToken, cause, now));
+        });
+        long perMessage = elapsed / batch.size();
+        for (OutboundEmail email : batch) {
+            String outcome = !failures.containsKey(email) ? "sent"
+                : email.getStatus() == OutboundEmail.Status.FAILED ? "failed" : "retry";
+            meterRegistry.timer("healthfirst.email.send", "outcome", outcome).record(perMessage, TimeUnit.NANOSECONDS);
+        }
+        if (!sentIds.isEmpty()) {
+            sent.add(sentIds.size());
+            sendNanos.add(perMessage * sentIds.size());
+            maxSendNanos.accumulateAndGet(perMessage, Math::max);
+        }
+    }
+
+    private void reschedule(OutboundEmail email, String claimToken, Exception cause, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        boolean giveUp = attempts >= maxAttempts;
+        OutboundEmail.Status status = giveUp ? OutboundEmail.Status.FAILED : OutboundEmail.Status.PENDING;
+        LocalDateTime nextAttemptAt = giveUp ? email.getNextAttemptAt() : now.plus(Duration.ofMillis(backoffMs(attempts)));
+        int updated = outboxRepository.reschedule(email.getId(), claimToken, status, attempts, nextAttemptAt,
+            truncate(String.valueOf(cause.getMessage()), 1000));
+        if (updated == 0) {
+            // Our lease ran out and another dispatcher owns the row now
+            log.info("Email {} was re-claimed by another dispatcher; not recording this failed attempt", email.getId());
+            return;
+        }
+        email.setStatus(status);
+        email.setAttempts(attempts);
+        if (giveUp) {
+            failed.increment();
+            log.warn("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, cause.getMessage());
+        } else {
+            retried.increment();
+        }
+    }
+
+    // 1st retry after initialBackoff, doubling each attempt, capped at maxBackoff
+    long backoffMs(int attempts) {
+        int shift = Math.min(attempts - 1, 30);
+        return Math.min(maxBackoffMs, initialBackoffMs << shift);
+    }
+
+    private SimpleMailMessage toMessage(OutboundEmail email) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(email.getRecipient());
+        message.setSubject(email.getSubject());
+        message.setText(email.getBody());
+        return message;
+    }
+
+    private static String truncate(String value, int max) {
+        return value.length() <= max ? value : value.substring(0, max);
+    }
+
+    // The pool size caps concurrent SMTP connections. With spring.threads.virtual.enabled on Java 21+ the workers
+    // are virtual threads, so a slow SMTP server parks them instead of holding platform threads.
+    private static ExecutorService newWorkerPool(int workerCount, boolean virtualThreads) {
+        ThreadFactory threadFactory;
+        if (virtualThreads) {
+            threadFactory = new VirtualThreadTaskExecutor("email-outbox-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger counter = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "email-outbox-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        return new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+    }
+}
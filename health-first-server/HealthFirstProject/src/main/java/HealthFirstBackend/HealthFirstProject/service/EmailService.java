@@ -1 +1,30 @@
- 
\ No newline at end of file
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.OutboundEmail;
+import HealthFirstBackend.HealthFirstProject.repository.OutboundEmailRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+/**
+ * Queues outbound email in the outbox table. Must be called inside the caller's transaction so the
+ * email is committed (or rolled back) together with whatever triggered it; EmailOutboxDispatcher sends it.
+ */
+@Service
+public class EmailService {
+    @Autowired
+    private OutboundEmailRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public OutboundEmail queue(String recipient, String subject, String body) {
+        OutboundEmail email = new OutboundEmail();
+        email.setRecipient(recipient);
+        email.setSubject(subject);
+        email.setBody(body);
+        email.setStatus(OutboundEmail.Status.PENDING);
+        email.setNextAttemptAt(LocalDateTime.now());
+        return outboxRepository.save(email);
+    }
+}
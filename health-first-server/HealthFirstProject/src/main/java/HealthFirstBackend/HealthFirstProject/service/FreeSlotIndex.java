@@ -0,0 +1,547 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.Location;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Read index of open appointment slots for cross-provider search. Every slot is kept in start-time order in
+ * three partitions: by specialization, appointment type and location type; by specialization and zip; and by
+ * specialization and city. A query seeks to the window start in the partitions that can match (merging the
+ * type partitions when type or location is not fixed) and stops after {@code limit} matches, so filters never
+ * degrade into a scan of the whole specialization. Entries are compact (no entity references) and shared by
+ * the partitions to keep millions of slots in memory.
+ *
+ * <p>Built from the database once the application is ready, then maintained incrementally: slots created by
+ * ProviderAvailabilityService are added and booked slots removed when their transaction commits. Those updates
+ * only reach the node that made the change; other nodes keep showing the slot (booking it fails) or miss it until
+ * their next scheduled rebuild ({@code search.index.rebuild-cron}). A rebuild loads a fresh copy while searches
+ * keep reading the current one, so the index briefly holds both.
+ *
+ * <p>Provider attributes (specialization, city, zip) are copied into the index. When ProfileCache drops a
+ * provider, on this node or from another node's invalidation, the provider is re-read and its slots are re-filed
+ * under the new attributes, or removed when the provider is no longer active.
+ */
+@Component
+public class FreeSlotIndex {
+    private static final Logger log = LoggerFactory.getLogger(FreeSlotIndex.class);
+    private static final Comparator<Entry> ORDER = Comparator.comparingLong((Entry e) -> e.startMinute)
+        .thenComparingLong(e -> e.idMsb)
+        .thenComparingLong(e -> e.idLsb);
+
+    // Slots without a type or location are indexed under null
+    private static final List<ProviderAvailability.AppointmentType> APPOINTMENT_TYPES = withNull(ProviderAvailability.AppointmentType.values());
+    private static final List<Location.LocationType> LOCATION_TYPES = withNull(Location.LocationType.values());
+
+    private final AvailableSlotReader slotReader;
+    private final ProfileCache profileCache;
+    // Searches read live; a rebuild fills next and then swaps it in. Updates go to both while next is set.
+    private volatile Partitions live = new Partitions();
+    private volatile Partitions next;
+    // Slots removed while a rebuild is streaming rows, so the rebuild does not re-add them
+    private final Map<UUID, Removed> removedDuringBuild = new ConcurrentHashMap<>();
+    // Providers changed while a rebuild is streaming rows; re-read once it is swapped in
+    private final Set<UUID> changedDuringBuild = ConcurrentHashMap.newKeySet();
+    // A lock rather than synchronized: rebuilds stream rows over JDBC and must not pin a virtual thread's carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile boolean ready;
+
+    @Value("${search.index.load-on-startup:true}")
+    private boolean loadOnStartup;
+
+    @Autowired
+    public FreeSlotIndex(AvailableSlotReader slotReader, ProfileCache profileCache) {
+        this.slotReader = slotReader;
+        this.profileCache = profileCache;
+        if (profileCache != null) {
+            profileCache.onProviderInvalidated(this::refreshProvider);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!loadOnStartup) {
+            return;
+        }
+        Thread loader = new Thread(this::rebuild, "free-slot-index-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Reloads every active provider and every future AVAILABLE slot into a new copy and swaps it in. Searches use
+     * the current copy meanwhile, and incremental updates that arrive while the rebuild runs go to both.
+     */
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    /**
+     * Picks up bookings and new slots committed on other nodes, and anything an incremental update missed.
+     * Skipped while a rebuild is already running, and when the index is not loaded from the database.
+     */
+    @Scheduled(cron = "${search.index.rebuild-cron:0 */10 * * * *}")
+    public void scheduledRebuild() {
+        if (!loadOnStartup || !rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            load();
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        Partitions fresh = new Partitions();
+        removedDuringBuild.clear();
+        changedDuringBuild.clear();
+        next = fresh;
+        try {
+            slotReader.forEachActiveProvider(row -> fresh.providers.put(row.id(), new ProviderProfile(row.id(), row.name(),
+                row.specialization(), row.city(), row.state(), row.zip())));
+            long[] loaded = new long[1];
+            slotReader.forEachAvailableSlot(LocalDateTime.now(), row -> {
+                ProviderProfile profile = fresh.providers.get(row.providerId());
+                if (profile != null && !removedDuringBuild.containsKey(row.id())) {
+                    fresh.insert(profile, row.id(), row.start(), row.end(),
+                        parse(ProviderAvailability.AppointmentType.class, row.appointmentType()),
+                        parse(Location.LocationType.class, row.locationType()));
+                    loaded[0]++;
+                }
+            });
+            // Bookings that committed during the scan may have been read as AVAILABLE
+            removedDuringBuild.forEach((slotId, removed) -> fresh.removeEntry(removed.providerId(), slotId, removed.start()));
+            live = fresh;
+            ready = true;
+            log.info("Free slot index loaded {} slots for {} providers in {} ms",
+                loaded[0], fresh.providers.size(), (System.nanoTime() - started) / 1_000_000);
+        } finally {
+            next = null;
+            removedDuringBuild.clear();
+        }
+        // The provider rows may have been read before those changes committed
+        for (UUID providerId : changedDuringBuild) {
+            refreshProvider(providerId);
+        }
+        changedDuringBuild.clear();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long size() {
+        return live.byType.values().stream().mapToLong(Set::size).sum();
+    }
+
+    /**
+     * Open slots for the specialization starting in [from, to), earliest first. Null filters match anything;
+     * city matches case-insensitively, zip exactly.
+     */
+    public List<Match> search(Query query) {
+        Partitions partitions = live;
+        String specialization = normalize(query.specialization());
+        Entry from = probe(query.from());
+        Entry to = probe(query.to());
+        List<Match> matches = new ArrayList<>(Math.min(query.limit(), 64));
+        if (query.zip() != null || query.city() != null) {
+            // Area partitions hold a few providers' slots, filtering them is cheap
+            NavigableSet<Entry> entries = query.zip() != null
+                ? partitions.byZip.get(new AreaKey(specialization, query.zip()))
+                : partitions.byCity.get(new AreaKey(specialization, query.city().toLowerCase(Locale.ROOT)));
+            if (entries == null) {
+                return matches;
+            }
+            String city = query.city() != null ? query.city().toLowerCase(Locale.ROOT) : null;
+            for (Entry entry : entries.subSet(from, true, to, false)) {
+                if ((query.appointmentType() != null && entry.appointmentType != query.appointmentType())
+                    || (query.locationType() != null && entry.locationType != query.locationType())
+                    || (city != null && !city.equals(entry.provider.cityKey()))) {
+                    continue;
+                }
+                matches.add(entry.toMatch());
+                if (matches.size() >= query.limit()) {
+                    break;
+                }
+            }
+            return matches;
+        }
+
+        // Every entry of a type partition matches, so merge their heads in start order
+        PriorityQueue<Head> heads = new PriorityQueue<>();
+        for (ProviderAvailability.AppointmentType appointmentType : candidates(APPOINTMENT_TYPES, query.appointmentType())) {
+            for (Location.LocationType locationType : candidates(LOCATION_TYPES, query.locationType())) {
+                NavigableSet<Entry> entries = partitions.byType.get(new TypeKey(specialization, appointmentType, locationType));
+                if (entries != null) {
+                    Head head = new Head(entries.subSet(from, true, to, false).iterator());
+                    if (head.advance()) {
+                        heads.add(head);
+                    }
+                }
+            }
+        }
+        while (!heads.isEmpty() && matches.size() < query.limit()) {
+            Head head = heads.poll();
+            matches.add(head.current.toMatch());
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Adds the slots once the current transaction commits (immediately when there is none).
+     * Slots of providers that do not exist are ignored.
+     */
+    public void addAfterCommit(ProviderAvailability availability, List<AppointmentSlot> slots) {
+        if (slots.isEmpty()) {
+            return;
+        }
+        ProviderAvailability.AppointmentType appointmentType = availability.getAppointmentType();
+        Location.LocationType locationType = availability.getLocation() != null ? availability.getLocation().getType() : null;
+        List<Object[]> pending = new ArrayList<>(slots.size());
+        for (AppointmentSlot slot : slots) {
+            pending.add(new Object[] {slot.getId(), slot.getSlotStartTime(), slot.getSlotEndTime()});
+        }
+        UUID providerId = availability.getProviderId();
+        afterCommit(() -> {
+            ProviderProfile profile = profile(providerId);
+            if (profile == null) {
+                return;
+            }
+            for (Object[] slot : pending) {
+                insert(profile, (UUID) slot[0], (LocalDateTime) slot[1], (LocalDateTime) slot[2], appointmentType, locationType);
+            }
+        });
+    }
+
+    public void removeAfterCommit(AppointmentSlot slot) {
+        UUID providerId = slot.getProviderId();
+        UUID slotId = slot.getId();
+        LocalDateTime start = slot.getSlotStartTime();
+        afterCommit(() -> remove(providerId, slotId, start));
+    }
+
+    public void remove(UUID providerId, UUID slotId, LocalDateTime start) {
+        Partitions building = next;
+        if (building != null) {
+            removedDuringBuild.put(slotId, new Removed(providerId, start));
+            building.removeEntry(providerId, slotId, start);
+        }
+        live.removeEntry(providerId, slotId, start);
+    }
+
+    /**
+     * Re-reads a provider whose profile was invalidated and re-files its slots under the current specialization,
+     * city and zip, or drops them if the provider is gone or inactive. Providers without indexed slots are skipped;
+     * their profile is read when their first slot is added.
+     */
+    void refreshProvider(UUID providerId) {
+        if (next != null) {
+            changedDuringBuild.add(providerId);
+        }
+        List<Partitions> targets = targets();
+        if (targets.stream().noneMatch(partitions -> partitions.providers.containsKey(providerId))) {
+            return;
+        }
+        ProviderProfile updated = profileCache.provider(providerId)
+            .filter(ProviderSummary::active)
+            .map(FreeSlotIndex::toProfile)
+            .orElse(null);
+        for (Partitions partitions : targets) {
+            partitions.replaceProvider(providerId, updated);
+        }
+    }
+
+    /**
+     * Drops entries that started before the cutoff; search never returns them, this only frees memory.
+     */
+    @Scheduled(cron = "${search.index.evict-cron:0 15 * * * *}")
+    public void evictPast() {
+        Entry cutoff = probe(LocalDateTime.now().minusHours(1));
+        for (Partitions partitions : targets()) {
+            partitions.evictBefore(cutoff);
+        }
+    }
+
+    // Benchmarks and tests populate the index without a database
+    void putProvider(ProviderProfile profile) {
+        live.providers.put(profile.id(), profile);
+    }
+
+    void insert(ProviderProfile profile, UUID slotId, LocalDateTime start, LocalDateTime end,
+                ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType) {
+        for (Partitions partitions : targets()) {
+            // A copy that already knows the provider files the slot under its own (possibly newer) attributes
+            ProviderProfile own = partitions.providers.computeIfAbsent(profile.id(), id -> profile);
+            partitions.insert(own, slotId, start, end, appointmentType, locationType);
+        }
+    }
+
+    // Reads next before live: a rebuild swaps live in before it clears next, so no update misses the new copy
+    private List<Partitions> targets() {
+        Partitions building = next;
+        Partitions current = live;
+        return building == null || building == current ? List.of(current) : List.of(current, building);
+    }
+
+    private ProviderProfile profile(UUID providerId) {
+        ProviderProfile profile = live.providers.get(providerId);
+        if (profile != null) {
+            return profile;
+        }
+        ProviderSummary provider = profileCache.provider(providerId).orElse(null);
+        if (provider == null || !provider.active()) {
+            return null;
+        }
+        return toProfile(provider);
+    }
+
+    private static ProviderProfile toProfile(ProviderSummary provider) {
+        return new ProviderProfile(provider.id(), provider.fullName(), provider.specialization(),
+            provider.city(), provider.state(), provider.zip());
+    }
+
+    private static NavigableSet<Entry> newPartition() {
+        return new ConcurrentSkipListSet<>(ORDER);
+    }
+
+    private static <E> List<E> candidates(List<E> all, E filter) {
+        return filter != null ? List.of(filter) : all;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static <E> List<E> withNull(E[] values) {
+        List<E> list = new ArrayList<>(List.of(values));
+        list.add(null);
+        return Collections.unmodifiableList(list);
+    }
+
+    private static Entry probe(LocalDateTime time) {
+        return new Entry(time, new UUID(Long.MIN_VALUE, Long.MIN_VALUE), null, null, null);
+    }
+
+    private static String normalize(String specialization) {
+        return specialization == null ? "" : specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public record Query(String specialization, LocalDateTime from, LocalDateTime to,
+                        ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType,
+                        String city, String zip, int limit) {}
+
+    public record Match(UUID slotId, ProviderProfile provider, LocalDateTime start, LocalDateTime end,
+                        ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType) {}
+
+    public record ProviderProfile(UUID id, String name, String specialization, String city, String state, String zip) {
+        String specializationKey() {
+            return normalize(specialization);
+        }
+
+        String cityKey() {
+            return city != null ? city.toLowerCase(Locale.ROOT) : null;
+        }
+    }
+
+    private record Removed(UUID providerId, LocalDateTime start) {}
+
+    private static final class Partitions {
+        private final Map<UUID, ProviderProfile> providers = new ConcurrentHashMap<>();
+        private final Map<TypeKey, NavigableSet<Entry>> byType = new ConcurrentHashMap<>();
+        private final Map<AreaKey, NavigableSet<Entry>> byZip = new ConcurrentHashMap<>();
+        private final Map<AreaKey, NavigableSet<Entry>> byCity = new ConcurrentHashMap<>();
+
+        private void insert(ProviderProfile profile, UUID slotId, LocalDateTime start, LocalDateTime end,
+                            ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType) {
+            Entry entry = new Entry(start, slotId, profile, appointmentType, locationType, end);
+            String specialization = profile.specializationKey();
+            byType.computeIfAbsent(new TypeKey(specialization, appointmentType, locationType), key -> newPartition()).add(entry);
+            if (profile.zip() != null) {
+                byZip.computeIfAbsent(new AreaKey(specialization, profile.zip()), key -> newPartition()).add(entry);
+            }
+            if (profile.cityKey() != null) {
+                byCity.computeIfAbsent(new AreaKey(specialization, profile.cityKey()), key -> newPartition()).add(entry);
+            }
+        }
+
+        private void removeEntry(UUID providerId, UUID slotId, LocalDateTime start) {
+            ProviderProfile profile = providers.get(providerId);
+            if (profile != null) {
+                removeEntry(profile, slotId, start);
+            }
+        }
+
+        private void removeEntry(ProviderProfile profile, UUID slotId, LocalDateTime start) {
+            Entry entry = new Entry(start, slotId, profile, null, null);
+            String specialization = profile.specializationKey();
+            // The slot's type and location are not known here; entries compare by start and id only
+            for (ProviderAvailability.AppointmentType appointmentType : APPOINTMENT_TYPES) {
+                for (Location.LocationType locationType : LOCATION_TYPES) {
+                    remove(byType.get(new TypeKey(specialization, appointmentType, locationType)), entry);
+                }
+            }
+            if (profile.zip() != null) {
+                remove(byZip.get(new AreaKey(specialization, profile.zip())), entry);
+            }
+            if (profile.cityKey() != null) {
+                remove(byCity.get(new AreaKey(specialization, profile.cityKey())), entry);
+            }
+        }
+
+        // Profile changes are rare, so finding the provider's slots by scanning its specialization is acceptable
+        private void replaceProvider(UUID providerId, ProviderProfile updated) {
+            ProviderProfile old = providers.get(providerId);
+            if (old == null || old.equals(updated)) {
+                return;
+            }
+            if (updated != null) {
+                providers.put(providerId, updated);
+            } else {
+                providers.remove(providerId);
+            }
+            List<Entry> moved = new ArrayList<>();
+            byType.forEach((key, entries) -> {
+                if (key.specialization().equals(old.specializationKey())) {
+                    for (Entry entry : entries) {
+                        if (entry.provider.id().equals(providerId)) {
+                            moved.add(entry);
+                        }
+                    }
+                }
+            });
+            for (Entry entry : moved) {
+                Match match = entry.toMatch();
+                removeEntry(old, match.slotId(), match.start());
+                if (updated != null) {
+                    insert(updated, match.slotId(), match.start(), match.end(), entry.appointmentType, entry.locationType);
+                }
+            }
+        }
+
+        private void evictBefore(Entry cutoff) {
+            byType.values().forEach(entries -> entries.headSet(cutoff, false).clear());
+            byZip.values().forEach(entries -> entries.headSet(cutoff, false).clear());
+            byCity.values().forEach(entries -> entries.headSet(cutoff, false).clear());
+        }
+
+        private static void remove(NavigableSet<Entry> entries, Entry entry) {
+            if (entries != null) {
+                entries.remove(entry);
+            }
+        }
+    }
+
+    private record TypeKey(String specialization, ProviderAvailability.AppointmentType appointmentType,
+                           Location.LocationType locationType) {}
+
+    private record AreaKey(String specialization, String area) {}
+
+    private static final class Head implements Comparable<Head> {
+        private final Iterator<Entry> entries;
+        private Entry current;
+
+        private Head(Iterator<Entry> entries) {
+            this.entries = entries;
+        }
+
+        private boolean advance() {
+            current = entries.hasNext() ? entries.next() : null;
+            return current != null;
+        }
+
+        @Override
+        public int compareTo(Head other) {
+            return ORDER.compare(current, other.current);
+        }
+    }
+
+    private static final class Entry {
+        private final long startMinute;
+        private final int durationMinutes;
+        private final long idMsb;
+        private final long idLsb;
+        private final ProviderProfile provider;
+        private final ProviderAvailability.AppointmentType appointmentType;
+        private final Location.LocationType locationType;
+
+        private Entry(LocalDateTime start, UUID id, ProviderProfile provider,
+                      ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType) {
+            this(start, id, provider, appointmentType, locationType, start);
+        }
+
+        private Entry(LocalDateTime start, UUID id, ProviderProfile provider,
+                      ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType, LocalDateTime end) {
+            this.startMinute = start.toEpochSecond(ZoneOffset.UTC) / 60;
+            this.durationMinutes = (int) ((end.toEpochSecond(ZoneOffset.UTC) / 60) - startMinute);
+            this.idMsb = id.getMostSignificantBits();
+            this.idLsb = id.getLeastSignificantBits();
+            this.provider = provider;
+            this.appointmentType = appointmentType;
+            this.locationType = locationType;
+        }
+
+        private Match toMatch() {
+            LocalDateTime start = LocalDateTime.ofEpochSecond(startMinute * 60, 0, ZoneOffset.UTC);
+            return new Match(new UUID(idMsb, idLsb), provider, start, start.plusMinutes(durationMinutes),
+                appointmentType, locationType);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.FreeSlotSearchResponseDTO;
+import HealthFirstBackend.HealthFirstProject.model.Location;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@Service
+public class FreeSlotSearchService {
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100;
+    private static final int DEFAULT_WINDOW_DAYS = 7;
+    private static final int MAX_WINDOW_DAYS = 90;
+
+    @Autowired
+    private FreeSlotIndex freeSlotIndex;
+
+    /**
+     * Earliest open slots across all providers of a specialization. Throws IllegalStateException while the
+     * index is still loading.
+     */
+    public FreeSlotSearchResponseDTO search(String specialization, LocalDateTime from, LocalDateTime to,
+                                            String appointmentType, String locationType, String city, String zip, Integer limit) {
+        if (specialization == null || specialization.isBlank()) {
+            throw new IllegalArgumentException("Specialization is required");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from == null || from.isBefore(now) ? now : from;
+        LocalDateTime end = to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+        if (end.isAfter(start.plusDays(MAX_WINDOW_DAYS))) {
+            throw new IllegalArgumentException("Search window cannot exceed " + MAX_WINDOW_DAYS + " days");
+        }
+        if (!freeSlotIndex.isReady()) {
+            throw new IllegalStateException("Slot search is warming up, please retry shortly");
+        }
+
+        FreeSlotIndex.Query query = new FreeSlotIndex.Query(specialization.trim(), start, end,
+            parse(ProviderAvailability.AppointmentType.class, "appointment type", appointmentType),
+            parse(Location.LocationType.class, "location type", locationType),
+            blankToNull(city), blankToNull(zip),
+            limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        List<FreeSlotSearchResponseDTO.Data.Slot> slots = new ArrayList<>();
+        for (FreeSlotIndex.Match match : freeSlotIndex.search(query)) {
+            FreeSlotSearchResponseDTO.Data.Slot slot = new FreeSlotSearchResponseDTO.Data.Slot();
+            slot.setSlot_id(match.slotId().toString());
+            slot.setProvider_id(match.provider().id().toString());
+            slot.setProvider_name(match.provider().name());
+            slot.setSpecialization(match.provider().specialization());
+            slot.setSlot_start_time(match.start());
+            slot.setSlot_end_time(match.end());
+            slot.setAppointment_type(match.appointmentType() != null ? match.appointmentType().name() : null);
+            slot.setLocation_type(match.locationType() != null ? match.locationType().name() : null);
+            slot.setCity(match.provider().city());
+            slot.setState(match.provider().state());
+            slot.setZip(match.provider().zip());
+            slots.add(slot);
+        }
+
+        FreeSlotSearchResponseDTO.Data data = new FreeSlotSearchResponseDTO.Data();
+        data.setSpecialization(query.specialization());
+        data.setFrom(start);
+        data.setTo(end);
+        data.setSlots(slots);
+        data.setCount(slots.size());
+
+        FreeSlotSearchResponseDTO response = new FreeSlotSearchResponseDTO();
+        response.setSuccess(true);
+        response.setMessage(slots.isEmpty() ? "No available slots found" : "Available slots retrieved successfully");
+        response.setData(data);
+        return response;
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String label, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid " + label + ": " + value);
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
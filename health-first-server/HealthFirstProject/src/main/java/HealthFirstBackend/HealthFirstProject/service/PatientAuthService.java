@@ -4,9 +4,10 @@ import HealthFirstBackend.HealthFirstProject.dto.PatientLoginRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.PatientLoginResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.Patient;
 import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 
@@ -17,7 +18,7 @@ public class PatientAuthService {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     public PatientLoginResponseDTO login(PatientLoginRequestDTO dto) {
         Optional<Patient> patientOpt = Optional.empty();
@@ -30,9 +31,12 @@ public class PatientAuthService {
         if (!patient.isActive() || !patient.isEmailVerified()) {
             throw new IllegalArgumentException("Patient account is not verified or is inactive");
         }
-        if (!passwordEncoder.matches(dto.getPassword(), patient.getPasswordHash())) {
+        if (!passwordHasher.matches(dto.getPassword(), patient.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid email/phone or password");
         }
+        if (passwordHasher.needsRehash(patient.getPasswordHash())) {
+            rehash(patient, dto.getPassword());
+        }
         String token = jwtUtil.generateToken(patient.getId().toString(), patient.getEmail(), "PATIENT");
         PatientLoginResponseDTO response = new PatientLoginResponseDTO();
         response.setSuccess(true);
@@ -53,4 +57,14 @@ public class PatientAuthService {
         response.setData(data);
         return response;
     }
+
+    // Best effort: if the hashing pool is busy the old hash stays valid and is upgraded on a later login
+    private void rehash(Patient patient, String rawPassword) {
+        try {
+            patient.setPasswordHash(passwordHasher.encode(rawPassword));
+            patientRepository.save(patient);
+        } catch (HashingCapacityExceededException e) {
+            // keep the existing hash
+        }
+    }
 } 
\ No newline at end of file
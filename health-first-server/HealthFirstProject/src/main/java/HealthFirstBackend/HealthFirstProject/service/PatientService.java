@@ -4,8 +4,8 @@ import HealthFirstBackend.HealthFirstProject.dto.PatientRegistrationRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.PatientRegistrationResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.*;
 import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -20,7 +20,9 @@ public class PatientService {
     @Autowired
     private PatientRepository patientRepository;
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private ProfileCache profileCache;
 
     @Transactional
     public PatientRegistrationResponseDTO registerPatient(@Valid PatientRegistrationRequestDTO dto) {
@@ -57,7 +59,7 @@ public class PatientService {
         patient.setLastName(dto.getLast_name());
         patient.setEmail(dto.getEmail());
         patient.setPhoneNumber(dto.getPhone_number());
-        patient.setPasswordHash(passwordEncoder.encode(password));
+        patient.setPasswordHash(passwordHasher.encode(password));
         patient.setDateOfBirth(dob);
         patient.setGender(gender);
         // Address
@@ -88,6 +90,7 @@ public class PatientService {
         patient.setPhoneVerified(false);
         patient.setActive(true);
         patientRepository.save(patient);
+        profileCache.invalidatePatient(patient.getId());
         // Prepare response
         PatientRegistrationResponseDTO response = new PatientRegistrationResponseDTO();
         response.setSuccess(true);
@@ -5,9 +5,8 @@ import HealthFirstBackend.HealthFirstProject.model.PatientVerificationToken;
 import HealthFirstBackend.HealthFirstProject.repository.PatientVerificationTokenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -16,12 +15,13 @@ public class PatientVerificationService {
     @Autowired
     private PatientVerificationTokenRepository tokenRepository;
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailService emailService;
     @Value("${server.port:8080}")
     private int serverPort;
     @Value("${server.host:localhost}")
     private String serverHost;
 
+    @Transactional
     public void sendEmailVerification(Patient patient) {
         String token = UUID.randomUUID().toString();
         PatientVerificationToken verificationToken = new PatientVerificationToken();
@@ -31,11 +31,8 @@ public class PatientVerificationService {
         verificationToken.setExpiryDate(LocalDateTime.now().plusDays(1));
         tokenRepository.save(verificationToken);
         String verificationUrl = String.format("http://%s:%d/api/v1/patient/verify-email?token=%s", serverHost, serverPort, token);
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(patient.getEmail());
-        message.setSubject("Verify your Patient Account");
-        message.setText("Please verify your email by clicking the following link: " + verificationUrl);
-        mailSender.send(message);
+        emailService.queue(patient.getEmail(), "Verify your Patient Account",
+                "Please verify your email by clicking the following link: " + verificationUrl);
     }
 
     public void sendPhoneVerification(Patient patient) {
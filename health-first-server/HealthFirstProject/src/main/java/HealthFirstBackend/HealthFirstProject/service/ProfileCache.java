@@ -0,0 +1,253 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProfileInvalidation;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientSummary;
+import HealthFirstBackend.HealthFirstProject.repository.ProfileInvalidationRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of provider and patient summaries for bookings, appointment listings and slot search.
+ * Entries are bounded by {@code profile.cache.max-size} and expire {@code profile.cache.ttl-minutes} after
+ * loading. Missing ids are not cached.
+ *
+ * <p>Every write that creates a profile or changes a summary field (names, specialization, active, clinic address)
+ * calls invalidateProvider/invalidatePatient inside its transaction. In {@code local} mode the entry is dropped
+ * after commit on this node only. In {@code distributed} mode the invalidation is also written to
+ * profile_invalidations in the same transaction; every node polls that table and drops the entries, so a change
+ * is visible cluster-wide within one poll interval.
+ *
+ * <p>Polls read by created_at, not by id: auto-increment ids can commit out of order, so a "greater than the last
+ * id" cursor skips rows for good. Each poll re-reads from {@code poll-overlap-ms} before the newest created_at seen
+ * so far, which must cover the longest writing transaction plus clock skew between nodes. Rows already applied in
+ * that window are remembered and not counted twice. The first window starts before this node created the cache,
+ * so nothing committed between startup and the first poll is missed.
+ */
+@Component
+public class ProfileCache {
+    private static final Logger log = LoggerFactory.getLogger(ProfileCache.class);
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final ProfileInvalidationRepository invalidationRepository;
+    private final boolean distributed;
+    private final LoadingCache<UUID, ProviderSummary> providers;
+    private final LoadingCache<UUID, PatientSummary> patients;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong received = new AtomicLong();
+    private final List<Consumer<UUID>> providerListeners = new CopyOnWriteArrayList<>();
+    // Poll state; only the scheduler thread touches it
+    private final Map<Long, LocalDateTime> appliedInWindow = new HashMap<>();
+    private LocalDateTime newestSeen = LocalDateTime.now();
+
+    @Value("${profile.cache.retention-minutes:60}")
+    private long retentionMinutes;
+    @Value("${profile.cache.poll-overlap-ms:60000}")
+    private long pollOverlapMs = 60000;
+
+    @Autowired
+    public ProfileCache(ProviderRepository providerRepository, PatientRepository patientRepository,
+                        ProfileInvalidationRepository invalidationRepository,
+                        @Value("${profile.cache.mode:local}") String mode,
+                        @Value("${profile.cache.max-size:10000}") long maxSize,
+                        @Value("${profile.cache.ttl-minutes:10}") long ttlMinutes) {
+        this(providerRepository, patientRepository, invalidationRepository, mode, maxSize, ttlMinutes, Ticker.systemTicker());
+    }
+
+    ProfileCache(ProviderRepository providerRepository, PatientRepository patientRepository,
+                 ProfileInvalidationRepository invalidationRepository, String mode, long maxSize, long ttlMinutes, Ticker ticker) {
+        this.invalidationRepository = invalidationRepository;
+        if (!"local".equalsIgnoreCase(mode) && !"distributed".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("profile.cache.mode must be 'local' or 'distributed', was: " + mode);
+        }
+        this.distributed = "distributed".equalsIgnoreCase(mode);
+        this.providers = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .ticker(ticker)
+            .recordStats()
+            .build(new BulkLoader<>(providerRepository::findSummariesByIdIn, ProviderSummary::id));
+        this.patients = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .ticker(ticker)
+            .recordStats()
+            .build(new BulkLoader<>(patientRepository::findSummariesByIdIn, PatientSummary::id));
+    }
+
+    // Single lookups go through the bulk path: Caffeine runs bulk loads outside its map locks, so the query never
+    // runs while holding a monitor (which would pin a virtual thread's carrier)
+    public Optional<ProviderSummary> provider(UUID id) {
+        return Optional.ofNullable(providers.getAll(List.of(id)).get(id));
+    }
+
+    public Optional<PatientSummary> patient(UUID id) {
+        return Optional.ofNullable(patients.getAll(List.of(id)).get(id));
+    }
+
+    /**
+     * Summaries for the ids that exist; ids not cached yet are loaded with a single query.
+     */
+    public Map<UUID, ProviderSummary> providers(Collection<UUID> ids) {
+        return providers.getAll(ids);
+    }
+
+    public Map<UUID, PatientSummary> patients(Collection<UUID> ids) {
+        return patients.getAll(ids);
+    }
+
+    public void invalidateProvider(UUID id) {
+        invalidate(ProfileInvalidation.Kind.PROVIDER, id);
+    }
+
+    public void invalidatePatient(UUID id) {
+        invalidate(ProfileInvalidation.Kind.PATIENT, id);
+    }
+
+    /**
+     * Calls the listener with the provider id each time a provider entry is dropped: after a local commit, or when
+     * poll() reads another node's invalidation. Listeners run on that thread, after the entry is gone.
+     */
+    public void onProviderInvalidated(Consumer<UUID> listener) {
+        providerListeners.add(listener);
+    }
+
+    private void invalidate(ProfileInvalidation.Kind kind, UUID id) {
+        if (distributed) {
+            invalidationRepository.save(new ProfileInvalidation(kind, id));
+            published.incrementAndGet();
+        }
+        // Dropping the entry before commit would let a concurrent read cache the old row again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(kind, id);
+                }
+            });
+        } else {
+            evict(kind, id);
+        }
+    }
+
+    /**
+     * Applies invalidations written by any node since the last poll. Only runs in distributed mode.
+     */
+    @Scheduled(fixedDelayString = "${profile.cache.poll-interval-ms:1000}")
+    public void poll() {
+        if (!distributed) {
+            return;
+        }
+        try {
+            LocalDateTime since = newestSeen.minus(Duration.ofMillis(pollOverlapMs));
+            appliedInWindow.values().removeIf(createdAt -> createdAt.isBefore(since));
+            List<ProfileInvalidation> batch;
+            int page = 0;
+            do {
+                batch = invalidationRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(
+                    since, PageRequest.of(page++, POLL_BATCH_SIZE));
+                for (ProfileInvalidation invalidation : batch) {
+                    // Eviction is idempotent; the map only keeps re-read rows out of the received count
+                    if (appliedInWindow.putIfAbsent(invalidation.getId(), invalidation.getCreatedAt()) == null) {
+                        evict(invalidation.getKind(), invalidation.getEntityId());
+                        received.incrementAndGet();
+                    }
+                    if (invalidation.getCreatedAt().isAfter(newestSeen)) {
+                        newestSeen = invalidation.getCreatedAt();
+                    }
+                }
+            } while (batch.size() == POLL_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            // A node that cannot poll cannot trust its entries
+            log.warn("Could not read profile invalidations, clearing the profile cache", e);
+            invalidateAll();
+        }
+    }
+
+    @Scheduled(cron = "${profile.cache.purge-cron:0 */10 * * * *}")
+    public void purgeInvalidations() {
+        if (distributed) {
+            invalidationRepository.deleteCreatedBefore(LocalDateTime.now().minusMinutes(retentionMinutes));
+        }
+    }
+
+    public void invalidateAll() {
+        providers.invalidateAll();
+        patients.invalidateAll();
+    }
+
+    public Stats stats() {
+        return new Stats(providers.stats(), patients.stats(), providers.estimatedSize(), patients.estimatedSize(),
+            published.get(), received.get());
+    }
+
+    public record Stats(CacheStats providers, CacheStats patients, long providerEntries, long patientEntries,
+                        long invalidationsPublished, long invalidationsReceived) {}
+
+    private void evict(ProfileInvalidation.Kind kind, UUID id) {
+        if (kind == ProfileInvalidation.Kind.PROVIDER) {
+            providers.invalidate(id);
+            for (Consumer<UUID> listener : providerListeners) {
+                try {
+                    listener.accept(id);
+                } catch (RuntimeException e) {
+                    log.warn("Provider invalidation listener failed for {}", id, e);
+                }
+            }
+        } else {
+            patients.invalidate(id);
+        }
+    }
+
+    private static final class BulkLoader<V> implements CacheLoader<UUID, V> {
+        private final Function<Collection<UUID>, List<V>> query;
+        private final Function<V, UUID> idOf;
+
+        private BulkLoader(Function<Collection<UUID>, List<V>> query, Function<V, UUID> idOf) {
+            this.query = query;
+            this.idOf = idOf;
+        }
+
+        @Override
+        public V load(UUID id) {
+            List<V> rows = query.apply(List.of(id));
+            return rows.isEmpty() ? null : rows.get(0);
+        }
+
+        @Override
+        public Map<UUID, V> loadAll(Set<? extends UUID> ids) {
+            Map<UUID, V> loaded = new HashMap<>();
+            for (V row : query.apply(List.copyOf(ids))) {
+                loaded.put(idOf.apply(row), row);
+            }
+            return loaded;
+        }
+    }
+}
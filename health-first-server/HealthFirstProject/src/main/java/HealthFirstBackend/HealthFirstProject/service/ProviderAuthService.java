@@ -4,9 +4,10 @@ import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.Provider;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -16,7 +17,7 @@ public class ProviderAuthService {
     @Autowired
     private JwtUtil jwtUtil;
     @Autowired
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     public ProviderLoginResponseDTO login(ProviderLoginRequestDTO dto) {
         Provider provider = providerRepository.findByEmail(dto.getEmail())
@@ -24,10 +25,13 @@ public class ProviderAuthService {
         if (!provider.isActive() || provider.getVerificationStatus() != Provider.VerificationStatus.VERIFIED) {
             throw new IllegalArgumentException("Provider account is not verified or is inactive");
         }
-        if (!passwordEncoder.matches(dto.getPassword(), provider.getPasswordHash())) {
+        if (!passwordHasher.matches(dto.getPassword(), provider.getPasswordHash())) {
             throw new IllegalArgumentException("Invalid email or password");
         }
-        String token = jwtUtil.generateToken(provider.getId().toString(), provider.getEmail(),"PATIENT");
+        if (passwordHasher.needsRehash(provider.getPasswordHash())) {
+            rehash(provider, dto.getPassword());
+        }
+        String token = jwtUtil.generateToken(provider.getId().toString(), provider.getEmail(), provider.getRole().name());
         ProviderLoginResponseDTO response = new ProviderLoginResponseDTO();
         response.setToken(token);
         response.setProviderId(provider.getId().toString());
@@ -35,4 +39,14 @@ public class ProviderAuthService {
         response.setVerificationStatus(provider.getVerificationStatus().name().toLowerCase());
         return response;
     }
+
+    // Best effort: if the hashing pool is busy the old hash stays valid and is upgraded on a later login
+    private void rehash(Provider provider, String rawPassword) {
+        try {
+            provider.setPasswordHash(passwordHasher.encode(rawPassword));
+            providerRepository.save(provider);
+        } catch (HashingCapacityExceededException e) {
+            // keep the existing hash
+        }
+    }
 } 
\ No newline at end of file
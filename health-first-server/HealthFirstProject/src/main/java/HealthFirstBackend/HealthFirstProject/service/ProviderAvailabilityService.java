@@ -1,40 +1,235 @@
 package HealthFirstBackend.HealthFirstProject.service;
 
+import HealthFirstBackend.HealthFirstProject.dto.BulkAvailabilityResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityResponseDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityListResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.*;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
-import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 @Service
 @Validated
+@Timed("healthfirst.service")
 public class ProviderAvailabilityService {
+    private static final Logger log = LoggerFactory.getLogger(ProviderAvailabilityService.class);
+    private static final int SLOT_BATCH_SIZE = 500;
+    private static final int MAX_RECURRENCE_DAYS = 366;
+
     @Autowired
     private ProviderAvailabilityRepository availabilityRepository;
     @Autowired
-    private AppointmentSlotRepository slotRepository;
+    private ProviderRepository providerRepository;
+    @Autowired
+    private AppointmentSlotBatchWriter slotBatchWriter;
+    @Autowired
+    private ProviderScheduleIndex scheduleIndex;
+    @Autowired
+    private FreeSlotIndex freeSlotIndex;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private Validator validator;
+
+    @Value("${availability.bulk.chunk-size:250}")
+    private int bulkChunkSize;
+    @Value("${availability.bulk.max-items:10000}")
+    private int bulkMaxItems;
 
     @Transactional
     public ProviderAvailabilityResponseDTO createAvailability(UUID providerId, @Valid ProviderAvailabilityRequestDTO dto) {
+        validateWindow(dto);
+        ProviderAvailability availability = toAvailability(providerId, dto);
+
+        // Serialize this provider's writers across instances, then check every occurrence for conflicts and
+        // reserve the windows until the transaction completes
+        providerRepository.lockById(providerId);
+        scheduleIndex.reserve(providerId, RecurrenceExpander.dates(availability).collect(Collectors.toList()),
+            dto.getStart_time(), dto.getEnd_time());
+
+        availabilityRepository.save(availability);
+
+        // Generate appointment slots for every occurrence of the availability
+        SlotWriter slotWriter = new SlotWriter();
+        int slotsCreated = generateAppointmentSlots(availability, slotWriter);
+        slotWriter.flush();
+
+        // Prepare response
+        ProviderAvailabilityResponseDTO response = new ProviderAvailabilityResponseDTO();
+        response.setSuccess(true);
+        response.setMessage("Availability slots created successfully");
+        ProviderAvailabilityResponseDTO.Data data = new ProviderAvailabilityResponseDTO.Data();
+        data.setAvailability_id(availability.getId().toString());
+        data.setSlots_created(slotsCreated);
+        ProviderAvailabilityResponseDTO.Data.DateRange dateRange = new ProviderAvailabilityResponseDTO.Data.DateRange();
+        dateRange.setStart(dto.getDate().toString());
+        dateRange.setEnd(dto.getRecurrence_end_date() != null ? dto.getRecurrence_end_date().toString() : dto.getDate().toString());
+        data.setDate_range(dateRange);
+        data.setTotal_appointments_available(slotsCreated);
+        response.setData(data);
+
+        return response;
+    }
+
+    /**
+     * Creates many availability windows for one provider and reports the outcome of each. Items are validated
+     * up front, then written in transactions of {@code availability.bulk.chunk-size} items. Each conflict check
+     * runs against the provider's schedule including the items accepted before it, so windows that overlap
+     * each other are caught too. Invalid or conflicting items are skipped; if a chunk fails to commit, every
+     * item written in it is reported as FAILED and the remaining chunks still run.
+     */
+    public BulkAvailabilityResponseDTO createAvailabilities(UUID providerId, List<ProviderAvailabilityRequestDTO> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one availability is required");
+        }
+        if (requests.size() > bulkMaxItems) {
+            throw new IllegalArgumentException("Cannot create more than " + bulkMaxItems + " availabilities per request");
+        }
+
+        List<BulkAvailabilityResponseDTO.Data.Result> results = new ArrayList<>(requests.size());
+        List<ProviderAvailability> availabilities = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            BulkAvailabilityResponseDTO.Data.Result result = new BulkAvailabilityResponseDTO.Data.Result();
+            result.setIndex(i);
+            results.add(result);
+            ProviderAvailability availability = null;
+            try {
+                ProviderAvailabilityRequestDTO dto = requests.get(i);
+                validateItem(dto);
+                availability = toAvailability(providerId, dto);
+            } catch (IllegalArgumentException e) {
+                result.setStatus("INVALID");
+                result.setMessage(e.getMessage());
+            }
+            availabilities.add(availability);
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < requests.size(); from += bulkChunkSize) {
+            int to = Math.min(from + bulkChunkSize, requests.size());
+            List<BulkAvailabilityResponseDTO.Data.Result> chunk = results.subList(from, to);
+            List<ProviderAvailability> chunkAvailabilities = availabilities.subList(from, to);
+            try {
+                transactionTemplate.executeWithoutResult(status -> writeChunk(providerId, chunkAvailabilities, chunk));
+            } catch (RuntimeException e) {
+                log.warn("Bulk availability chunk {}-{} for provider {} failed to commit", from, to - 1, providerId, e);
+                for (BulkAvailabilityResponseDTO.Data.Result result : chunk) {
+                    if ("CREATED".equals(result.getStatus())) {
+                        result.setStatus("FAILED");
+                        result.setAvailability_id(null);
+                        result.setSlots_created(0);
+                        result.setMessage("Could not save availability, please retry");
+                    }
+                }
+            }
+        }
+
+        int created = 0;
+        int slotsCreated = 0;
+        for (BulkAvailabilityResponseDTO.Data.Result result : results) {
+            if ("CREATED".equals(result.getStatus())) {
+                created++;
+                slotsCreated += result.getSlots_created();
+            }
+        }
+        BulkAvailabilityResponseDTO.Data data = new BulkAvailabilityResponseDTO.Data();
+        data.setProvider_id(providerId.toString());
+        data.setTotal(results.size());
+        data.setCreated(created);
+        data.setFailed(results.size() - created);
+        data.setSlots_created(slotsCreated);
+        data.setResults(results);
+
+        BulkAvailabilityResponseDTO response = new BulkAvailabilityResponseDTO();
+        response.setSuccess(created == results.size());
+        response.setMessage(created + " of " + results.size() + " availabilities created");
+        response.setData(data);
+        return response;
+    }
+
+    // Items left null by validation are skipped; their result already says why
+    private void writeChunk(UUID providerId, List<ProviderAvailability> availabilities,
+                            List<BulkAvailabilityResponseDTO.Data.Result> results) {
+        providerRepository.lockById(providerId);
+        SlotWriter slotWriter = new SlotWriter();
+        for (int i = 0; i < availabilities.size(); i++) {
+            ProviderAvailability availability = availabilities.get(i);
+            if (availability == null) {
+                continue;
+            }
+            BulkAvailabilityResponseDTO.Data.Result result = results.get(i);
+            try {
+                scheduleIndex.reserve(providerId, RecurrenceExpander.dates(availability).collect(Collectors.toList()),
+                    availability.getStartTime(), availability.getEndTime());
+            } catch (IllegalArgumentException e) {
+                result.setStatus("CONFLICT");
+                result.setMessage(e.getMessage());
+                continue;
+            }
+            availabilityRepository.save(availability);
+            result.setStatus("CREATED");
+            result.setAvailability_id(availability.getId().toString());
+            result.setSlots_created(generateAppointmentSlots(availability, slotWriter));
+        }
+        slotWriter.flush();
+    }
+
+    private void validateItem(ProviderAvailabilityRequestDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Availability must not be null");
+        }
+        Set<ConstraintViolation<ProviderAvailabilityRequestDTO>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new IllegalArgumentException(violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", ")));
+        }
+        validateWindow(dto);
+    }
+
+    private void validateWindow(ProviderAvailabilityRequestDTO dto) {
         // Validate time range
         if (dto.getEnd_time().isBefore(dto.getStart_time()) || dto.getEnd_time().equals(dto.getStart_time())) {
             throw new IllegalArgumentException("End time must be after start time");
         }
 
-        // Check for conflicts
-        checkForConflicts(providerId, dto.getDate(), dto.getStart_time(), dto.getEnd_time());
+        if (dto.isIs_recurring() && dto.getRecurrence_end_date() != null) {
+            if (dto.getRecurrence_end_date().isBefore(dto.getDate())) {
+                throw new IllegalArgumentException("Recurrence end date must not be before the start date");
+            }
+            if (dto.getRecurrence_end_date().isAfter(dto.getDate().plusDays(MAX_RECURRENCE_DAYS))) {
+                throw new IllegalArgumentException("Recurrence cannot extend more than " + MAX_RECURRENCE_DAYS + " days");
+            }
+        }
+    }
 
+    private ProviderAvailability toAvailability(UUID providerId, ProviderAvailabilityRequestDTO dto) {
         // Create availability
         ProviderAvailability availability = new ProviderAvailability();
         availability.setProviderId(providerId);
@@ -69,30 +264,10 @@ public class ProviderAvailabilityService {
             pricing.setCurrency(dto.getPricing().getCurrency());
             availability.setPricing(pricing);
         }
-
-        availabilityRepository.save(availability);
-
-        // Generate appointment slots
-        List<AppointmentSlot> slots = generateAppointmentSlots(availability);
-        slotRepository.saveAll(slots);
-
-        // Prepare response
-        ProviderAvailabilityResponseDTO response = new ProviderAvailabilityResponseDTO();
-        response.setSuccess(true);
-        response.setMessage("Availability slots created successfully");
-        ProviderAvailabilityResponseDTO.Data data = new ProviderAvailabilityResponseDTO.Data();
-        data.setAvailability_id(availability.getId().toString());
-        data.setSlots_created(slots.size());
-        ProviderAvailabilityResponseDTO.Data.DateRange dateRange = new ProviderAvailabilityResponseDTO.Data.DateRange();
-        dateRange.setStart(dto.getDate().toString());
-        dateRange.setEnd(dto.getRecurrence_end_date() != null ? dto.getRecurrence_end_date().toString() : dto.getDate().toString());
-        data.setDate_range(dateRange);
-        data.setTotal_appointments_available(slots.size());
-        response.setData(data);
-
-        return response;
+        return availability;
     }
 
+    @Transactional(readOnly = true)
     public ProviderAvailabilityListResponseDTO getAvailabilitySlots(UUID providerId) {
         List<ProviderAvailability> availabilities = availabilityRepository.findByProviderId(providerId);
         
@@ -126,7 +301,9 @@ public class ProviderAvailabilityService {
             slot.setCurrent_appointments(availability.getCurrentAppointments());
             slot.setAvailable_appointments(availability.getMaxAppointmentsPerSlot() - availability.getCurrentAppointments());
             slot.setNotes(availability.getNotes());
-            slot.setSpecial_requirements(availability.getSpecialRequirements());
+            // Copied while the session is open so the lazy collection is read here (from its cache region when warm)
+            slot.setSpecial_requirements(availability.getSpecialRequirements() == null
+                ? null : new ArrayList<>(availability.getSpecialRequirements()));
 
             // Map location
             if (availability.getLocation() != null) {
@@ -178,38 +355,79 @@ public class ProviderAvailabilityService {
         return response;
     }
 
-    private void checkForConflicts(UUID providerId, LocalDate date, LocalTime startTime, LocalTime endTime) {
-        List<ProviderAvailability> existing = availabilityRepository.findByProviderIdAndDate(providerId, date);
-        for (ProviderAvailability existingAvailability : existing) {
-            if ((startTime.isBefore(existingAvailability.getEndTime()) && endTime.isAfter(existingAvailability.getStartTime()))) {
-                throw new IllegalArgumentException("Time slot conflicts with existing availability");
-            }
-        }
+    /**
+     * Expands the availability over its recurrence and hands the slots to the writer, which stores them in
+     * fixed-size JDBC batches so memory use stays flat however many occurrences the rule produces.
+     */
+    private int generateAppointmentSlots(ProviderAvailability availability, SlotWriter slotWriter) {
+        return forEachSlot(availability, slot -> slotWriter.add(availability, slot));
     }
 
-    private List<AppointmentSlot> generateAppointmentSlots(ProviderAvailability availability) {
-        List<AppointmentSlot> slots = new ArrayList<>();
-        LocalTime currentTime = availability.getStartTime();
-        
-        while (currentTime.isBefore(availability.getEndTime())) {
-            LocalTime slotEndTime = currentTime.plusMinutes(availability.getSlotDuration());
-            if (slotEndTime.isAfter(availability.getEndTime())) {
-                break;
+    // Slot expansion without the writer; also driven directly by the benchmark module
+    static int forEachSlot(ProviderAvailability availability, Consumer<AppointmentSlot> sink) {
+        int created = 0;
+        Iterator<LocalDate> dates = RecurrenceExpander.dates(availability).iterator();
+        while (dates.hasNext()) {
+            LocalDate date = dates.next();
+            LocalTime currentTime = availability.getStartTime();
+            
+            while (currentTime.isBefore(availability.getEndTime())) {
+                LocalTime slotEndTime = currentTime.plusMinutes(availability.getSlotDuration());
+                // Stop at the window end; the second check catches slots that would wrap past midnight
+                if (slotEndTime.isAfter(availability.getEndTime()) || slotEndTime.isBefore(currentTime)) {
+                    break;
+                }
+
+                AppointmentSlot slot = new AppointmentSlot();
+                slot.setAvailabilityId(availability.getId());
+                slot.setProviderId(availability.getProviderId());
+                slot.setSlotStartTime(LocalDateTime.of(date, currentTime));
+                slot.setSlotEndTime(LocalDateTime.of(date, slotEndTime));
+                slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+                slot.setAppointmentType(availability.getAppointmentType().name());
+                sink.accept(slot);
+                created++;
+
+                // Add break duration
+                LocalTime next = slotEndTime.plusMinutes(availability.getBreakDuration());
+                if (next.isBefore(slotEndTime)) {
+                    break;
+                }
+                currentTime = next;
             }
+        }
+        return created;
+    }
 
-            AppointmentSlot slot = new AppointmentSlot();
-            slot.setAvailabilityId(availability.getId());
-            slot.setProviderId(availability.getProviderId());
-            slot.setSlotStartTime(LocalDateTime.of(availability.getDate(), currentTime));
-            slot.setSlotEndTime(LocalDateTime.of(availability.getDate(), slotEndTime));
-            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
-            slot.setAppointmentType(availability.getAppointmentType().name());
-            slots.add(slot);
+    /**
+     * Buffers slots from one or more availabilities and writes them SLOT_BATCH_SIZE at a time, so bulk
+     * requests of many short windows share batches instead of issuing one per window.
+     */
+    private final class SlotWriter {
+        private final List<AppointmentSlot> pending = new ArrayList<>(SLOT_BATCH_SIZE);
+        private final Map<UUID, ProviderAvailability> availabilities = new HashMap<>();
 
-            // Add break duration
-            currentTime = slotEndTime.plusMinutes(availability.getBreakDuration());
+        void add(ProviderAvailability availability, AppointmentSlot slot) {
+            availabilities.putIfAbsent(availability.getId(), availability);
+            pending.add(slot);
+            if (pending.size() == SLOT_BATCH_SIZE) {
+                flush();
+            }
         }
 
-        return slots;
+        void flush() {
+            slotBatchWriter.insert(pending);
+            // Slots arrive grouped by availability; index each run with its availability's type and location
+            int runStart = 0;
+            for (int i = 1; i <= pending.size(); i++) {
+                UUID availabilityId = pending.get(runStart).getAvailabilityId();
+                if (i == pending.size() || !pending.get(i).getAvailabilityId().equals(availabilityId)) {
+                    freeSlotIndex.addAfterCommit(availabilities.get(availabilityId), pending.subList(runStart, i));
+                    runStart = i;
+                }
+            }
+            pending.clear();
+            availabilities.clear();
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,198 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * In-memory index of each provider's availability windows, one entry per occurrence, used as a fast
+ * pre-filter for conflict checks. A provider's schedule is loaded from the database with a single query on
+ * first use and then kept in step with writes through reserve(): new windows are added as soon as they pass
+ * the check and removed again if the surrounding transaction rolls back. Schedules expire after
+ * {@code availability.index.ttl-minutes}.
+ * <p>
+ * The cache alone can miss windows written by other instances, or by a transaction that committed while a
+ * schedule was being loaded, so reserve() also re-checks the new windows' date span against the database
+ * inside the caller's transaction. Callers hold the provider's row lock (ProviderRepository.lockById) so two
+ * writers for one provider cannot both pass that check.
+ */
+@Component
+public class ProviderScheduleIndex {
+    private final ProviderAvailabilityRepository availabilityRepository;
+    private final Cache<UUID, Schedule> schedules;
+
+    @Autowired
+    public ProviderScheduleIndex(ProviderAvailabilityRepository availabilityRepository,
+                                 @Value("${availability.index.max-providers:1000}") long maxProviders,
+                                 @Value("${availability.index.ttl-minutes:10}") long ttlMinutes) {
+        this.availabilityRepository = availabilityRepository;
+        this.schedules = Caffeine.newBuilder()
+            .maximumSize(maxProviders)
+            .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+            .build();
+    }
+
+    /**
+     * Checks every occurrence of the given window against the provider's schedule and then against what is
+     * stored for the same date span, and if none overlap adds them all in one step. Throws
+     * IllegalArgumentException on the first conflict.
+     */
+    public void reserve(UUID providerId, List<LocalDate> dates, LocalTime startTime, LocalTime endTime) {
+        if (dates.isEmpty()) {
+            return;
+        }
+        List<Window> windows = new ArrayList<>(dates.size());
+        for (LocalDate date : dates) {
+            windows.add(new Window(LocalDateTime.of(date, startTime), LocalDateTime.of(date, endTime)));
+        }
+        Schedule schedule = scheduleFor(providerId);
+        synchronized (schedule) {
+            checkFree(schedule, windows);
+        }
+        // Outside the monitor so the query does not pin a virtual thread's carrier
+        Schedule stored = toSchedule(availabilityRepository.findOccurringBetween(
+            providerId, dates.get(0), dates.get(dates.size() - 1)));
+        try {
+            checkFree(stored, windows);
+        } catch (IllegalArgumentException e) {
+            // The cached schedule missed a stored window; drop it so the next check reloads
+            schedules.invalidate(providerId);
+            throw e;
+        }
+        synchronized (schedule) {
+            checkFree(schedule, windows);
+            windows.forEach(schedule::add);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        synchronized (schedule) {
+                            windows.forEach(schedule::remove);
+                        }
+                    }
+                }
+            });
+        }
+    }
+
+    public boolean overlaps(UUID providerId, LocalDateTime start, LocalDateTime end) {
+        Schedule schedule = scheduleFor(providerId);
+        synchronized (schedule) {
+            return schedule.overlaps(start, end);
+        }
+    }
+
+    public void invalidate(UUID providerId) {
+        schedules.invalidate(providerId);
+    }
+
+    // Loaded outside the cache rather than with get(key, loader), which would run the query inside the cache's
+    // map lock and pin a virtual thread's carrier. Concurrent misses may both load; the first one stored wins.
+    private Schedule scheduleFor(UUID providerId) {
+        Schedule cached = schedules.getIfPresent(providerId);
+        if (cached != null) {
+            return cached;
+        }
+        Schedule loaded = load(providerId);
+        Schedule raced = schedules.asMap().putIfAbsent(providerId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    private static void checkFree(Schedule schedule, List<Window> windows) {
+        for (Window window : windows) {
+            if (schedule.overlaps(window.start(), window.end())) {
+                throw new IllegalArgumentException("Time slot conflicts with existing availability");
+            }
+        }
+    }
+
+    private Schedule load(UUID providerId) {
+        return toSchedule(availabilityRepository.findByProviderId(providerId));
+    }
+
+    private static Schedule toSchedule(List<ProviderAvailability> availabilities) {
+        Schedule schedule = new Schedule();
+        for (ProviderAvailability availability : availabilities) {
+            RecurrenceExpander.dates(availability).forEach(date -> schedule.add(
+                new Window(LocalDateTime.of(date, availability.getStartTime()), LocalDateTime.of(date, availability.getEndTime()))));
+        }
+        return schedule;
+    }
+
+    // Identity matters: remove() takes out exactly the windows a rolled-back reservation added
+    private static final class Window {
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        private Window(LocalDateTime start, LocalDateTime end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        LocalDateTime start() { return start; }
+        LocalDateTime end() { return end; }
+    }
+
+    /**
+     * Windows sorted by start time. Any window overlapping [start, end) must start before {@code end} and no
+     * earlier than {@code start - longest}, so an overlap query is a log-time seek plus a scan of that range.
+     */
+    static final class Schedule {
+        private final TreeMap<LocalDateTime, List<Window>> byStart = new TreeMap<>();
+        private Duration longest = Duration.ZERO;
+        private int size;
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            NavigableMap<LocalDateTime, List<Window>> candidates = byStart.subMap(start.minus(longest), true, end, false);
+            for (Map.Entry<LocalDateTime, List<Window>> entry : candidates.entrySet()) {
+                for (Window window : entry.getValue()) {
+                    if (window.start().isBefore(end) && window.end().isAfter(start)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        void add(Window window) {
+            byStart.computeIfAbsent(window.start(), key -> new ArrayList<>(1)).add(window);
+            Duration length = Duration.between(window.start(), window.end());
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+            size++;
+        }
+
+        void remove(Window window) {
+            List<Window> atStart = byStart.get(window.start());
+            if (atStart != null && atStart.removeIf(existing -> existing == window)) {
+                size--;
+                if (atStart.isEmpty()) {
+                    byStart.remove(window.start());
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
@@ -5,9 +5,9 @@ import HealthFirstBackend.HealthFirstProject.dto.ProviderRegistrationResponseDTO
 import HealthFirstBackend.HealthFirstProject.model.Provider;
 import HealthFirstBackend.HealthFirstProject.model.ClinicAddress;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -23,17 +23,23 @@ import HealthFirstBackend.HealthFirstProject.repository.ProviderVerificationToke
 public class ProviderService {
     private static final Set<String> SPECIALIZATIONS = Set.of("Cardiology", "Dermatology", "Neurology", "Pediatrics", "General Medicine");
     private final ProviderRepository providerRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(12);
+    private final PasswordHasher passwordHasher;
     private final ProviderVerificationTokenRepository tokenRepository;
+    private final EmailService emailService;
+    private final ProfileCache profileCache;
     @Value("${server.port:8080}")
     private int serverPort;
     @Value("${server.host:localhost}")
     private String serverHost;
 
     @Autowired
-    public ProviderService(ProviderRepository providerRepository, ProviderVerificationTokenRepository tokenRepository) {
+    public ProviderService(ProviderRepository providerRepository, ProviderVerificationTokenRepository tokenRepository,
+                           PasswordHasher passwordHasher, EmailService emailService, ProfileCache profileCache) {
         this.providerRepository = providerRepository;
         this.tokenRepository = tokenRepository;
+        this.passwordHasher = passwordHasher;
+        this.emailService = emailService;
+        this.profileCache = profileCache;
     }
 
     @Transactional
@@ -68,7 +74,7 @@ public class ProviderService {
         provider.setLastName(dto.getLast_name());
         provider.setEmail(dto.getEmail());
         provider.setPhoneNumber(dto.getPhone_number());
-        provider.setPasswordHash(passwordEncoder.encode(password));
+        provider.setPasswordHash(passwordHasher.encode(password));
         provider.setSpecialization(dto.getSpecialization());
         provider.setLicenseNumber(dto.getLicense_number());
         provider.setYearsOfExperience(dto.getYears_of_experience());
@@ -81,6 +87,7 @@ public class ProviderService {
         provider.setVerificationStatus(Provider.VerificationStatus.PENDING);
         provider.setActive(true);
         providerRepository.save(provider);
+        profileCache.invalidateProvider(provider.getId());
         // Generate verification token
         ProviderVerificationToken token = new ProviderVerificationToken();
         token.setProvider(provider);
@@ -90,6 +97,7 @@ public class ProviderService {
         // Send verification email
         String verificationUrl = String.format("http://%s:%d/api/v1/provider/verify?token=%s", serverHost, serverPort, token.getToken());
         String emailText = "Please verify your email by clicking the following link: " + verificationUrl;
+        emailService.queue(provider.getEmail(), "Verify your Provider Account", emailText);
         // Prepare response
         ProviderRegistrationResponseDTO response = new ProviderRegistrationResponseDTO();
         response.setSuccess(true);
@@ -106,6 +114,7 @@ public class ProviderService {
         return password != null && password.matches("^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$");
     }
 
+    @Transactional
     public boolean verifyProvider(String token) {
         ProviderVerificationToken verificationToken = tokenRepository.findByToken(token).orElse(null);
         if (verificationToken == null || verificationToken.getExpiryDate().isBefore(LocalDateTime.now())) {
@@ -114,6 +123,7 @@ public class ProviderService {
         Provider provider = verificationToken.getProvider();
         provider.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
         providerRepository.save(provider);
+        profileCache.invalidateProvider(provider.getId());
         tokenRepository.delete(verificationToken);
         return true;
     }
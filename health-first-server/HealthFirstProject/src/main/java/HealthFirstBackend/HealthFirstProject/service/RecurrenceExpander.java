@@ -0,0 +1,41 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Expands an availability's recurrence rule into the dates it occurs on, lazily and in order.
+ * Non-recurring availabilities (or recurring ones without an end date) occur only on their own date.
+ */
+public final class RecurrenceExpander {
+    private RecurrenceExpander() {}
+
+    public static Stream<LocalDate> dates(ProviderAvailability availability) {
+        return dates(availability.getDate(), availability.isRecurring() ? availability.getRecurrencePattern() : null,
+            availability.getRecurrenceEndDate());
+    }
+
+    public static Stream<LocalDate> dates(LocalDate start, ProviderAvailability.RecurrencePattern pattern, LocalDate endInclusive) {
+        if (pattern == null || endInclusive == null) {
+            return Stream.of(start);
+        }
+        // Offsets are applied to the start date (not chained) so monthly rules keep their day-of-month
+        return Stream.iterate(0L, n -> n + 1)
+            .map(n -> occurrence(start, pattern, n))
+            .takeWhile(date -> !date.isAfter(endInclusive));
+    }
+
+    private static LocalDate occurrence(LocalDate start, ProviderAvailability.RecurrencePattern pattern, long n) {
+        switch (pattern) {
+            case DAILY:
+                return start.plusDays(n);
+            case WEEKLY:
+                return start.plusWeeks(n);
+            case MONTHLY:
+                return start.plusMonths(n);
+            default:
+                throw new IllegalArgumentException("Unsupported recurrence pattern: " + pattern);
+        }
+    }
+}
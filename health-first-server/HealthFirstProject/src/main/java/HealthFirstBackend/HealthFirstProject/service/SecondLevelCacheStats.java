@@ -0,0 +1,50 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Per-region counters for the Hibernate second-level and query caches configured in hibernate-cache.conf.
+ * Counters are only collected while hibernate.generate_statistics is on.
+ */
+@Component
+public class SecondLevelCacheStats {
+    private final Statistics statistics;
+
+    @Autowired
+    public SecondLevelCacheStats(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public Stats stats() {
+        List<Region> regions = Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+            .sorted()
+            .map(name -> {
+                CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+                return new Region(name, region.getHitCount(), region.getMissCount(), region.getPutCount(),
+                    Math.max(-1, region.getElementCountInMemory()));
+            })
+            .toList();
+        return new Stats(statistics.isStatisticsEnabled(), regions, statistics.getQueryCacheHitCount(),
+            statistics.getQueryCacheMissCount(), statistics.getQueryCachePutCount());
+    }
+
+    public Region region(String name) {
+        return stats().regions().stream()
+            .filter(region -> region.name().equals(name))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown cache region: " + name));
+    }
+
+    public record Stats(boolean enabled, List<Region> regions, long queryCacheHits, long queryCacheMisses,
+                        long queryCachePuts) {}
+
+    /** elementsInMemory is -1 when the cache provider cannot report it. */
+    public record Region(String name, long hits, long misses, long puts, long elementsInMemory) {}
+}
@@ -0,0 +1,312 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.exception.HoldLimitExceededException;
+import HealthFirstBackend.HealthFirstProject.exception.SlotUnavailableException;
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short holds on appointment slots while a patient completes a booking. A hold moves the slot from AVAILABLE
+ * to HELD for {@code slot.hold.ttl}; booking the same slot as the same patient claims the hold, anyone else
+ * sees the slot as taken until it is released or lapses.
+ *
+ * <p>Holds are capped per patient: a patient may have at most {@code slot.hold.max-per-patient} live holds and
+ * none at a time they already hold or have booked. The patient row is locked for the rest of the transaction
+ * before counting, so concurrent requests by one patient cannot each pass the check.
+ *
+ * <p>Expiry does not poll the table. Every committed hold is queued in a DelayQueue ordered by deadline and a
+ * single daemon thread takes holds as they come due, releasing each run of due holds with one conditional
+ * UPDATE (holds that were booked or renewed in the meantime are left alone). Outstanding holds are re-queued
+ * from the table on startup; holds queued on an instance that went away are picked up by the backstop sweep
+ * ({@code slot.hold.sweep-cron}) on the others.
+ */
+@Service
+public class SlotHoldService {
+    private static final Logger log = LoggerFactory.getLogger(SlotHoldService.class);
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    private static final int RELEASE_BATCH_SIZE = 500;
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final LocalDateTime LATEST_HOLD = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final AppointmentSlotRepository slotRepository;
+    private final ProviderAvailabilityRepository availabilityRepository;
+    private final FreeSlotIndex freeSlotIndex;
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final DelayQueue<PendingExpiry> expiries = new DelayQueue<>();
+    // Guards start/stop; a lock rather than synchronized because start() queries the table
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+    private Thread expiryThread;
+
+    @Value("${slot.hold.max-per-patient:3}")
+    private int maxHoldsPerPatient = 3;
+
+    private final LongAdder held = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final AtomicLong maxExpiryLagNanos = new AtomicLong();
+
+    @Autowired
+    public SlotHoldService(AppointmentSlotRepository slotRepository,
+                           ProviderAvailabilityRepository availabilityRepository,
+                           FreeSlotIndex freeSlotIndex,
+                           PatientRepository patientRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${slot.hold.ttl:5m}") Duration ttl) {
+        this.slotRepository = slotRepository;
+        this.availabilityRepository = availabilityRepository;
+        this.freeSlotIndex = freeSlotIndex;
+        this.patientRepository = patientRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+    }
+
+    /**
+     * Re-queues the holds already in the table and starts the expiry thread. Calling it again is a no-op.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (expiryThread != null) {
+                return;
+            }
+            List<AppointmentSlotRepository.PendingHold> outstanding = slotRepository.findHoldsExpiringBy(AppointmentSlot.Status.HELD, LATEST_HOLD);
+            for (AppointmentSlotRepository.PendingHold hold : outstanding) {
+                enqueue(hold.getId(), hold.getHoldExpiresAt());
+            }
+            expiryThread = new Thread(this::runExpiry, "slot-hold-expiry");
+            expiryThread.setDaemon(true);
+            expiryThread.start();
+            log.info("Slot hold expiry started with {} outstanding holds", outstanding.size());
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        lifecycleLock.lock();
+        try {
+            if (expiryThread != null) {
+                expiryThread.interrupt();
+                expiryThread = null;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Holds one of the provider's AVAILABLE slots starting at {@code start} for the patient.
+     * Throws SlotUnavailableException when every such slot is taken or held, or the patient already has a slot at
+     * that time, and HoldLimitExceededException when the patient is at the hold limit.
+     */
+    @Transactional
+    public Hold hold(UUID providerId, UUID patientId, LocalDateTime start) {
+        if (start.isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Appointment time must be in the future");
+        }
+        if (patientRepository.lockById(patientId).isEmpty()) {
+            throw new IllegalArgumentException("Patient not found");
+        }
+        LocalDateTime checkedAt = LocalDateTime.now();
+        if (slotRepository.hasSlotAt(patientId, start, checkedAt, AppointmentSlot.Status.HELD, AppointmentSlot.Status.BOOKED)) {
+            throw new SlotUnavailableException(providerId, start, "Patient already has a slot held or booked at this time");
+        }
+        if (slotRepository.countLiveHolds(patientId, checkedAt, AppointmentSlot.Status.HELD) >= maxHoldsPerPatient) {
+            throw new HoldLimitExceededException(patientId, "Patient already holds " + maxHoldsPerPatient
+                + " slots; book or release one first");
+        }
+        List<AppointmentSlot> candidates = slotRepository
+            .findByProviderIdAndSlotStartTimeAndStatus(providerId, start, AppointmentSlot.Status.AVAILABLE);
+        if (candidates.isEmpty()) {
+            throw new SlotUnavailableException(providerId, start, "No available slots found for the requested time");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        AppointmentSlot slot = null;
+        for (int i = 0; i < Math.min(candidates.size(), MAX_CLAIM_ATTEMPTS) && slot == null; i++) {
+            AppointmentSlot candidate = candidates.get(i);
+            if (slotRepository.holdSlot(candidate.getId(), patientId, expiresAt, now,
+                    AppointmentSlot.Status.AVAILABLE, AppointmentSlot.Status.HELD) == 1) {
+                slot = candidate;
+            }
+        }
+        if (slot == null) {
+            throw new SlotUnavailableException(providerId, start, "Selected slot is no longer available");
+        }
+        freeSlotIndex.removeAfterCommit(slot);
+        UUID slotId = slot.getId();
+        afterCommit(() -> {
+            held.increment();
+            enqueue(slotId, expiresAt);
+        });
+        return new Hold(slotId, providerId, patientId, slot.getSlotStartTime(), slot.getSlotEndTime(), expiresAt);
+    }
+
+    /**
+     * Gives up the patient's hold on the slot before it lapses. Returns false when the patient holds no such slot.
+     */
+    @Transactional
+    public boolean release(UUID slotId, UUID patientId) {
+        if (slotRepository.releaseHold(slotId, patientId, LocalDateTime.now(),
+                AppointmentSlot.Status.HELD, AppointmentSlot.Status.AVAILABLE) == 0) {
+            return false;
+        }
+        restoreToIndex(List.of(slotId));
+        afterCommit(released::increment);
+        return true;
+    }
+
+    /**
+     * Backstop for holds that are not queued on any running instance. Releases every lapsed hold in the table.
+     */
+    @Scheduled(cron = "${slot.hold.sweep-cron:0 */5 * * * *}")
+    public void sweep() {
+        try {
+            List<AppointmentSlotRepository.PendingHold> lapsed = slotRepository.findHoldsExpiringBy(AppointmentSlot.Status.HELD, LocalDateTime.now());
+            for (int from = 0; from < lapsed.size(); from += RELEASE_BATCH_SIZE) {
+                List<PendingExpiry> batch = new ArrayList<>();
+                for (AppointmentSlotRepository.PendingHold hold : lapsed.subList(from, Math.min(from + RELEASE_BATCH_SIZE, lapsed.size()))) {
+                    batch.add(new PendingExpiry(hold.getId(), hold.getHoldExpiresAt(), System.nanoTime()));
+                }
+                expire(batch);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Slot hold sweep failed", e);
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(held.sum(), released.sum(), expired.sum(), expiries.size(),
+            TimeUnit.NANOSECONDS.toMillis(maxExpiryLagNanos.get()));
+    }
+
+    private void runExpiry() {
+        while (!Thread.currentThread().isInterrupted()) {
+            List<PendingExpiry> batch = new ArrayList<>();
+            try {
+                batch.add(expiries.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            expiries.drainTo(batch, RELEASE_BATCH_SIZE - 1);
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                log.warn("Releasing {} lapsed slot holds failed, retrying", batch.size(), e);
+                long retryAt = System.nanoTime() + RETRY_DELAY_NANOS;
+                batch.forEach(pending -> expiries.add(new PendingExpiry(pending.slotId(), pending.expiresAt(), retryAt)));
+            }
+        }
+    }
+
+    private void expire(List<PendingExpiry> batch) {
+        // The deadlines in the batch have passed on the monotonic clock; comparing against the latest stored
+        // expiry as well keeps wall-clock jitter from leaving a due hold in place
+        LocalDateTime cutoff = LocalDateTime.now();
+        List<UUID> ids = new ArrayList<>(batch.size());
+        for (PendingExpiry pending : batch) {
+            ids.add(pending.slotId());
+            if (pending.expiresAt().isAfter(cutoff)) {
+                cutoff = pending.expiresAt();
+            }
+        }
+        LocalDateTime now = cutoff;
+        Integer count = transactionTemplate.execute(status -> {
+            int lapsed = slotRepository.releaseLapsedHolds(ids, now, AppointmentSlot.Status.HELD, AppointmentSlot.Status.AVAILABLE);
+            if (lapsed > 0) {
+                restoreToIndex(ids);
+            }
+            return lapsed;
+        });
+        expired.add(count != null ? count : 0);
+        long finished = System.nanoTime();
+        for (PendingExpiry pending : batch) {
+            maxExpiryLagNanos.accumulateAndGet(finished - pending.deadlineNanos(), Math::max);
+        }
+    }
+
+    // Puts the slots that are AVAILABLE again back into the search index once the transaction commits
+    private void restoreToIndex(Collection<UUID> slotIds) {
+        Map<UUID, List<AppointmentSlot>> byAvailability = new HashMap<>();
+        for (AppointmentSlot slot : slotRepository.findAllById(slotIds)) {
+            if (slot.getStatus() == AppointmentSlot.Status.AVAILABLE) {
+                byAvailability.computeIfAbsent(slot.getAvailabilityId(), id -> new ArrayList<>()).add(slot);
+            }
+        }
+        for (ProviderAvailability availability : availabilityRepository.findAllById(byAvailability.keySet())) {
+            freeSlotIndex.addAfterCommit(availability, byAvailability.get(availability.getId()));
+        }
+    }
+
+    private void enqueue(UUID slotId, LocalDateTime expiresAt) {
+        long remaining = Duration.between(LocalDateTime.now(), expiresAt).toNanos();
+        expiries.add(new PendingExpiry(slotId, expiresAt, System.nanoTime() + Math.max(0, remaining)));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record Hold(UUID slotId, UUID providerId, UUID patientId, LocalDateTime start, LocalDateTime end,
+                       LocalDateTime expiresAt) {
+    }
+
+    public record Stats(long held, long released, long expired, int pending, long maxExpiryLagMillis) {
+    }
+
+    private record PendingExpiry(UUID slotId, LocalDateTime expiresAt, long deadlineNanos) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((PendingExpiry) other).deadlineNanos);
+        }
+    }
+}
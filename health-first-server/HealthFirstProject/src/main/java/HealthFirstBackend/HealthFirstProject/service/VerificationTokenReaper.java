@@ -0,0 +1,121 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.repository.PatientVerificationTokenRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderVerificationTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Deletes expired patient and provider verification tokens, which are otherwise only removed when they are
+ * used. Each run walks the primary key in pages of {@code batch-size} expired ids and deletes every page in its
+ * own short transaction, so no statement holds locks on more than one page of rows.
+ */
+@Service
+public class VerificationTokenReaper {
+    private static final Logger log = LoggerFactory.getLogger(VerificationTokenReaper.class);
+
+    private final PatientVerificationTokenRepository patientTokens;
+    private final ProviderVerificationTokenRepository providerTokens;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${verification.token.purge-enabled:true}")
+    private boolean enabled;
+    @Value("${verification.token.purge-batch-size:1000}")
+    private int batchSize;
+
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder patientTokensPurged = new LongAdder();
+    private final LongAdder providerTokensPurged = new LongAdder();
+    private final AtomicLong lastRunMillis = new AtomicLong();
+    private final AtomicLong maxRunMillis = new AtomicLong();
+
+    @Autowired
+    public VerificationTokenReaper(PatientVerificationTokenRepository patientTokens,
+                                   ProviderVerificationTokenRepository providerTokens,
+                                   PlatformTransactionManager transactionManager) {
+        this.patientTokens = patientTokens;
+        this.providerTokens = providerTokens;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${verification.token.purge-cron:0 30 * * * *}")
+    public void scheduledPurge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purge();
+        } catch (RuntimeException e) {
+            log.warn("Verification token purge failed", e);
+        }
+    }
+
+    /**
+     * Deletes every token that expired before now. Returns the number of rows deleted.
+     */
+    public long purge() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        long patients = purge(patientTokens::findExpiredIdsAfter, patientTokens::deleteExpired, now);
+        patientTokensPurged.add(patients);
+        long providers = purge(providerTokens::findExpiredIdsAfter, providerTokens::deleteExpired, now);
+        providerTokensPurged.add(providers);
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        runs.increment();
+        lastRunMillis.set(elapsedMillis);
+        maxRunMillis.accumulateAndGet(elapsedMillis, Math::max);
+        if (patients + providers > 0) {
+            log.info("Purged {} patient and {} provider verification tokens in {} ms", patients, providers, elapsedMillis);
+        }
+        return patients + providers;
+    }
+
+    private long purge(ExpiredIdPage page, ExpiredDelete delete, LocalDateTime now) {
+        long purged = 0;
+        long afterId = 0;
+        while (true) {
+            long after = afterId;
+            List<Long> ids = page.find(after, now, PageRequest.ofSize(batchSize));
+            if (ids.isEmpty()) {
+                return purged;
+            }
+            Integer deleted = transactionTemplate.execute(status -> delete.delete(ids, now));
+            purged += deleted != null ? deleted : 0;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                return purged;
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(runs.sum(), patientTokensPurged.sum(), providerTokensPurged.sum(), lastRunMillis.get(), maxRunMillis.get());
+    }
+
+    public record Stats(long runs, long patientTokensPurged, long providerTokensPurged, long lastRunMillis, long maxRunMillis) {
+    }
+
+    @FunctionalInterface
+    private interface ExpiredIdPage {
+        List<Long> find(long afterId, LocalDateTime now, Pageable pageable);
+    }
+
+    @FunctionalInterface
+    private interface ExpiredDelete {
+        int delete(Collection<Long> ids, LocalDateTime now);
+    }
+}
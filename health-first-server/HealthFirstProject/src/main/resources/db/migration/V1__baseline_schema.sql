@@ -0,0 +1,167 @@
+-- Baseline: schema as generated by Hibernate before migrations were introduced.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+create table appointment_slots (
+    created_at datetime(6),
+    slot_end_time datetime(6) not null,
+    slot_start_time datetime(6) not null,
+    updated_at datetime(6),
+    availability_id binary(16) not null,
+    id binary(16) not null,
+    patient_id binary(16),
+    provider_id binary(16) not null,
+    appointment_type varchar(255),
+    booking_reference varchar(255),
+    status enum ('AVAILABLE','BLOCKED','BOOKED','CANCELLED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table patient_medical_history (
+    patient_id binary(16) not null,
+    medical_history varchar(255)
+) engine=InnoDB;
+
+create table patient_verification_tokens (
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    patient_id binary(16) not null,
+    token varchar(255) not null,
+    type enum ('EMAIL','PHONE') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table patients (
+    date_of_birth date not null,
+    email_verified bit not null,
+    is_active bit not null,
+    phone_verified bit not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    id binary(16) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    city varchar(255),
+    email varchar(255) not null,
+    name varchar(255),
+    password_hash varchar(255) not null,
+    phone varchar(255),
+    phone_number varchar(255) not null,
+    policy_number varchar(255),
+    provider varchar(255),
+    relationship varchar(255),
+    state varchar(255),
+    street varchar(255),
+    zip varchar(255),
+    gender enum ('FEMALE','MALE','OTHER','PREFER_NOT_TO_SAY') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table provider_availability (
+    base_fee decimal(38,2),
+    break_duration integer not null,
+    current_appointments integer not null,
+    date date not null,
+    end_time time(6) not null,
+    insurance_accepted bit,
+    is_recurring bit not null,
+    max_appointments_per_slot integer not null,
+    recurrence_end_date date,
+    slot_duration integer not null,
+    start_time time(6) not null,
+    created_at datetime(6),
+    updated_at datetime(6),
+    id binary(16) not null,
+    provider_id binary(16) not null,
+    notes varchar(500),
+    address varchar(255),
+    currency varchar(255),
+    room_number varchar(255),
+    timezone varchar(255) not null,
+    appointment_type enum ('CONSULTATION','EMERGENCY','FOLLOW_UP','TELEMEDICINE') not null,
+    recurrence_pattern enum ('DAILY','MONTHLY','WEEKLY'),
+    status enum ('AVAILABLE','BLOCKED','BOOKED','CANCELLED','MAINTENANCE') not null,
+    type enum ('CLINIC','HOME_VISIT','HOSPITAL','TELEMEDICINE'),
+    primary key (id)
+) engine=InnoDB;
+
+create table provider_availability_special_requirements (
+    provider_availability_id binary(16) not null,
+    special_requirements varchar(255)
+) engine=InnoDB;
+
+create table providers (
+    is_active bit not null,
+    years_of_experience integer,
+    created_at datetime(6),
+    updated_at datetime(6),
+    id binary(16) not null,
+    first_name varchar(50) not null,
+    last_name varchar(50) not null,
+    email varchar(100) not null,
+    specialization varchar(100) not null,
+    city varchar(255),
+    license_number varchar(255) not null,
+    password_hash varchar(255) not null,
+    phone_number varchar(255) not null,
+    state varchar(255),
+    street varchar(255),
+    zip varchar(255),
+    role enum ('ADMIN','PROVIDER') not null,
+    verification_status enum ('PENDING','REJECTED','VERIFIED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table provider_verification_token (
+    expiry_date datetime(6) not null,
+    id bigint not null auto_increment,
+    provider_id binary(16) not null,
+    token varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table appointment_slots
+    add constraint UKmvthe3dh574kgukxg424678o7 unique (booking_reference);
+
+alter table patient_verification_tokens
+    add constraint UK2po2vfqont2c3wxe7uaofte0v unique (token);
+
+alter table patients
+    add constraint UKa370hmxgv0l5c9panryr1ji7d unique (email);
+
+alter table patients
+    add constraint UKjmj4vn423f1ecw04a2mcv470e unique (phone_number);
+
+alter table provider_availability
+    add constraint UKnyh05r4io7aig4216bj96elh1 unique (provider_id, date, start_time);
+
+alter table providers
+    add constraint UK7ant8u8y5lel5bd0d6hdexmde unique (email);
+
+alter table providers
+    add constraint UK85mm1ap9qqwwqq2fd8pp58a47 unique (phone_number);
+
+alter table providers
+    add constraint UKm88q644diroxroq42ujiisbl3 unique (license_number);
+
+alter table provider_verification_token
+    add constraint UK7yhqw3o8k69so4kn3p2j30ukx unique (token);
+
+alter table patient_medical_history
+    add constraint FKh1h5vct3rhl2mei2663c58ykn
+    foreign key (patient_id)
+    references patients (id);
+
+alter table patient_verification_tokens
+    add constraint FK4jmhw8bv1rprqw2trb6mfknup
+    foreign key (patient_id)
+    references patients (id);
+
+alter table provider_availability_special_requirements
+    add constraint FK37erfo6hp3xhxn8o72wuub76r
+    foreign key (provider_availability_id)
+    references provider_availability (id);
+
+alter table provider_verification_token
+    add constraint FK655kyq3923tk5iqhmtm5leu91
+    foreign key (provider_id)
+    references providers (id);
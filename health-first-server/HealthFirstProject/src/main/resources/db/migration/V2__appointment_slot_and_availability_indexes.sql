@@ -0,0 +1,10 @@
+-- Composite indexes matching the AppointmentSlotRepository and ProviderAvailabilityRepository access paths.
+-- Names match the @Index declarations on the entities so ddl-auto=update does not duplicate them.
+
+create index idx_slot_provider_start_status on appointment_slots (provider_id, slot_start_time, status);
+create index idx_slot_provider_status_start on appointment_slots (provider_id, status, slot_start_time);
+create index idx_slot_patient_start on appointment_slots (patient_id, slot_start_time);
+create index idx_slot_patient_status_start on appointment_slots (patient_id, status, slot_start_time);
+create index idx_slot_availability on appointment_slots (availability_id);
+
+create index idx_availability_provider_status_date on provider_availability (provider_id, status, date);
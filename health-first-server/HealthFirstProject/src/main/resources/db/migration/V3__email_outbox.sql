@@ -0,0 +1,19 @@
+-- Transactional outbox for outbound email, drained by EmailOutboxDispatcher.
+
+create table email_outbox (
+    attempts integer not null,
+    created_at datetime(6),
+    next_attempt_at datetime(6) not null,
+    sent_at datetime(6),
+    id bigint not null auto_increment,
+    claim_token varchar(36),
+    last_error varchar(1000),
+    body varchar(4000) not null,
+    recipient varchar(255) not null,
+    subject varchar(255) not null,
+    status enum ('FAILED','PENDING','SENDING','SENT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_outbox_status_next_attempt on email_outbox (status, next_attempt_at);
+create index idx_outbox_claim_token on email_outbox (claim_token);
@@ -0,0 +1,3 @@
+-- Cross-provider range scans by status: the appointment export and the free slot index rebuild.
+
+create index idx_slot_status_start on appointment_slots (status, slot_start_time);
@@ -0,0 +1,12 @@
+-- Invalidation log for ProfileCache in distributed mode. Each node polls by created_at, re-reading an overlapping
+-- window (profile.cache.poll-overlap-ms) so rows from transactions that committed out of id order are not skipped.
+
+create table profile_invalidations (
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    entity_id binary(16) not null,
+    kind enum ('PATIENT','PROVIDER') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_profile_invalidation_created on profile_invalidations (created_at);
@@ -0,0 +1,7 @@
+-- Slot holds: HELD status with a lapse time, read by the startup reload and the backstop sweep.
+
+alter table appointment_slots
+    modify column status enum ('AVAILABLE','BLOCKED','BOOKED','CANCELLED','HELD') not null,
+    add column hold_expires_at datetime(6);
+
+create index idx_slot_status_hold_expires on appointment_slots (status, hold_expires_at);
@@ -0,0 +1,177 @@
+package HealthFirstBackend.HealthFirstProject.controller;
+
+import HealthFirstBackend.HealthFirstProject.model.ClinicAddress;
+import HealthFirstBackend.HealthFirstProject.model.Provider;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.security.JwtRefreshUtil;
+import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import HealthFirstBackend.HealthFirstProject.security.ProviderRole;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Role rules in SecurityConfig. Same context as MetricsEndpointIntegrationTest.
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles({"test", "loadtest"})
+class EndpointAuthorizationIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private JwtRefreshUtil jwtRefreshUtil;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    @Test
+    void testExportRequiresAdmin() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/export"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("PATIENT", get("/api/v1/appointments/export")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("PROVIDER", get("/api/v1/appointments/export")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("ADMIN", get("/api/v1/appointments/export")))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+    }
+
+    @Test
+    void testOnlyHealthAndInfoActuatorEndpointsArePublic() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/info"))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics"))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("PROVIDER", get("/actuator/metrics")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("ADMIN", get("/actuator/metrics")))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void testHoldsOnlyForTheSignedInPatient() throws Exception {
+        UUID patientId = UUID.randomUUID();
+        String hold = "{\"providerId\":\"" + UUID.randomUUID() + "\",\"patientId\":\"" + patientId
+            + "\",\"appointmentDateTime\":\"2030-01-07T09:00:00\"}";
+
+        mockMvc.perform(post("/api/v1/appointments/holds").contentType(MediaType.APPLICATION_JSON).content(hold))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("PROVIDER", patientId, post("/api/v1/appointments/holds").contentType(MediaType.APPLICATION_JSON).content(hold)))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(as("PATIENT", post("/api/v1/appointments/holds").contentType(MediaType.APPLICATION_JSON).content(hold)))
+            .andExpect(status().isForbidden())
+            .andExpect(jsonPath("$.message").value("Patient ID does not match the signed-in patient"));
+        mockMvc.perform(as("PATIENT", delete("/api/v1/appointments/holds/" + UUID.randomUUID()).param("patient_id", patientId.toString())))
+            .andExpect(status().isForbidden());
+        // The caller's own id gets past the check; the unknown patient is then rejected by the service
+        mockMvc.perform(as("PATIENT", patientId, post("/api/v1/appointments/holds").contentType(MediaType.APPLICATION_JSON).content(hold)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("Patient not found"));
+    }
+
+    @Test
+    void testRefreshKeepsTheProvidersStoredRole() throws Exception {
+        Provider admin = providerRepository.save(newProvider(ProviderRole.ADMIN));
+        try {
+            String refreshToken = jwtRefreshUtil.generateRefreshToken(admin.getId().toString(), admin.getEmail());
+            String body = mockMvc.perform(post("/api/v1/provider/refresh-token").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"refreshToken\":\"" + refreshToken + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            String accessToken = JsonPath.read(body, "$.token");
+
+            assertEquals("ADMIN", jwtUtil.parseClaims(accessToken).orElseThrow().get("role", String.class));
+            mockMvc.perform(get("/actuator/metrics").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+            String unknown = jwtRefreshUtil.generateRefreshToken(UUID.randomUUID().toString(), "gone@clinic.com");
+            mockMvc.perform(post("/api/v1/provider/refresh-token").contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"refreshToken\":\"" + unknown + "\"}"))
+                .andExpect(status().isUnauthorized());
+        } finally {
+            providerRepository.delete(admin);
+        }
+    }
+
+    @Test
+    void testBulkAvailabilityIsSavedForTheCallingProvider() throws Exception {
+        Provider provider = providerRepository.save(newProvider(ProviderRole.PROVIDER));
+        String windows = "[{\"date\":\"2030-01-07\",\"start_time\":\"09:00\",\"end_time\":\"10:00\","
+            + "\"timezone\":\"UTC\",\"location\":{\"type\":\"CLINIC\"}}]";
+        try {
+            mockMvc.perform(post("/api/v1/provider/availability/bulk").contentType(MediaType.APPLICATION_JSON).content(windows))
+                .andExpect(status().isForbidden());
+            mockMvc.perform(as("PATIENT", post("/api/v1/provider/availability/bulk").contentType(MediaType.APPLICATION_JSON).content(windows)))
+                .andExpect(status().isForbidden());
+            mockMvc.perform(as("PROVIDER", provider.getId(),
+                    post("/api/v1/provider/availability/bulk").contentType(MediaType.APPLICATION_JSON).content(windows)))
+                .andExpect(status().isCreated());
+
+            List<ProviderAvailability> saved = availabilityRepository.findByProviderId(provider.getId());
+            assertEquals(1, saved.size());
+            assertEquals(2, slotRepository.findByProviderIdOrderBySlotStartTime(provider.getId()).size());
+        } finally {
+            slotRepository.deleteAll(slotRepository.findByProviderIdOrderBySlotStartTime(provider.getId()));
+            availabilityRepository.deleteAll(availabilityRepository.findByProviderId(provider.getId()));
+            providerRepository.delete(provider);
+        }
+    }
+
+    private MockHttpServletRequestBuilder as(String role, MockHttpServletRequestBuilder request) {
+        return as(role, UUID.randomUUID(), request);
+    }
+
+    private MockHttpServletRequestBuilder as(String role, UUID userId, MockHttpServletRequestBuilder request) {
+        String token = jwtUtil.generateToken(userId.toString(), role.toLowerCase() + "@clinic.com", role);
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private static Provider newProvider(ProviderRole role) {
+        Provider provider = new Provider();
+        provider.setFirstName("Ada");
+        provider.setLastName("Admin");
+        provider.setEmail("ada.admin@clinic.com");
+        provider.setPhoneNumber("+15550009999");
+        provider.setPasswordHash("hashed");
+        provider.setSpecialization("Cardiology");
+        provider.setLicenseNumber("ADMIN0001");
+        provider.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("1 Main St");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        provider.setClinicAddress(address);
+        provider.setRole(role);
+        return provider;
+    }
+}
@@ -0,0 +1,64 @@
+package HealthFirstBackend.HealthFirstProject.controller;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Whole application on the in-process database of the loadtest profile
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles({"test", "loadtest"})
+class MetricsEndpointIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void testPrometheusScrapeCoversEndpointsServicesRepositoriesAndComponents() throws Exception {
+        mockMvc.perform(get("/api/v1/appointments/provider/" + UUID.randomUUID()));
+        BookAppointmentRequestDTO booking = new BookAppointmentRequestDTO();
+        booking.setProviderId(UUID.randomUUID().toString());
+        booking.setPatientId(UUID.randomUUID().toString());
+        booking.setAppointmentDateTime(LocalDateTime.now().plusDays(1).withNano(0));
+        booking.setAppointmentType("CONSULTATION");
+        mockMvc.perform(post("/api/v1/appointments/book")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(booking)));
+
+        String adminToken = jwtUtil.generateToken(UUID.randomUUID().toString(), "admin@clinic.com", "ADMIN");
+        String scrape = mockMvc.perform(get("/actuator/prometheus").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{"), "controller timers with SLO buckets");
+        assertTrue(scrape.contains("uri=\"/api/v1/appointments/book\""));
+        assertTrue(scrape.contains("healthfirst_service_seconds_count{"), "service timers");
+        assertTrue(scrape.contains("method=\"getAppointmentsForProvider\""));
+        assertTrue(scrape.contains("healthfirst_appointments_book_seconds_bucket{"), "booking histogram");
+        assertTrue(scrape.contains("spring_data_repository_invocations_seconds_count{"), "repository timers");
+        assertTrue(scrape.contains("cache_gets_total{"), "component cache stats");
+        assertTrue(scrape.contains("healthfirst_slot_holds_total{"), "slot hold stats");
+        assertTrue(scrape.contains("healthfirst_verification_tokens_purged_total{"), "token reaper stats");
+        assertTrue(scrape.contains("healthfirst_email_outbox_depth{"), "outbox stats");
+        assertTrue(scrape.contains("hikaricp_connections_active{"), "pool metrics through the tracing DataSource proxy");
+        assertTrue(scrape.contains("healthfirst_http_sql_statements_count{"), "SQL statements per request");
+    }
+}
@@ -0,0 +1,196 @@
+package HealthFirstBackend.HealthFirstProject.controller;
+
+import HealthFirstBackend.HealthFirstProject.config.SqlStatementBudgetFilter;
+import HealthFirstBackend.HealthFirstProject.config.SqlStatementTracker;
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.service.ProfileCache;
+import HealthFirstBackend.HealthFirstProject.service.ProviderAvailabilityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Statement budgets per endpoint, measured with a cold profile cache. Same context as MetricsEndpointIntegrationTest.
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@ActiveProfiles({"test", "loadtest"})
+class SqlStatementBudgetIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProfileCache profileCache;
+    @Autowired
+    private SqlStatementBudgetFilter budgetFilter;
+
+    private Provider provider;
+    private Patient patient;
+    private LocalDate day;
+
+    @BeforeEach
+    void setUp() {
+        provider = providerRepository.save(newProvider());
+        patient = patientRepository.save(newPatient());
+        day = LocalDate.now().plusDays(1);
+        ProviderAvailabilityRequestDTO availability = new ProviderAvailabilityRequestDTO();
+        availability.setDate(day);
+        availability.setStart_time(LocalTime.of(9, 0));
+        availability.setEnd_time(LocalTime.of(12, 0));
+        availability.setTimezone("America/New_York");
+        availability.setSlot_duration(30);
+        availability.setBreak_duration(0);
+        availability.setAppointment_type(ProviderAvailabilityRequestDTO.AppointmentType.CONSULTATION);
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        availability.setLocation(location);
+        availabilityService.createAvailability(provider.getId(), availability);
+        profileCache.invalidateAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        availabilityRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+        ReflectionTestUtils.setField(budgetFilter, "statementBudget", 50);
+    }
+
+    @Test
+    void testBookingStaysWithinBudget() throws Exception {
+        mockMvc.perform(post("/api/v1/appointments/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest())))
+            .andExpect(status().isCreated())
+            .andExpect(sqlStatementsAtMost(5));
+    }
+
+    @Test
+    void testListingsStayWithinBudget() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            BookAppointmentRequestDTO booking = bookingRequest();
+            booking.setAppointmentDateTime(day.atTime(9, 0).plusMinutes(30L * i));
+            mockMvc.perform(post("/api/v1/appointments/book")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(booking)))
+                .andExpect(status().isCreated());
+        }
+        profileCache.invalidateAll();
+
+        // Page, summary counts and one bulk lookup each for patient and provider names, however many rows
+        mockMvc.perform(get("/api/v1/appointments/provider/" + provider.getId()).param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(sqlStatementsAtMost(4));
+        profileCache.invalidateAll();
+        mockMvc.perform(get("/api/v1/appointments/patient/" + patient.getId()).param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(sqlStatementsAtMost(4));
+    }
+
+    @Test
+    void testRequestOverBudgetIsFlagged() throws Exception {
+        ReflectionTestUtils.setField(budgetFilter, "statementBudget", 1);
+        mockMvc.perform(post("/api/v1/appointments/book")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookingRequest())))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(SqlStatementBudgetFilter.BUDGET_EXCEEDED_HEADER, "true"));
+    }
+
+    @Test
+    void testScopeCountsStatementsOutsideRequests() {
+        try (SqlStatementTracker.Scope outer = SqlStatementTracker.open()) {
+            providerRepository.count();
+            try (SqlStatementTracker.Scope inner = SqlStatementTracker.open()) {
+                patientRepository.count();
+                assertEquals(1, inner.statements());
+            }
+            assertEquals(2, outer.statements());
+        }
+    }
+
+    private static ResultMatcher sqlStatementsAtMost(int max) {
+        return result -> {
+            String statements = result.getResponse().getHeader(SqlStatementBudgetFilter.STATEMENTS_HEADER);
+            assertNotNull(statements, "missing " + SqlStatementBudgetFilter.STATEMENTS_HEADER + " header");
+            assertTrue(Integer.parseInt(statements) <= max,
+                result.getRequest().getRequestURI() + " ran " + statements + " SQL statements, budget " + max);
+        };
+    }
+
+    private BookAppointmentRequestDTO bookingRequest() {
+        BookAppointmentRequestDTO request = new BookAppointmentRequestDTO();
+        request.setProviderId(provider.getId().toString());
+        request.setPatientId(patient.getId().toString());
+        request.setAppointmentDateTime(day.atTime(9, 30));
+        request.setAppointmentType("CONSULTATION");
+        return request;
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        p.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient() {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith");
+        p.setEmail("jane@email.com");
+        p.setPhoneNumber("+15551000000");
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
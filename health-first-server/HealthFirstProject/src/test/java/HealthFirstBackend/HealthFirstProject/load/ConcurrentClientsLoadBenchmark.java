@@ -0,0 +1,380 @@
+package HealthFirstBackend.HealthFirstProject.load;
+
+import HealthFirstBackend.HealthFirstProject.HealthFirstProjectApplication;
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.service.FreeSlotIndex;
+import HealthFirstBackend.HealthFirstProject.service.ProviderAvailabilityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares request handling on Tomcat's platform thread pool with spring.threads.virtual.enabled at a fixed
+ * number of concurrent clients. Each mode boots its own application on its own in-memory H2 database
+ * (profiles test + loadtest) and seeds the same data. Then {@code load.clients} closed-loop clients each keep one
+ * request in flight: listings, free slot search and booking. Throughput, latency percentiles and the peak JVM
+ * thread count are reported per mode.
+ *
+ * <p>Every statement is delayed by {@code load.db-latency} to stand in for the network round trip to MySQL, so
+ * request threads block the way they do in production. Virtual threads need a Java 21+ runtime. On older
+ * runtimes only the platform-thread model is measured.
+ *
+ * <p>Not part of the default test run; execute with e.g.
+ * {@code mvn test -Dtest=ConcurrentClientsLoadBenchmark -Dload.clients=2000 -Dload.duration=60s}. Other settings,
+ * with defaults in brackets:
+ * load.providers [100], load.patients [500], load.days [14] of seeded slots, load.warmup [10s],
+ * load.duration [30s], load.db-latency [2ms], load.pool-size [64] connections,
+ * load.threading-report [target/threading-report.json].
+ * 2,000 clients need about 4,000 file descriptors (ulimit -n).
+ */
+class ConcurrentClientsLoadBenchmark {
+    private static final String[] ENDPOINTS = {"provider_appointments", "patient_appointments", "search_available", "book"};
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Pediatrics", "Neurology", "Orthopedics"};
+    private static final String[] CITIES = {"Boston", "Chicago", "Denver", "Seattle"};
+    private static final LocalTime DAY_START = LocalTime.of(9, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 16;
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 2000);
+    private static final int PROVIDERS = Integer.getInteger("load.providers", 100);
+    private static final int PATIENTS = Integer.getInteger("load.patients", 500);
+    private static final int DAYS = Integer.getInteger("load.days", 14);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 64);
+    private static final Duration WARMUP = DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s"));
+    private static final Duration DURATION = DurationStyle.detectAndParse(System.getProperty("load.duration", "30s"));
+    private static final Duration DB_LATENCY = DurationStyle.detectAndParse(System.getProperty("load.db-latency", "2ms"));
+    private static final Path REPORT = Path.of(System.getProperty("load.threading-report", "target/threading-report.json"));
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        Map<String, ModeResult> results = new LinkedHashMap<>();
+        results.put("platform", run(false));
+        if (Runtime.version().feature() >= 21) {
+            results.put("virtual", run(true));
+        } else {
+            System.out.printf("Virtual threads need Java 21+ (running %s); only the platform-thread model was measured%n",
+                Runtime.version());
+        }
+
+        for (Map.Entry<String, ModeResult> result : results.entrySet()) {
+            print(result.getKey(), result.getValue());
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("java", Runtime.version().toString());
+        report.put("clients", CLIENTS);
+        report.put("duration_seconds", DURATION.toSeconds());
+        report.put("db_latency_ms", DB_LATENCY.toMillis());
+        report.put("pool_size", POOL_SIZE);
+        report.put("modes", results);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), report);
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+    }
+
+    private ModeResult run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        SimulatedDatabaseLatency latency = new SimulatedDatabaseLatency(DB_LATENCY);
+        // Command-line arguments, so they override the profile properties
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(HealthFirstProjectApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(latency))
+                .profiles("test", "loadtest")
+                .run("--server.port=0",
+                    "--spring.threads.virtual.enabled=" + virtualThreads,
+                    "--spring.datasource.url=jdbc:h2:mem:clients-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                    "--sql.tracing.response-headers=false")) {
+            Fixtures fixtures = seed(context);
+            latency.enabled = true;
+            int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+            ExecutorService clientExecutor = Executors.newFixedThreadPool(4);
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(clientExecutor)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+            try {
+                ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+                ClosedLoop loop = new ClosedLoop(client, port, fixtures);
+                loop.start();
+                Thread.sleep(WARMUP.toMillis());
+                threads.resetPeakThreadCount();
+                Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+                for (String endpoint : ENDPOINTS) {
+                    recorders.put(endpoint, new LatencyRecorder(endpoint));
+                }
+                long started = System.nanoTime();
+                loop.recording.set(recorders);
+                Thread.sleep(DURATION.toMillis());
+                loop.recording.set(null);
+                double seconds = (System.nanoTime() - started) / 1e9;
+                int peakThreads = threads.getPeakThreadCount();
+                loop.stop();
+
+                List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+                recorders.values().forEach(recorder -> summaries.add(recorder.summarize(seconds)));
+                for (LatencyRecorder.Summary summary : summaries) {
+                    assertEquals(0, summary.serverErrors(), mode + " " + summary.endpoint() + " had server errors");
+                }
+                return new ModeResult(summaries.stream().mapToDouble(LatencyRecorder.Summary::throughputPerSecond).sum(),
+                    peakThreads, summaries);
+            } finally {
+                clientExecutor.shutdownNow();
+            }
+        }
+    }
+
+    private Fixtures seed(ConfigurableApplicationContext context) {
+        ProviderRepository providerRepository = context.getBean(ProviderRepository.class);
+        PatientRepository patientRepository = context.getBean(PatientRepository.class);
+        ProviderAvailabilityService availabilityService = context.getBean(ProviderAvailabilityService.class);
+
+        List<Provider> newProviders = new ArrayList<>(PROVIDERS);
+        for (int i = 0; i < PROVIDERS; i++) {
+            newProviders.add(newProvider(i));
+        }
+        List<Provider> providers = providerRepository.saveAll(newProviders);
+        List<Patient> newPatients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            newPatients.add(newPatient(i));
+        }
+        List<Patient> patients = patientRepository.saveAll(newPatients);
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        for (Provider provider : providers) {
+            ProviderAvailabilityRequestDTO request = new ProviderAvailabilityRequestDTO();
+            request.setDate(firstDay);
+            request.setStart_time(DAY_START);
+            request.setEnd_time(DAY_START.plusMinutes((long) SLOT_MINUTES * SLOTS_PER_DAY));
+            request.setTimezone("America/New_York");
+            request.setSlot_duration(SLOT_MINUTES);
+            request.setBreak_duration(0);
+            request.setIs_recurring(DAYS > 1);
+            request.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.DAILY);
+            request.setRecurrence_end_date(firstDay.plusDays(DAYS - 1));
+            request.setAppointment_type(ProviderAvailabilityRequestDTO.AppointmentType.CONSULTATION);
+            ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+            location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+            location.setAddress("123 Medical Center Dr");
+            request.setLocation(location);
+            availabilityService.createAvailability(provider.getId(), request);
+        }
+        context.getBean(FreeSlotIndex.class).rebuild();
+        return new Fixtures(providers, patients, firstDay);
+    }
+
+    private void print(String mode, ModeResult result) {
+        System.out.printf("%n%s threads: %.1f req/s, peak JVM threads %d%n", mode, result.throughputPerSecond(), result.peakThreads());
+        System.out.printf("%-22s %9s %8s %8s %6s %6s %9s %9s %9s %9s%n", "endpoint", "requests", "2xx", "4xx", "5xx",
+            "fail", "req/s", "p50 ms", "p95 ms", "p99 ms");
+        for (LatencyRecorder.Summary s : result.endpoints()) {
+            System.out.printf("%-22s %9d %8d %8d %6d %6d %9.1f %9.2f %9.2f %9.2f%n", s.endpoint(), s.requests(), s.success(),
+                s.clientErrors(), s.serverErrors(), s.failures(), s.throughputPerSecond(), s.p50Millis(), s.p95Millis(),
+                s.p99Millis());
+        }
+    }
+
+    private static Provider newProvider(int i) {
+        Provider p = new Provider();
+        p.setFirstName("Provider");
+        p.setLastName("Load" + i);
+        p.setEmail("provider" + i + "@load.test");
+        p.setPhoneNumber(String.format("+1555%07d", i));
+        p.setPasswordHash("hashed");
+        p.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+        p.setLicenseNumber("LOAD" + i);
+        p.setYearsOfExperience(5 + i % 20);
+        p.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+        p.setActive(true);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet(i + " Medical Center Dr");
+        address.setCity(CITIES[i % CITIES.length]);
+        address.setState("MA");
+        address.setZip(String.format("%05d", 2100 + i % 50));
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private static Patient newPatient(int i) {
+        Patient p = new Patient();
+        p.setFirstName("Patient");
+        p.setLastName("Load" + i);
+        p.setEmail("patient" + i + "@load.test");
+        p.setPhoneNumber(String.format("+1556%07d", i));
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28));
+        p.setGender(i % 2 == 0 ? Patient.Gender.FEMALE : Patient.Gender.MALE);
+        p.setEmailVerified(true);
+        p.setActive(true);
+        return p;
+    }
+
+    private record Fixtures(List<Provider> providers, List<Patient> patients, LocalDate firstDay) {
+    }
+
+    record ModeResult(double throughputPerSecond, int peakThreads, List<LatencyRecorder.Summary> endpoints) {
+    }
+
+    /**
+     * CLIENTS independent clients, each sending its next request as soon as the previous response arrives.
+     * Responses are recorded only while {@code recording} holds recorders.
+     */
+    private final class ClosedLoop {
+        private final HttpClient client;
+        private final int port;
+        private final Fixtures fixtures;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final CountDownLatch stopped = new CountDownLatch(CLIENTS);
+        private final AtomicReference<Map<String, LatencyRecorder>> recording = new AtomicReference<>();
+
+        private ClosedLoop(HttpClient client, int port, Fixtures fixtures) {
+            this.client = client;
+            this.port = port;
+            this.fixtures = fixtures;
+        }
+
+        void start() {
+            for (int i = 0; i < CLIENTS; i++) {
+                next();
+            }
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            assertTrue(stopped.await(2, TimeUnit.MINUTES), "clients did not finish");
+        }
+
+        private void next() {
+            if (!running.get()) {
+                stopped.countDown();
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            String endpoint = ENDPOINTS[random.nextInt(ENDPOINTS.length)];
+            HttpRequest request = request(endpoint, random);
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                Map<String, LatencyRecorder> recorders = recording.get();
+                if (recorders != null) {
+                    recorders.get(endpoint).record(System.nanoTime() - sent, error == null ? response.statusCode() : -1);
+                }
+                next();
+            });
+        }
+
+        private HttpRequest request(String endpoint, ThreadLocalRandom random) {
+            Provider provider = fixtures.providers().get(random.nextInt(fixtures.providers().size()));
+            Patient patient = fixtures.patients().get(random.nextInt(fixtures.patients().size()));
+            return switch (endpoint) {
+                case "provider_appointments" -> get("/api/v1/appointments/provider/" + provider.getId() + "?limit=50");
+                case "patient_appointments" -> get("/api/v1/appointments/patient/" + patient.getId() + "?limit=50");
+                case "search_available" -> get("/api/v1/appointments/available?specialization="
+                    + SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)] + "&city=" + CITIES[random.nextInt(CITIES.length)]);
+                default -> {
+                    BookAppointmentRequestDTO booking = new BookAppointmentRequestDTO();
+                    booking.setProviderId(provider.getId().toString());
+                    booking.setPatientId(patient.getId().toString());
+                    booking.setAppointmentDateTime(LocalDateTime.of(fixtures.firstDay().plusDays(random.nextInt(DAYS)),
+                        DAY_START.plusMinutes((long) SLOT_MINUTES * random.nextInt(SLOTS_PER_DAY))));
+                    booking.setAppointmentType("CONSULTATION");
+                    yield post("/api/v1/appointments/book", booking);
+                }
+            };
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(60)).GET().build();
+        }
+
+        private HttpRequest post(String path, Object body) {
+            try {
+                return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .timeout(Duration.ofSeconds(60))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private URI uri(String path) {
+            return URI.create("http://localhost:" + port + path);
+        }
+    }
+
+    /**
+     * Wraps the DataSource so every statement first waits for the configured delay, once enabled. The wait
+     * blocks the calling thread: a platform thread is held, a virtual thread parks. Added before the registered
+     * post-processors, so it builds a plain JDK proxy that SqlTracingConfig still wraps.
+     */
+    private static final class SimulatedDatabaseLatency implements BeanPostProcessor, QueryExecutionListener {
+        private final long delayNanos;
+        private volatile boolean enabled;
+
+        private SimulatedDatabaseLatency(Duration delay) {
+            this.delayNanos = delay.toNanos();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource) {
+                return ProxyDataSourceBuilder.create(dataSource).name(beanName + "-latency").listener(this).buildProxy();
+            }
+            return bean;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (enabled && delayNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(delayNanos);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package HealthFirstBackend.HealthFirstProject.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency samples and outcome counts for one endpoint. Samples are kept whole (a run records at most a few
+ * hundred thousand) so percentiles are exact rather than bucketed.
+ */
+class LatencyRecorder {
+    private final String endpoint;
+    private long[] samples = new long[1024];
+    private int size;
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    LatencyRecorder(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    /**
+     * Records a response. {@code status} is the HTTP status, or -1 when the request failed without one.
+     */
+    void record(long latencyNanos, int status) {
+        if (status < 0) {
+            failures.increment();
+        } else if (status == 503) {
+            // Load shed by a bulkhead (e.g. login password hashing), not a fault
+            shed.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            // 401/409/422 are expected under contention (wrong password, slot taken) and still timed
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+        synchronized (this) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = latencyNanos;
+        }
+    }
+
+    Summary summarize(double seconds) {
+        long[] sorted;
+        synchronized (this) {
+            sorted = Arrays.copyOf(samples, size);
+        }
+        Arrays.sort(sorted);
+        return new Summary(endpoint, sorted.length, success.sum(), clientErrors.sum(), shed.sum(), serverErrors.sum(),
+            failures.sum(), sorted.length / seconds, millis(sorted, 0.50), millis(sorted, 0.95), millis(sorted, 0.99),
+            sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double millis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1e6;
+    }
+
+    record Summary(String endpoint, long requests, long success, long clientErrors, long shed, long serverErrors,
+                   long failures, double throughputPerSecond, double p50Millis, double p95Millis, double p99Millis, double maxMillis) {
+    }
+}
@@ -0,0 +1,380 @@
+package HealthFirstBackend.HealthFirstProject.load;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.PatientLoginRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
+import HealthFirstBackend.HealthFirstProject.service.FreeSlotIndex;
+import HealthFirstBackend.HealthFirstProject.service.ProviderAvailabilityService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * End-to-end load test: boots the whole application on an in-process H2 database in MySQL mode (profiles
+ * test + loadtest), seeds providers, patients and a few weeks of slots, then drives mixed HTTP traffic over
+ * loopback at fixed per-endpoint rates and reports requests, outcomes, throughput and p50/p95/p99 latency
+ * per endpoint. Needs no network or external database.
+ *
+ * <p>Traffic is open-loop: requests are issued on schedule whether or not earlier ones have returned, and
+ * latency is measured from the scheduled send time, so a stalled server shows up as latency instead of
+ * silently lowering the request rate.
+ *
+ * <p>Not part of the default test run; execute with e.g.
+ * {@code mvn test -Dtest=MixedTrafficLoadBenchmark -Dload.duration=2m -Dload.rates=book=50,search_available=100}.
+ * Settings (system properties, defaults in brackets): load.providers [200], load.patients [1000],
+ * load.days [14] of seeded slots, load.warmup [10s], load.duration [60s], load.workers [64] concurrent
+ * requests, load.rates [see DEFAULT_RATES] in requests/second, load.report [target/load-report.json].
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "loadtest"})
+class MixedTrafficLoadBenchmark {
+    private static final String PASSWORD = "LoadTest123!";
+    private static final String DEFAULT_RATES = "patient_login=5,provider_login=2,create_availability=2,book=20,"
+        + "provider_appointments=20,patient_appointments=20,search_available=20";
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Pediatrics", "Neurology", "Orthopedics"};
+    private static final String[] CITIES = {"Boston", "Chicago", "Denver", "Seattle"};
+    private static final LocalTime DAY_START = LocalTime.of(9, 0);
+    private static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 16;
+    private static final int AUTHENTICATED_PATIENTS = 10;
+
+    private static final int PROVIDERS = Integer.getInteger("load.providers", 200);
+    private static final int PATIENTS = Integer.getInteger("load.patients", 1000);
+    private static final int DAYS = Integer.getInteger("load.days", 14);
+    private static final int WORKERS = Integer.getInteger("load.workers", 64);
+    private static final Duration WARMUP = DurationStyle.detectAndParse(System.getProperty("load.warmup", "10s"));
+    private static final Duration DURATION = DurationStyle.detectAndParse(System.getProperty("load.duration", "60s"));
+    private static final String RATES = System.getProperty("load.rates", DEFAULT_RATES);
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private FreeSlotIndex freeSlotIndex;
+    @Autowired
+    private PasswordHasher passwordHasher;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .executor(Executors.newFixedThreadPool(4))
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+    private List<Provider> providers;
+    private List<Patient> patients;
+    private List<String> patientTokens;
+    private LocalDate firstDay;
+
+    @Test
+    void runMixedTraffic() throws Exception {
+        long seedStarted = System.nanoTime();
+        seed();
+        System.out.printf("Seeded %d providers, %d patients and %d slots in %d s%n", PROVIDERS, PATIENTS,
+            (long) PROVIDERS * DAYS * SLOTS_PER_DAY, TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStarted));
+
+        Map<String, Endpoint> endpoints = endpoints();
+        Map<String, Double> rates = parseRates(RATES, endpoints);
+        ExecutorService workers = Executors.newFixedThreadPool(WORKERS);
+        try {
+            drive(workers, endpoints, rates, WARMUP, null);
+            Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+            rates.keySet().forEach(name -> recorders.put(name, new LatencyRecorder(name)));
+            drive(workers, endpoints, rates, DURATION, recorders);
+
+            List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+            recorders.values().forEach(recorder -> summaries.add(recorder.summarize(DURATION.toMillis() / 1000.0)));
+            print(summaries);
+            write(rates, summaries);
+            for (LatencyRecorder.Summary summary : summaries) {
+                assertEquals(0, summary.serverErrors() + summary.failures(), summary.endpoint() + " had server errors or failures other than 503s");
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void seed() throws Exception {
+        // One BCrypt hash shared by every seeded account; logins still pay the full verification cost
+        String passwordHash = passwordHasher.encode(PASSWORD);
+        List<Provider> newProviders = new ArrayList<>(PROVIDERS);
+        for (int i = 0; i < PROVIDERS; i++) {
+            newProviders.add(newProvider(i, passwordHash));
+        }
+        providers = providerRepository.saveAll(newProviders);
+        List<Patient> newPatients = new ArrayList<>(PATIENTS);
+        for (int i = 0; i < PATIENTS; i++) {
+            newPatients.add(newPatient(i, passwordHash));
+        }
+        patients = patientRepository.saveAll(newPatients);
+
+        firstDay = LocalDate.now().plusDays(1);
+        for (Provider provider : providers) {
+            ProviderAvailabilityRequestDTO request = availability(firstDay, DAY_START, DAY_START.plusMinutes((long) SLOT_MINUTES * SLOTS_PER_DAY));
+            request.setIs_recurring(DAYS > 1);
+            request.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.DAILY);
+            request.setRecurrence_end_date(firstDay.plusDays(DAYS - 1));
+            availabilityService.createAvailability(provider.getId(), request);
+        }
+        freeSlotIndex.rebuild();
+
+        patientTokens = new ArrayList<>();
+        for (int i = 0; i < AUTHENTICATED_PATIENTS; i++) {
+            HttpResponse<String> response = client.send(patientLogin(patients.get(i)), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode(), response.body());
+            JsonNode body = objectMapper.readTree(response.body());
+            patientTokens.add(body.path("data").path("access_token").asText());
+        }
+    }
+
+    private Map<String, Endpoint> endpoints() {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        endpoints.put("patient_login", random -> patientLogin(patients.get(random.nextInt(patients.size()))));
+        endpoints.put("provider_login", random -> {
+            ProviderLoginRequestDTO login = new ProviderLoginRequestDTO();
+            login.setEmail(providers.get(random.nextInt(providers.size())).getEmail());
+            login.setPassword(PASSWORD);
+            return post("/api/v1/provider/login", login);
+        });
+        endpoints.put("create_availability", random -> {
+            LocalTime start = LocalTime.of(6 + random.nextInt(12), 0);
+            return post("/api/v1/provider/availability",
+                availability(firstDay.plusDays(DAYS + random.nextInt(300)), start, start.plusHours(1)));
+        });
+        endpoints.put("book", random -> {
+            BookAppointmentRequestDTO booking = new BookAppointmentRequestDTO();
+            booking.setProviderId(providers.get(random.nextInt(providers.size())).getId().toString());
+            booking.setPatientId(patients.get(random.nextInt(patients.size())).getId().toString());
+            booking.setAppointmentDateTime(LocalDateTime.of(firstDay.plusDays(random.nextInt(DAYS)),
+                DAY_START.plusMinutes((long) SLOT_MINUTES * random.nextInt(SLOTS_PER_DAY))));
+            booking.setAppointmentType("CONSULTATION");
+            return post("/api/v1/appointments/book", booking);
+        });
+        endpoints.put("provider_appointments", random ->
+            get("/api/v1/appointments/provider/" + providers.get(random.nextInt(providers.size())).getId() + "?limit=50", null));
+        endpoints.put("patient_appointments", random -> {
+            int patient = random.nextInt(AUTHENTICATED_PATIENTS);
+            return get("/api/v1/appointments/patient/" + patients.get(patient).getId() + "?limit=50", patientTokens.get(patient));
+        });
+        endpoints.put("search_available", random -> get("/api/v1/appointments/available?specialization="
+            + SPECIALIZATIONS[random.nextInt(SPECIALIZATIONS.length)] + "&city=" + CITIES[random.nextInt(CITIES.length)], null));
+        return endpoints;
+    }
+
+    /**
+     * Issues every endpoint's requests on its own fixed schedule for {@code length}, then waits for the requests
+     * still in flight. Responses are recorded when {@code recorders} is not null.
+     */
+    private void drive(ExecutorService workers, Map<String, Endpoint> endpoints, Map<String, Double> rates,
+                       Duration length, Map<String, LatencyRecorder> recorders) throws InterruptedException {
+        if (length.isZero()) {
+            return;
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        long start = System.nanoTime();
+        rates.forEach((name, rate) -> {
+            Endpoint endpoint = endpoints.get(name);
+            LatencyRecorder recorder = recorders != null ? recorders.get(name) : null;
+            long periodNanos = (long) (1_000_000_000L / rate);
+            AtomicLong issued = new AtomicLong();
+            scheduler.scheduleAtFixedRate(() -> {
+                long intended = start + issued.getAndIncrement() * periodNanos;
+                inFlight.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        int status = send(endpoint);
+                        if (recorder != null) {
+                            recorder.record(System.nanoTime() - intended, status);
+                        }
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        });
+        Thread.sleep(length.toMillis());
+        scheduler.shutdownNow();
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private int send(Endpoint endpoint) {
+        try {
+            return client.send(endpoint.request(ThreadLocalRandom.current()), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private HttpRequest patientLogin(Patient patient) {
+        PatientLoginRequestDTO login = new PatientLoginRequestDTO();
+        login.setEmail(patient.getEmail());
+        login.setPassword(PASSWORD);
+        return post("/api/v1/patient/login", login);
+    }
+
+    private HttpRequest post(String path, Object body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest get(String path, String bearerToken) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).timeout(Duration.ofSeconds(30)).GET();
+        if (bearerToken != null) {
+            request.header("Authorization", "Bearer " + bearerToken);
+        }
+        return request.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private void print(List<LatencyRecorder.Summary> summaries) {
+        System.out.printf("%n%-22s %9s %8s %8s %6s %6s %6s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "2xx", "4xx",
+            "503", "5xx", "fail", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.Summary s : summaries) {
+            System.out.printf("%-22s %9d %8d %8d %6d %6d %6d %9.1f %9.2f %9.2f %9.2f %9.2f%n", s.endpoint(), s.requests(),
+                s.success(), s.clientErrors(), s.shed(), s.serverErrors(), s.failures(), s.throughputPerSecond(),
+                s.p50Millis(), s.p95Millis(), s.p99Millis(), s.maxMillis());
+        }
+    }
+
+    private void write(Map<String, Double> rates, List<LatencyRecorder.Summary> summaries) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("providers", PROVIDERS);
+        report.put("patients", PATIENTS);
+        report.put("days", DAYS);
+        report.put("workers", WORKERS);
+        report.put("duration_seconds", DURATION.toSeconds());
+        report.put("rates", rates);
+        report.put("endpoints", summaries);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(REPORT.toFile(), report);
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+    }
+
+    private static Map<String, Double> parseRates(String spec, Map<String, Endpoint> endpoints) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || !endpoints.containsKey(parts[0])) {
+                throw new IllegalArgumentException("load.rates entries must be <endpoint>=<requests/s> with endpoint one of "
+                    + endpoints.keySet() + ", was: " + entry);
+            }
+            double rate = Double.parseDouble(parts[1]);
+            if (rate > 0) {
+                rates.put(parts[0], rate);
+            }
+        }
+        return rates;
+    }
+
+    private static ProviderAvailabilityRequestDTO availability(LocalDate date, LocalTime start, LocalTime end) {
+        ProviderAvailabilityRequestDTO request = new ProviderAvailabilityRequestDTO();
+        request.setDate(date);
+        request.setStart_time(start);
+        request.setEnd_time(end);
+        request.setTimezone("America/New_York");
+        request.setSlot_duration(SLOT_MINUTES);
+        request.setBreak_duration(0);
+        request.setAppointment_type(ProviderAvailabilityRequestDTO.AppointmentType.CONSULTATION);
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        request.setLocation(location);
+        return request;
+    }
+
+    private static Provider newProvider(int i, String passwordHash) {
+        Provider p = new Provider();
+        p.setFirstName("Provider");
+        p.setLastName("Load" + i);
+        p.setEmail("provider" + i + "@load.test");
+        p.setPhoneNumber(String.format("+1555%07d", i));
+        p.setPasswordHash(passwordHash);
+        p.setSpecialization(SPECIALIZATIONS[i % SPECIALIZATIONS.length]);
+        p.setLicenseNumber("LOAD" + i);
+        p.setYearsOfExperience(5 + i % 20);
+        p.setVerificationStatus(Provider.VerificationStatus.VERIFIED);
+        p.setActive(true);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet(i + " Medical Center Dr");
+        address.setCity(CITIES[i % CITIES.length]);
+        address.setState("MA");
+        address.setZip(String.format("%05d", 2100 + i % 50));
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private static Patient newPatient(int i, String passwordHash) {
+        Patient p = new Patient();
+        p.setFirstName("Patient");
+        p.setLastName("Load" + i);
+        p.setEmail("patient" + i + "@load.test");
+        p.setPhoneNumber(String.format("+1556%07d", i));
+        p.setPasswordHash(passwordHash);
+        p.setDateOfBirth(LocalDate.of(1950 + i % 50, 1 + i % 12, 1 + i % 28));
+        p.setGender(i % 2 == 0 ? Patient.Gender.FEMALE : Patient.Gender.MALE);
+        p.setEmailVerified(true);
+        p.setActive(true);
+        return p;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        HttpRequest request(ThreadLocalRandom random);
+    }
+}
@@ -0,0 +1,56 @@
+package HealthFirstBackend.HealthFirstProject.model;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void testLayoutFollowsVersion7() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7Generator.next();
+        long millis = id.getMostSignificantBits() >>> 16;
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000, "embedded timestamp " + millis);
+    }
+
+    @Test
+    void testIdsIncreaseWithinThreadAndAreUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 100_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<UUID>>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                List<UUID> ids = new ArrayList<>(perThread);
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(UuidV7Generator.next());
+                }
+                return ids;
+            }));
+        }
+        Set<UUID> all = new HashSet<>();
+        for (Future<List<UUID>> future : futures) {
+            List<UUID> ids = future.get(60, TimeUnit.SECONDS);
+            for (int i = 1; i < ids.size(); i++) {
+                // Unsigned comparison of the time and counter bits, which is also the BINARY(16) order
+                assertTrue(Long.compareUnsigned(ids.get(i).getMostSignificantBits(),
+                    ids.get(i - 1).getMostSignificantBits()) > 0);
+            }
+            all.addAll(ids);
+        }
+        executor.shutdown();
+        assertEquals(threads * perThread, all.size());
+    }
+}
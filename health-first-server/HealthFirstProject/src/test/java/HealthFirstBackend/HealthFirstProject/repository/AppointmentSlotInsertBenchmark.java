@@ -0,0 +1,88 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Rows/second for slot persistence via JPA saveAll versus AppointmentSlotBatchWriter.
+ * Not part of the default test run; execute with {@code mvn test -Dtest=AppointmentSlotInsertBenchmark}.
+ * Runs against H2 by default; activate a MySQL profile to measure rewriteBatchedStatements.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import(AppointmentSlotBatchWriter.class)
+class AppointmentSlotInsertBenchmark {
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+    private static final int CHUNK = 500;
+
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private AppointmentSlotBatchWriter batchWriter;
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void benchmarkSlotInserts() {
+        // Warm up both paths before measuring
+        saveAllInChunks(5_000);
+        batchInsertInChunks(5_000);
+        System.out.printf("%-10s %18s %18s%n", "rows", "saveAll rows/s", "batch rows/s");
+        for (int size : SIZES) {
+            double saveAll = rowsPerSecond(size, () -> saveAllInChunks(size));
+            double batch = rowsPerSecond(size, () -> batchInsertInChunks(size));
+            System.out.printf("%-10d %18.0f %18.0f%n", size, saveAll, batch);
+        }
+    }
+
+    private double rowsPerSecond(int rows, Runnable insert) {
+        long start = System.nanoTime();
+        insert.run();
+        long elapsed = System.nanoTime() - start;
+        entityManager.createQuery("DELETE FROM AppointmentSlot").executeUpdate();
+        return rows / (elapsed / 1_000_000_000.0);
+    }
+
+    // Previous path: entities through the persistence context, flushed and cleared per chunk
+    private void saveAllInChunks(int rows) {
+        UUID providerId = UUID.randomUUID();
+        for (int offset = 0; offset < rows; offset += CHUNK) {
+            slotRepository.saveAll(slots(providerId, offset, Math.min(CHUNK, rows - offset)));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private void batchInsertInChunks(int rows) {
+        UUID providerId = UUID.randomUUID();
+        for (int offset = 0; offset < rows; offset += CHUNK) {
+            batchWriter.insert(slots(providerId, offset, Math.min(CHUNK, rows - offset)));
+        }
+    }
+
+    private static List<AppointmentSlot> slots(UUID providerId, int offset, int count) {
+        UUID availabilityId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<AppointmentSlot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setAvailabilityId(availabilityId);
+            slot.setProviderId(providerId);
+            slot.setSlotStartTime(base.plusMinutes(15L * (offset + i)));
+            slot.setSlotEndTime(base.plusMinutes(15L * (offset + i + 1)));
+            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+            slot.setAppointmentType("CONSULTATION");
+            slots.add(slot);
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,170 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.test.context.ActiveProfiles;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Invokes every query method declared on the slot and availability repositories against a seeded H2 schema,
+ * EXPLAINs the SQL Hibernate issued and fails if any statement scans a whole table.
+ */
+@DataJpaTest(showSql = false, properties =
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "HealthFirstBackend.HealthFirstProject.repository.RepositoryQueryPlanTest$CapturingStatementInspector")
+@ActiveProfiles("test")
+class RepositoryQueryPlanTest {
+    @Autowired
+    private AppointmentSlotRepository appointmentSlotRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void seed() throws Exception {
+        LocalDate today = LocalDate.now();
+        for (int p = 0; p < 20; p++) {
+            UUID providerId = UUID.randomUUID();
+            for (int d = 0; d < 5; d++) {
+                ProviderAvailability availability = new ProviderAvailability();
+                availability.setProviderId(providerId);
+                availability.setDate(today.plusDays(d));
+                availability.setStartTime(LocalTime.of(9, 0));
+                availability.setEndTime(LocalTime.of(12, 0));
+                availability.setTimezone("UTC");
+                entityManager.persist(availability);
+                for (int s = 0; s < 6; s++) {
+                    LocalDateTime start = today.plusDays(d).atTime(9, 0).plusMinutes(30L * s);
+                    AppointmentSlot slot = new AppointmentSlot();
+                    slot.setAvailabilityId(availability.getId());
+                    slot.setProviderId(providerId);
+                    slot.setSlotStartTime(start);
+                    slot.setSlotEndTime(start.plusMinutes(30));
+                    if (s % 2 == 0) {
+                        slot.setStatus(AppointmentSlot.Status.BOOKED);
+                        slot.setPatientId(UUID.randomUUID());
+                        slot.setBookingReference("BK" + UUID.randomUUID());
+                    }
+                    entityManager.persist(slot);
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        try (PreparedStatement analyze = connection().prepareStatement("ANALYZE")) {
+            analyze.execute();
+        }
+    }
+
+    @Test
+    void testAppointmentSlotRepository_NoFullScans() throws Exception {
+        assertNoFullScans(AppointmentSlotRepository.class, appointmentSlotRepository);
+    }
+
+    @Test
+    void testProviderAvailabilityRepository_NoFullScans() throws Exception {
+        assertNoFullScans(ProviderAvailabilityRepository.class, availabilityRepository);
+    }
+
+    private void assertNoFullScans(Class<?> repositoryType, Object repository) throws Exception {
+        List<String> failures = new ArrayList<>();
+        int explained = 0;
+        for (Method method : repositoryType.getDeclaredMethods()) {
+            if (method.isDefault() || method.isSynthetic() || java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
+                continue;
+            }
+            CapturingStatementInspector.STATEMENTS.clear();
+            method.invoke(repository, sampleArguments(method));
+            List<String> statements = new ArrayList<>(CapturingStatementInspector.STATEMENTS);
+            assertFalse(statements.isEmpty(), method.getName() + " issued no SQL");
+            for (String sql : statements) {
+                String plan = explain(sql);
+                explained++;
+                if (plan.contains(".tableScan")) {
+                    failures.add(method.getName() + ":\n" + plan);
+                }
+            }
+        }
+        assertTrue(explained > 0);
+        assertTrue(failures.isEmpty(), "Full table scans:\n" + String.join("\n\n", failures));
+    }
+
+    private String explain(String sql) throws Exception {
+        try (PreparedStatement statement = connection().prepareStatement("EXPLAIN " + sql)) {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    private Connection connection() {
+        // Same connection as the test transaction, so the seeded rows are visible
+        return DataSourceUtils.getConnection(dataSource);
+    }
+
+    private static Object[] sampleArguments(Method method) {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            Class<?> type = types[i];
+            if (type == UUID.class) {
+                args[i] = UUID.randomUUID();
+            } else if (type == LocalDateTime.class) {
+                args[i] = LocalDateTime.now();
+            } else if (type == LocalDate.class) {
+                args[i] = LocalDate.now();
+            } else if (type == String.class) {
+                args[i] = "sample";
+            } else if (type.isEnum()) {
+                args[i] = type.getEnumConstants()[0];
+            } else if (Collection.class.isAssignableFrom(type)) {
+                Type element = ((ParameterizedType) method.getGenericParameterTypes()[i]).getActualTypeArguments()[0];
+                args[i] = element == UUID.class ? List.of(UUID.randomUUID()) : List.of(AppointmentSlot.Status.BOOKED);
+            } else if (type == Pageable.class) {
+                args[i] = PageRequest.ofSize(10);
+            } else {
+                throw new IllegalStateException("No sample value for " + type + " in " + method.getName());
+            }
+        }
+        return args;
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+        static final List<String> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package HealthFirstBackend.HealthFirstProject.repository;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.UuidV7Generator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput into appointment_slots as the table grows, with random version 4 ids against
+ * UuidV7Generator ids. Rows go through AppointmentSlotBatchWriter in committed chunks, and rows/second is
+ * printed for every tenth of the table. Not part of the default test run; execute with
+ * {@code mvn test -Dtest=TimeOrderedIdInsertBenchmark -Dbenchmark.rows=10000000}.
+ * Runs against H2 by default; page splits are an InnoDB effect, so activate a MySQL profile for numbers
+ * that mean anything for production.
+ */
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import(AppointmentSlotBatchWriter.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TimeOrderedIdInsertBenchmark {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int CHUNK = 500;
+    private static final int REPORTS = 10;
+
+    @Autowired
+    private AppointmentSlotBatchWriter batchWriter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void benchmarkIdStrategies() {
+        double[] random = fill(UUID::randomUUID);
+        double[] timeOrdered = fill(UuidV7Generator::next);
+        System.out.printf("%-12s %18s %18s%n", "table rows", "v4 rows/s", "v7 rows/s");
+        for (int i = 0; i < REPORTS; i++) {
+            System.out.printf("%-12d %18.0f %18.0f%n", (long) ROWS / REPORTS * (i + 1), random[i], timeOrdered[i]);
+        }
+        jdbcTemplate.update("DELETE FROM appointment_slots");
+    }
+
+    private double[] fill(Supplier<UUID> ids) {
+        jdbcTemplate.update("DELETE FROM appointment_slots");
+        double[] rowsPerSecond = new double[REPORTS];
+        int perReport = ROWS / REPORTS;
+        UUID providerId = UUID.randomUUID();
+        int inserted = 0;
+        for (int report = 0; report < REPORTS; report++) {
+            long start = System.nanoTime();
+            for (int offset = 0; offset < perReport; offset += CHUNK) {
+                List<AppointmentSlot> chunk = slots(ids, providerId, inserted, Math.min(CHUNK, perReport - offset));
+                transactionTemplate.executeWithoutResult(status -> batchWriter.insert(chunk));
+                inserted += chunk.size();
+            }
+            rowsPerSecond[report] = perReport / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+        return rowsPerSecond;
+    }
+
+    private static List<AppointmentSlot> slots(Supplier<UUID> ids, UUID providerId, int offset, int count) {
+        UUID availabilityId = UUID.randomUUID();
+        LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+        List<AppointmentSlot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setId(ids.get());
+            slot.setAvailabilityId(availabilityId);
+            slot.setProviderId(providerId);
+            slot.setSlotStartTime(base.plusMinutes(15L * (offset + i)));
+            slot.setSlotEndTime(base.plusMinutes(15L * (offset + i + 1)));
+            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+            slot.setAppointmentType("CONSULTATION");
+            slots.add(slot);
+        }
+        return slots;
+    }
+}
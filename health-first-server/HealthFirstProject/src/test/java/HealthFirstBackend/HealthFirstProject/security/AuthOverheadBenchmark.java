@@ -0,0 +1,54 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request JWT authentication cost: the previous filter path (derive key and build a parser for
+ * validateToken, then again for getClaims) against a single parseClaims on the cached parser.
+ * Run after {@code mvn test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) HealthFirstBackend.HealthFirstProject.security.AuthOverheadBenchmark}
+ * where cp.txt comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthOverheadBenchmark {
+    private static final String SECRET = "ReplaceWithASecureSecretKeyForJWTGeneration1234567890";
+
+    private JwtUtil jwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET);
+        token = jwtUtil.generateToken("123e4567-e89b-12d3-a456-426614174000", "jane.smith@email.com", "PATIENT");
+    }
+
+    @Benchmark
+    public Claims uncachedValidateThenGetClaims() {
+        Key validateKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Jwts.parserBuilder().setSigningKey(validateKey).build().parseClaimsJws(token);
+        Key claimsKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parserBuilder().setSigningKey(claimsKey).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims cachedParseClaims() {
+        return jwtUtil.parseClaims(token).orElseThrow();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(AuthOverheadBenchmark.class.getSimpleName()).build()).run();
+    }
+}
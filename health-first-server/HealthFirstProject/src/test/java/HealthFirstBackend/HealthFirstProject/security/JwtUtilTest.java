@@ -0,0 +1,63 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Optional;
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    private static final String SECRET = "TestSecretKeyForJwtUtilTestsThatIsLongEnough123";
+
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET);
+
+    @Test
+    void testParseClaims_ValidToken() {
+        String token = jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT");
+        Optional<Claims> claims = jwtUtil.parseClaims(token);
+        assertTrue(claims.isPresent());
+        assertEquals("patient-1", claims.get().get("patient_id", String.class));
+        assertEquals("jane@email.com", claims.get().get("email", String.class));
+        assertTrue(jwtUtil.validateToken(token));
+    }
+
+    @Test
+    void testParseClaims_TamperedToken() {
+        String token = jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        assertTrue(jwtUtil.parseClaims(tampered).isEmpty());
+        assertFalse(jwtUtil.validateToken(tampered));
+    }
+
+    @Test
+    void testParseClaims_TokenFromOtherSecret() {
+        JwtUtil other = new JwtUtil("AnotherSecretKeyForJwtUtilTestsThatIsLongEnough456");
+        assertTrue(jwtUtil.parseClaims(other.generateToken("patient-1", "jane@email.com", "PATIENT")).isEmpty());
+    }
+
+    @Test
+    void testParseClaims_Garbage() {
+        assertTrue(jwtUtil.parseClaims("not-a-jwt").isEmpty());
+        assertTrue(jwtUtil.parseClaims("").isEmpty());
+    }
+
+    @Test
+    void testParseClaims_RecordsVerifyTimerByOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(jwtUtil, "meterRegistry", registry);
+        jwtUtil.parseClaims(jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT"));
+        jwtUtil.parseClaims("not-a-jwt");
+        jwtUtil.parseClaims("");
+        assertEquals(1, registry.get("healthfirst.jwt.verify").tag("outcome", "valid").timer().count());
+        assertEquals(2, registry.get("healthfirst.jwt.verify").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void testRefreshToken_RoundTrip() {
+        JwtRefreshUtil refreshUtil = new JwtRefreshUtil();
+        String token = refreshUtil.generateRefreshToken("provider-1", "john@clinic.com");
+        assertEquals("provider-1", refreshUtil.parseClaims(token).orElseThrow().get("providerId", String.class));
+        assertTrue(refreshUtil.parseClaims(jwtUtil.generateToken("p", "e@x.com", "PATIENT")).isEmpty());
+    }
+}
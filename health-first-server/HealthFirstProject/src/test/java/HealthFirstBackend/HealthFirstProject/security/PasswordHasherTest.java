@@ -0,0 +1,134 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTest {
+    private PasswordHasher hasher;
+
+    @AfterEach
+    void tearDown() {
+        if (hasher != null) {
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void testEncodeAndMatches() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(4), 4, PasswordHasher.newExecutor(2, 4), 5000);
+        String hash = hasher.encode("SecurePassword123!");
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("SecurePassword123!", hash));
+        assertFalse(hasher.matches("WrongPassword123!", hash));
+    }
+
+    @Test
+    void testNeedsRehash_ComparesStoredCostWithConfigured() {
+        hasher = new PasswordHasher(new BCryptPasswordEncoder(5), 5, PasswordHasher.newExecutor(1, 1), 5000);
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("pw")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(6).encode("pw")));
+        assertFalse(hasher.needsRehash(hasher.encode("pw")));
+        assertFalse(hasher.needsRehash("not-a-bcrypt-hash"));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test
+    void testSaturatedPoolRejectsWithRetryAfter() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        BCryptPasswordEncoder blocking = new BCryptPasswordEncoder(4) {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encode(rawPassword);
+            }
+        };
+        hasher = new PasswordHasher(blocking, 4, PasswordHasher.newExecutor(1, 1), 5000);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> hasher.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> hasher.encode("second"));
+            while (hasher.getQueuedTasks() < 1) {
+                Thread.onSpinWait();
+            }
+
+            HashingCapacityExceededException ex = assertThrows(HashingCapacityExceededException.class,
+                () -> hasher.encode("third"));
+            assertEquals(1, ex.getRetryAfterSeconds());
+
+            release.countDown();
+            assertNotNull(running.get(5, TimeUnit.SECONDS));
+            assertNotNull(queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testTimeoutSurfacesAsCapacityExceeded() {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        hasher = new PasswordHasher(slow, 4, PasswordHasher.newExecutor(1, 1), 50);
+        try {
+            assertThrows(HashingCapacityExceededException.class, () -> hasher.matches("pw", "$2a$04$x"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testHashTimerTaggedByOperationAndOutcome() {
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder slowMatches = new BCryptPasswordEncoder(4) {
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+        };
+        hasher = new PasswordHasher(slowMatches, 4, PasswordHasher.newExecutor(1, 1), 50);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ReflectionTestUtils.setField(hasher, "meterRegistry", registry);
+        try {
+            hasher.encode("pw");
+            hasher.encode("pw");
+            assertThrows(HashingCapacityExceededException.class, () -> hasher.matches("pw", "$2a$04$x"));
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(2, registry.get("healthfirst.password.hash").tags("operation", "encode", "outcome", "success").timer().count());
+        assertEquals(1, registry.get("healthfirst.password.hash").tags("operation", "matches", "outcome", "rejected").timer().count());
+    }
+}
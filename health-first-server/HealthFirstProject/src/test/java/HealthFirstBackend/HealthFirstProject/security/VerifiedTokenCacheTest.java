@@ -0,0 +1,118 @@
+package HealthFirstBackend.HealthFirstProject.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedTokenCacheTest {
+    private static final String SECRET = "TestSecretKeyForJwtUtilTestsThatIsLongEnough123";
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final JwtUtil jwtUtil = new JwtUtil(SECRET) {
+        @Override
+        public Optional<Claims> parseClaims(String token) {
+            verifications.incrementAndGet();
+            return super.parseClaims(token);
+        }
+    };
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testResolve_SecondLookupIsServedFromCache() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, nanos::get);
+        String token = jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT");
+
+        VerifiedTokenCache.VerifiedToken first = cache.resolve(token).orElseThrow();
+        VerifiedTokenCache.VerifiedToken second = cache.resolve(token).orElseThrow();
+
+        assertEquals("jane@email.com", first.email());
+        assertEquals("patient-1", first.userId());
+        assertEquals("PATIENT", first.role());
+        assertEquals(first, second);
+        assertEquals(1, verifications.get());
+        assertEquals(1, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void testResolve_InvalidTokenIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, nanos::get);
+
+        assertTrue(cache.resolve("not-a-jwt").isEmpty());
+        assertTrue(cache.resolve("not-a-jwt").isEmpty());
+
+        assertEquals(2, verifications.get());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testResolve_EntryExpiresWithToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, nanos::get);
+        String token = jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT");
+        cache.resolve(token);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(20));
+        cache.resolve(token);
+        assertEquals(1, verifications.get());
+
+        // Past the token's exp the entry is gone, and the token itself no longer verifies
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(15));
+        cache.cleanUp();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testResolve_BoundedBySize() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 10, nanos::get);
+        for (int i = 0; i < 50; i++) {
+            cache.resolve(jwtUtil.generateToken("patient-" + i, "user" + i + "@email.com", "PATIENT"));
+        }
+        cache.cleanUp();
+        assertTrue(cache.size() <= 10);
+    }
+
+    @Test
+    void testFilter_AuthenticatesFromCachedToken() throws Exception {
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtUtil, 100, nanos::get);
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", cache);
+        String token = jwtUtil.generateToken("patient-1", "jane@email.com", "PATIENT");
+
+        for (int i = 0; i < 3; i++) {
+            SecurityContextHolder.clearContext();
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/patient/appointments");
+            request.addHeader("Authorization", "Bearer " + token);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertNotNull(authentication);
+            assertEquals("jane@email.com", authentication.getName());
+        }
+        assertEquals(1, verifications.get());
+    }
+
+    @Test
+    void testFilter_NoHeaderLeavesContextEmpty() throws Exception {
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache", new VerifiedTokenCache(jwtUtil, 100, nanos::get));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/patient/appointments"),
+                new MockHttpServletResponse(), new MockFilterChain());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(0, verifications.get());
+    }
+}
@@ -0,0 +1,174 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.exception.SlotUnavailableException;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({AppointmentService.class, BookingReferenceGenerator.class, FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AppointmentBookingConcurrencyTest {
+    private static final int HOT_SLOTS = 20;
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 2000;
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+
+    private Provider provider;
+    private List<Patient> patients;
+    private LocalDateTime firstSlot;
+
+    @BeforeEach
+    void setUp() {
+        provider = providerRepository.save(newProvider());
+        patients = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            patients.add(patientRepository.save(newPatient(i)));
+        }
+        firstSlot = LocalDate.now().plusDays(1).atTime(9, 0);
+        UUID availabilityId = UUID.randomUUID();
+        List<AppointmentSlot> slots = new ArrayList<>();
+        for (int i = 0; i < HOT_SLOTS; i++) {
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setAvailabilityId(availabilityId);
+            slot.setProviderId(provider.getId());
+            slot.setSlotStartTime(firstSlot.plusMinutes(15L * i));
+            slot.setSlotEndTime(firstSlot.plusMinutes(15L * (i + 1)));
+            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+            slots.add(slot);
+        }
+        slotRepository.saveAll(slots);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentBooking_EachSlotBookedExactlyOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            final int attempt = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                BookAppointmentRequestDTO request = new BookAppointmentRequestDTO();
+                request.setProviderId(provider.getId().toString());
+                request.setPatientId(patients.get(attempt % THREADS).getId().toString());
+                request.setAppointmentDateTime(firstSlot.plusMinutes(15L * (attempt % HOT_SLOTS)));
+                request.setAppointmentType("CONSULTATION");
+                try {
+                    appointmentService.bookAppointment(request);
+                    booked.incrementAndGet();
+                } catch (SlotUnavailableException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            // Any exception other than a typed conflict (deadlock, lock timeout, constraint violation) fails here
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(HOT_SLOTS, booked.get());
+        assertEquals(ATTEMPTS - HOT_SLOTS, conflicts.get());
+
+        List<AppointmentSlot> slots = slotRepository.findByProviderIdOrderBySlotStartTime(provider.getId());
+        assertEquals(HOT_SLOTS, slots.size());
+        for (AppointmentSlot slot : slots) {
+            assertEquals(AppointmentSlot.Status.BOOKED, slot.getStatus());
+            assertNotNull(slot.getPatientId());
+            assertNotNull(slot.getBookingReference());
+        }
+        Map<String, Long> references = slots.stream()
+            .collect(Collectors.groupingBy(AppointmentSlot::getBookingReference, Collectors.counting()));
+        assertEquals(HOT_SLOTS, references.size());
+    }
+
+    @Test
+    void testBooking_AlreadyBookedSlotIsTypedConflict() {
+        BookAppointmentRequestDTO request = new BookAppointmentRequestDTO();
+        request.setProviderId(provider.getId().toString());
+        request.setPatientId(patients.get(0).getId().toString());
+        request.setAppointmentDateTime(firstSlot);
+        request.setAppointmentType("CONSULTATION");
+        assertEquals("BOOKED", appointmentService.bookAppointment(request).getData().getStatus());
+
+        request.setPatientId(patients.get(1).getId().toString());
+        SlotUnavailableException ex = assertThrows(SlotUnavailableException.class,
+            () -> appointmentService.bookAppointment(request));
+        assertEquals(provider.getId(), ex.getProviderId());
+        assertEquals(firstSlot, ex.getSlotStartTime());
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient(int i) {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith" + (char) ('a' + i));
+        p.setEmail("jane" + i + "@email.com");
+        p.setPhoneNumber("+1555100" + String.format("%04d", i));
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
@@ -0,0 +1,157 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentExportReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({AppointmentExportService.class, AppointmentExportReader.class})
+class AppointmentExportServiceTest {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Autowired
+    private AppointmentExportService exportService;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Provider provider;
+    private Patient patient;
+    private LocalDateTime monday;
+
+    @BeforeEach
+    void setUp() {
+        provider = entityManager.persist(newProvider("John", "Doe", "john.doe@clinic.com", "+15550000001", "LIC12345"));
+        Provider other = entityManager.persist(newProvider("Ann", "Lee", "ann.lee@clinic.com", "+15550000002", "LIC54321"));
+        patient = entityManager.persist(newPatient());
+        monday = LocalDate.now().plusDays(7).atTime(9, 0);
+        UUID availabilityId = UUID.randomUUID();
+        for (int i = 0; i < 4; i++) {
+            entityManager.persist(slot(availabilityId, provider.getId(), monday.plusHours(i), i % 2 == 0 ? patient : null));
+        }
+        entityManager.persist(slot(availabilityId, other.getId(), monday.plusMinutes(30), patient));
+        entityManager.persist(slot(availabilityId, provider.getId(), monday.plusDays(3), patient));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testNdjsonExportFiltersAndOrders() throws Exception {
+        List<JsonNode> rows = ndjson(exportService.prepare(null, null, monday, monday.plusDays(1), null));
+
+        assertEquals(3, rows.size());
+        assertEquals(List.of(monday, monday.plusMinutes(30), monday.plusHours(2)), rows.stream()
+            .map(row -> LocalDateTime.parse(row.get("slot_start_time").asText())).toList());
+        JsonNode first = rows.get(0);
+        assertEquals("BOOKED", first.get("status").asText());
+        assertEquals(provider.getId().toString(), first.get("provider_id").asText());
+        assertEquals("John Doe", first.get("provider_name").asText());
+        assertEquals("Jane \"JJ\" Smith, Jr.", first.get("patient_name").asText());
+        assertEquals("CONSULTATION", first.get("appointment_type").asText());
+        assertTrue(first.get("booking_reference").asText().startsWith("BK"));
+
+        List<JsonNode> open = ndjson(exportService.prepare("ndjson", List.of(AppointmentSlot.Status.AVAILABLE), null, null,
+            provider.getId()));
+        assertEquals(2, open.size());
+        assertTrue(open.get(0).get("patient_id").isNull());
+        assertTrue(open.get(0).get("patient_name").isNull());
+    }
+
+    @Test
+    void testCsvExportQuotesFields() throws Exception {
+        AppointmentExportService.ExportQuery query = exportService.prepare("CSV",
+            List.of(AppointmentSlot.Status.BOOKED, AppointmentSlot.Status.AVAILABLE), monday, monday.plusHours(1), provider.getId());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(1, exportService.write(query, out));
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertEquals("appointment_id,booking_reference,provider_id,provider_name,patient_id,patient_name,slot_start_time," +
+            "slot_end_time,status,appointment_type,created_at,updated_at", lines[0]);
+        assertTrue(lines[1].contains(",John Doe," + patient.getId() + ",\"Jane \"\"JJ\"\" Smith, Jr.\"," + monday + ":00,"),
+            lines[1]);
+    }
+
+    @Test
+    void testPrepareRejectsInvalidParameters() {
+        assertThrows(IllegalArgumentException.class, () -> exportService.prepare("xml", null, null, null, null));
+        assertThrows(IllegalArgumentException.class, () -> exportService.prepare(null, null, monday, monday, null));
+    }
+
+    private List<JsonNode> ndjson(AppointmentExportService.ExportQuery query) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = exportService.write(query, out);
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                rows.add(MAPPER.readTree(line));
+            }
+        }
+        assertEquals(written, rows.size());
+        return rows;
+    }
+
+    private static AppointmentSlot slot(UUID availabilityId, UUID providerId, LocalDateTime start, Patient patient) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setAvailabilityId(availabilityId);
+        slot.setProviderId(providerId);
+        slot.setSlotStartTime(start);
+        slot.setSlotEndTime(start.plusMinutes(30));
+        slot.setAppointmentType("CONSULTATION");
+        if (patient != null) {
+            slot.setStatus(AppointmentSlot.Status.BOOKED);
+            slot.setPatientId(patient.getId());
+            slot.setBookingReference("BK" + UUID.randomUUID());
+        } else {
+            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+        }
+        return slot;
+    }
+
+    private static Provider newProvider(String firstName, String lastName, String email, String phone, String license) {
+        Provider p = new Provider();
+        p.setFirstName(firstName);
+        p.setLastName(lastName);
+        p.setEmail(email);
+        p.setPhoneNumber(phone);
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber(license);
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private static Patient newPatient() {
+        Patient p = new Patient();
+        p.setFirstName("Jane \"JJ\"");
+        p.setLastName("Smith, Jr.");
+        p.setEmail("jane@email.com");
+        p.setPhoneNumber("+15551000001");
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
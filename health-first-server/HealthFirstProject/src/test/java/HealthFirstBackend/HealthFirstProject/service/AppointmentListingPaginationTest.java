@@ -0,0 +1,133 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.GetAppointmentsResponseDTO;
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({AppointmentService.class, BookingReferenceGenerator.class, FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class})
+class AppointmentListingPaginationTest {
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final UUID providerId = UUID.randomUUID();
+    private final UUID patientId = UUID.randomUUID();
+    private LocalDateTime base;
+
+    @BeforeEach
+    void setUp() {
+        base = LocalDate.now().plusDays(1).atTime(8, 0);
+        // 25 booked appointments, pairs sharing a start time to exercise the id tie-breaker
+        for (int i = 0; i < 25; i++) {
+            entityManager.persist(newSlot(base.plusMinutes(30L * (i / 2)), AppointmentSlot.Status.BOOKED));
+        }
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(newSlot(base.plusDays(1).plusMinutes(30L * i), AppointmentSlot.Status.CANCELLED));
+            entityManager.persist(newSlot(base.plusDays(2).plusMinutes(30L * i), AppointmentSlot.Status.AVAILABLE));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testProviderListing_WalksAllPagesInOrder() {
+        List<GetAppointmentsResponseDTO.Data.Appointment> all = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            GetAppointmentsResponseDTO.Data data = appointmentService
+                .getAppointmentsForProvider(providerId, null, null, null, cursor, 10).getData();
+            assertTrue(data.getAppointments().size() <= 10);
+            all.addAll(data.getAppointments());
+            cursor = data.getNext_cursor();
+            assertEquals(cursor != null, data.isHas_more());
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(25, all.size());
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            assertTrue(ids.add(all.get(i).getAppointment_id()));
+            assertEquals("BOOKED", all.get(i).getStatus());
+            if (i > 0) {
+                assertFalse(all.get(i).getAppointment_date_time().isBefore(all.get(i - 1).getAppointment_date_time()));
+            }
+        }
+    }
+
+    @Test
+    void testProviderListing_SummaryFromAggregateCoversWholeWindow() {
+        GetAppointmentsResponseDTO.Data data = appointmentService
+            .getAppointmentsForProvider(providerId, null, null, null, null, 5).getData();
+        assertEquals(5, data.getAppointments().size());
+        assertEquals(25, data.getSummary().getTotal_appointments());
+        assertEquals(25, data.getSummary().getUpcoming_appointments());
+        assertEquals(0, data.getSummary().getCompleted_appointments());
+        assertEquals(5, data.getSummary().getCancelled_appointments());
+    }
+
+    @Test
+    void testProviderListing_FiltersByStatusAndDateRange() {
+        GetAppointmentsResponseDTO.Data cancelled = appointmentService
+            .getAppointmentsForProvider(providerId, null, null, List.of(AppointmentSlot.Status.CANCELLED), null, null).getData();
+        assertEquals(5, cancelled.getAppointments().size());
+        assertFalse(cancelled.isHas_more());
+
+        GetAppointmentsResponseDTO.Data firstHour = appointmentService
+            .getAppointmentsForProvider(providerId, base, base.plusHours(1), null, null, null).getData();
+        assertEquals(4, firstHour.getAppointments().size());
+        assertEquals(4, firstHour.getSummary().getTotal_appointments());
+    }
+
+    @Test
+    void testPatientListing_Paginates() {
+        GetAppointmentsResponseDTO.Data first = appointmentService
+            .getAppointmentsForPatient(patientId, null, null, null, null, 20).getData();
+        assertEquals(20, first.getAppointments().size());
+        GetAppointmentsResponseDTO.Data second = appointmentService
+            .getAppointmentsForPatient(patientId, null, null, null, first.getNext_cursor(), 20).getData();
+        assertEquals(5, second.getAppointments().size());
+        assertNull(second.getNext_cursor());
+    }
+
+    @Test
+    void testListing_InvalidCursor() {
+        Exception ex = assertThrows(IllegalArgumentException.class,
+            () -> appointmentService.getAppointmentsForProvider(providerId, null, null, null, "not-a-cursor", null));
+        assertEquals("Invalid cursor", ex.getMessage());
+    }
+
+    private AppointmentSlot newSlot(LocalDateTime start, AppointmentSlot.Status status) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setAvailabilityId(UUID.randomUUID());
+        slot.setProviderId(providerId);
+        slot.setSlotStartTime(start);
+        slot.setSlotEndTime(start.plusMinutes(30));
+        slot.setStatus(status);
+        if (status != AppointmentSlot.Status.AVAILABLE) {
+            slot.setPatientId(patientId);
+            slot.setAppointmentType("CONSULTATION");
+            slot.setBookingReference("BK" + UUID.randomUUID());
+        }
+        return slot;
+    }
+}
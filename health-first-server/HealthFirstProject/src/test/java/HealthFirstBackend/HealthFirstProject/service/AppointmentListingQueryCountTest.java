@@ -0,0 +1,141 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.GetAppointmentsResponseDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Import({AppointmentService.class, BookingReferenceGenerator.class, FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class})
+class AppointmentListingQueryCountTest {
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void testProviderListing_StatementCountIndependentOfVolume() {
+        Provider small = seedProviderWithAppointments(5);
+        Provider large = seedProviderWithAppointments(200);
+
+        long smallCount = countStatements(() -> appointmentService.getAppointmentsForProvider(small.getId()));
+        long largeCount = countStatements(() -> appointmentService.getAppointmentsForProvider(large.getId()));
+
+        assertEquals(smallCount, largeCount);
+        assertTrue(largeCount <= MAX_STATEMENTS, "Listing issued " + largeCount + " statements");
+    }
+
+    @Test
+    void testPatientListing_StatementCountIndependentOfVolume() {
+        Patient patient = entityManager.persist(newPatient());
+        for (int i = 0; i < 50; i++) {
+            Provider provider = entityManager.persist(newProvider());
+            entityManager.persist(newBookedSlot(provider.getId(), patient.getId(), i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        long count = countStatements(() -> appointmentService.getAppointmentsForPatient(patient.getId()));
+
+        assertTrue(count <= MAX_STATEMENTS, "Listing issued " + count + " statements");
+    }
+
+    @Test
+    void testProviderListing_ResolvesNames() {
+        Provider provider = seedProviderWithAppointments(3);
+        GetAppointmentsResponseDTO response = appointmentService.getAppointmentsForProvider(provider.getId());
+        for (GetAppointmentsResponseDTO.Data.Appointment appointment : response.getData().getAppointments()) {
+            assertEquals("John Doe", appointment.getProvider_name());
+            assertTrue(appointment.getPatient_name().startsWith("Jane Smith"));
+        }
+    }
+
+    private long countStatements(Runnable listing) {
+        statistics.clear();
+        listing.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Provider seedProviderWithAppointments(int count) {
+        Provider provider = entityManager.persist(newProvider());
+        for (int i = 0; i < count; i++) {
+            Patient patient = entityManager.persist(newPatient());
+            entityManager.persist(newBookedSlot(provider.getId(), patient.getId(), i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return provider;
+    }
+
+    private AppointmentSlot newBookedSlot(UUID providerId, UUID patientId, int i) {
+        LocalDateTime start = LocalDate.now().plusDays(1).atTime(8, 0).plusMinutes(15L * i);
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setAvailabilityId(UUID.randomUUID());
+        slot.setProviderId(providerId);
+        slot.setPatientId(patientId);
+        slot.setSlotStartTime(start);
+        slot.setSlotEndTime(start.plusMinutes(15));
+        slot.setStatus(AppointmentSlot.Status.BOOKED);
+        slot.setAppointmentType("CONSULTATION");
+        slot.setBookingReference("BK" + UUID.randomUUID());
+        return slot;
+    }
+
+    private Provider newProvider() {
+        int n = sequence++;
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe" + n + "@clinic.com");
+        p.setPhoneNumber("+1555000" + String.format("%04d", n));
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC" + n);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient() {
+        int n = sequence++;
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith" + (char) ('a' + n % 26));
+        p.setEmail("jane" + n + "@email.com");
+        p.setPhoneNumber("+1555100" + String.format("%04d", n));
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
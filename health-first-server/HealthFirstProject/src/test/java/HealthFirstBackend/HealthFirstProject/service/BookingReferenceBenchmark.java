@@ -0,0 +1,39 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking reference generation on 4 threads: the previous millis + random UUID prefix against
+ * BookingReferenceGenerator. Run after {@code mvn test-compile} with the test classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) HealthFirstBackend.HealthFirstProject.service.BookingReferenceBenchmark}
+ * where cp.txt comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class BookingReferenceBenchmark {
+    private final BookingReferenceGenerator generator = new BookingReferenceGenerator(1, System::currentTimeMillis);
+
+    @Benchmark
+    public String timestampAndRandomUuid() {
+        return "BK" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+
+    @Benchmark
+    public String generator() {
+        return generator.next();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BookingReferenceBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,96 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingReferenceGeneratorTest {
+    private static final long NOW = BookingReferenceGenerator.EPOCH_MILLIS + 1_000_000L;
+
+    @Test
+    void testConcurrentGenerationHasNoCollisions() throws Exception {
+        int threads = 8;
+        int perThread = 500_000;
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(7, System::currentTimeMillis);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long[] ids = new long[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    ids[i] = generator.nextId();
+                }
+                return ids;
+            }));
+        }
+        start.countDown();
+        long[] all = new long[threads * perThread];
+        int offset = 0;
+        for (Future<long[]> future : futures) {
+            long[] ids = future.get(60, TimeUnit.SECONDS);
+            for (int i = 1; i < ids.length; i++) {
+                assertTrue(ids[i] > ids[i - 1], "ids from one thread must be increasing");
+            }
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        executor.shutdown();
+
+        Arrays.sort(all);
+        for (int i = 1; i < all.length; i++) {
+            assertNotEquals(all[i - 1], all[i]);
+        }
+    }
+
+    @Test
+    void testReferencesSortInGenerationOrder() {
+        AtomicLong clock = new AtomicLong(NOW);
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(1, clock::get);
+        List<String> references = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            references.add(generator.next());
+            if (i % 1000 == 0) {
+                clock.addAndGet(1);
+            }
+        }
+        List<String> sorted = new ArrayList<>(references);
+        sorted.sort(null);
+        assertEquals(references, sorted);
+        assertTrue(references.get(0).matches("BK[0-9A-HJKMNP-TV-Z]{13}"), references.get(0));
+    }
+
+    @Test
+    void testSequenceOverflowAndClockRegressionStayMonotonic() {
+        AtomicLong clock = new AtomicLong(NOW);
+        BookingReferenceGenerator generator = new BookingReferenceGenerator(0, clock::get);
+        long previous = generator.nextId();
+        for (int i = 0; i < 3 * (1 << BookingReferenceGenerator.SEQUENCE_BITS); i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        clock.addAndGet(-5_000);
+        assertTrue(generator.nextId() > previous);
+    }
+
+    @Test
+    void testNodeIdSeparatesInstances() {
+        BookingReferenceGenerator first = new BookingReferenceGenerator(1, () -> NOW);
+        BookingReferenceGenerator second = new BookingReferenceGenerator(2, () -> NOW);
+        assertNotEquals(first.next(), second.next());
+        assertEquals(1L, first.nextId() >>> BookingReferenceGenerator.SEQUENCE_BITS & BookingReferenceGenerator.MAX_NODE_ID);
+
+        assertThrows(IllegalArgumentException.class, () -> new BookingReferenceGenerator(1024, () -> NOW));
+        assertThrows(IllegalArgumentException.class, () -> new BookingReferenceGenerator(-1, () -> NOW));
+    }
+}
@@ -0,0 +1,224 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.OutboundEmail;
+import HealthFirstBackend.HealthFirstProject.repository.OutboundEmailRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false, properties = {
+    "email.outbox.batch-size=10",
+    "email.outbox.max-attempts=3",
+    "email.outbox.initial-backoff-ms=60000",
+    "email.outbox.workers=2"
+})
+@ActiveProfiles("test")
+@Import({EmailService.class, EmailOutboxDispatcher.class, EmailOutboxDispatcherTest.MailConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EmailOutboxDispatcherTest {
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailService emailService;
+    @Autowired
+    private EmailOutboxDispatcher dispatcher;
+    @Autowired
+    private OutboundEmailRepository outboxRepository;
+    @Autowired
+    private CountingMailSender mailSender;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+    }
+
+    @Test
+    void testDrain_SendsBatchesOverOneConnectionEach() throws MessagingException {
+        queue(25);
+        EmailOutboxDispatcher.Stats before = dispatcher.stats();
+        int connectionsBefore = mailSender.connections.get();
+        assertEquals(25, before.queueDepth());
+
+        assertEquals(25, dispatcher.drain());
+
+        MimeMessage[] received = smtp.getReceivedMessages();
+        assertEquals(25, received.length);
+        assertEquals("Verify your account", received[0].getSubject());
+        // 25 messages in batches of 10 -> 3 SMTP sessions
+        assertEquals(3, mailSender.connections.get() - connectionsBefore);
+        assertTrue(outboxRepository.findAll().stream().allMatch(e -> e.getStatus() == OutboundEmail.Status.SENT && e.getSentAt() != null));
+
+        EmailOutboxDispatcher.Stats after = dispatcher.stats();
+        assertEquals(0, after.queueDepth());
+        assertEquals(25, after.sent() - before.sent());
+        assertEquals(3, after.batches() - before.batches());
+        assertTrue(after.averageSendLatencyNanos() > 0);
+        assertTrue(after.maxSendLatencyNanos() >= after.averageSendLatencyNanos());
+        assertEquals(0, dispatcher.drain());
+    }
+
+    @Test
+    void testQueue_CommitsAndRollsBackWithCaller() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            emailService.queue("rolled.back@email.com", "Verify your account", "link");
+            status.setRollbackOnly();
+        });
+        assertEquals(0, outboxRepository.count());
+        assertThrows(IllegalTransactionStateException.class,
+            () -> emailService.queue("no.tx@email.com", "Verify your account", "link"));
+        queue(1);
+        assertEquals(1, outboxRepository.count());
+    }
+
+    @Test
+    void testDrain_RetriesWithBackoffThenGivesUp() {
+        queue(1);
+        smtp.stop();
+        EmailOutboxDispatcher.Stats before = dispatcher.stats();
+
+        LocalDateTime firstAttempt = LocalDateTime.now();
+        assertEquals(1, dispatcher.drain());
+        OutboundEmail email = outboxRepository.findAll().get(0);
+        assertEquals(OutboundEmail.Status.PENDING, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNotNull(email.getLastError());
+        assertTrue(email.getNextAttemptAt().isAfter(firstAttempt.plusSeconds(59)));
+        // Not due yet
+        assertEquals(0, dispatcher.drain());
+
+        makeDue(email);
+        dispatcher.drain();
+        email = outboxRepository.findAll().get(0);
+        assertEquals(2, email.getAttempts());
+        assertTrue(email.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(119)));
+
+        makeDue(email);
+        dispatcher.drain();
+        email = outboxRepository.findAll().get(0);
+        assertEquals(OutboundEmail.Status.FAILED, email.getStatus());
+        assertEquals(3, email.getAttempts());
+
+        EmailOutboxDispatcher.Stats after = dispatcher.stats();
+        assertEquals(2, after.retried() - before.retried());
+        assertEquals(1, after.failed() - before.failed());
+        assertEquals(0, after.queueDepth());
+    }
+
+    @Test
+    void testDrain_ReclaimsOnlyExpiredLeases() {
+        OutboundEmail abandoned = inFlight("abandoned@email.com", LocalDateTime.now().minusMinutes(1));
+        OutboundEmail owned = inFlight("owned@email.com", LocalDateTime.now().plusMinutes(5));
+
+        assertEquals(1, dispatcher.drain());
+
+        assertEquals(1, smtp.getReceivedMessages().length);
+        assertEquals(OutboundEmail.Status.SENT, outboxRepository.findById(abandoned.getId()).orElseThrow().getStatus());
+        assertEquals(OutboundEmail.Status.SENDING, outboxRepository.findById(owned.getId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testDrain_FailureAfterLostLeaseLeavesOtherDispatchersResult() {
+        queue(1);
+        smtp.stop();
+        // While this run is sending, its lease lapses and another dispatcher re-claims and sends the row
+        mailSender.beforeSend = () -> {
+            OutboundEmail email = outboxRepository.findAll().get(0);
+            email.setClaimToken("another-dispatcher");
+            email.setStatus(OutboundEmail.Status.SENT);
+            email.setAttempts(1);
+            email.setSentAt(LocalDateTime.now());
+            outboxRepository.save(email);
+        };
+        EmailOutboxDispatcher.Stats before = dispatcher.stats();
+        try {
+            assertEquals(1, dispatcher.drain());
+        } finally {
+            mailSender.beforeSend = null;
+        }
+
+        OutboundEmail email = outboxRepository.findAll().get(0);
+        assertEquals(OutboundEmail.Status.SENT, email.getStatus());
+        assertEquals(1, email.getAttempts());
+        assertNull(email.getLastError());
+        assertEquals(0, dispatcher.stats().retried() - before.retried());
+    }
+
+    private void queue(int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int i = 0; i < count; i++) {
+                emailService.queue("user" + i + "@email.com", "Verify your account", "Please verify: http://localhost/verify?token=" + i);
+            }
+        });
+    }
+
+    private void makeDue(OutboundEmail email) {
+        email.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(email);
+    }
+
+    private OutboundEmail inFlight(String recipient, LocalDateTime leaseUntil) {
+        OutboundEmail email = new OutboundEmail();
+        email.setRecipient(recipient);
+        email.setSubject("Verify your account");
+        email.setBody("link");
+        email.setStatus(OutboundEmail.Status.SENDING);
+        email.setClaimToken("another-dispatcher");
+        email.setNextAttemptAt(leaseUntil);
+        return outboxRepository.save(email);
+    }
+
+    static class CountingMailSender extends JavaMailSenderImpl {
+        final AtomicInteger connections = new AtomicInteger();
+        volatile Runnable beforeSend;
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            Runnable hook = beforeSend;
+            if (hook != null) {
+                hook.run();
+            }
+            super.doSend(mimeMessages, originalMessages);
+        }
+
+        @Override
+        protected Transport connectTransport() throws MessagingException {
+            connections.incrementAndGet();
+            return super.connectTransport();
+        }
+    }
+
+    @TestConfiguration
+    static class MailConfig {
+        @Bean
+        CountingMailSender mailSender() {
+            CountingMailSender sender = new CountingMailSender();
+            sender.setHost("localhost");
+            sender.setPort(ServerSetupTest.SMTP.getPort());
+            return sender;
+        }
+    }
+}
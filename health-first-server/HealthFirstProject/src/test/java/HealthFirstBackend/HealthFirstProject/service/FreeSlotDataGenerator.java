@@ -0,0 +1,82 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.Location;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic schedule for FreeSlotIndex benchmarks: providers spread over a handful of
+ * specializations and ~100 zip codes, each with a working day of 30-minute slots (staggered start times)
+ * for a number of consecutive days. 10,000 providers over 36 days gives ~5M slots.
+ */
+class FreeSlotDataGenerator {
+    static final String[] SPECIALIZATIONS = {"Cardiology", "Dermatology", "Pediatrics", "Orthopedics", "Neurology"};
+    static final int ZIP_CODES = 100;
+    static final int SLOTS_PER_DAY = 14;
+
+    private static final ProviderAvailability.AppointmentType[] APPOINTMENT_TYPES = ProviderAvailability.AppointmentType.values();
+
+    private final Random random;
+    private final List<FreeSlotIndex.ProviderProfile> providers = new ArrayList<>();
+
+    FreeSlotDataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    static String zip(int n) {
+        return String.format("%05d", 10000 + n * 37);
+    }
+
+    static String city(int n) {
+        return "City" + (n / 2);
+    }
+
+    /**
+     * Adds the providers and their AVAILABLE slots to the index and returns the number of slots inserted.
+     */
+    long populate(FreeSlotIndex index, int providerCount, LocalDate firstDay, int days) {
+        long slots = 0;
+        for (int p = 0; p < providerCount; p++) {
+            int area = random.nextInt(ZIP_CODES);
+            FreeSlotIndex.ProviderProfile provider = new FreeSlotIndex.ProviderProfile(new UUID(random.nextLong(), random.nextLong()),
+                "Provider " + p, SPECIALIZATIONS[p % SPECIALIZATIONS.length], city(area), "ST", zip(area));
+            providers.add(provider);
+            index.putProvider(provider);
+            Location.LocationType locationType = locationType();
+            ProviderAvailability.AppointmentType appointmentType = locationType == Location.LocationType.TELEMEDICINE
+                ? ProviderAvailability.AppointmentType.TELEMEDICINE
+                : APPOINTMENT_TYPES[random.nextInt(APPOINTMENT_TYPES.length - 1)];
+            int startMinute = 7 * 60 + 15 * random.nextInt(12);
+            for (int d = 0; d < days; d++) {
+                LocalDateTime dayStart = firstDay.plusDays(d).atStartOfDay().plusMinutes(startMinute);
+                for (int s = 0; s < SLOTS_PER_DAY; s++) {
+                    LocalDateTime start = dayStart.plusMinutes(30L * s);
+                    index.insert(provider, new UUID(random.nextLong(), random.nextLong()), start, start.plusMinutes(30),
+                        appointmentType, locationType);
+                    slots++;
+                }
+            }
+        }
+        return slots;
+    }
+
+    List<FreeSlotIndex.ProviderProfile> providers() {
+        return providers;
+    }
+
+    private Location.LocationType locationType() {
+        int roll = random.nextInt(100);
+        if (roll < 60) {
+            return Location.LocationType.CLINIC;
+        }
+        if (roll < 80) {
+            return Location.LocationType.HOSPITAL;
+        }
+        return roll < 95 ? Location.LocationType.TELEMEDICINE : Location.LocationType.HOME_VISIT;
+    }
+}
@@ -0,0 +1,250 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.Location;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FreeSlotIndexTest {
+    private static final LocalDateTime MORNING = LocalDateTime.of(2030, 1, 7, 9, 0);
+
+    private final AvailableSlotReader reader = mock(AvailableSlotReader.class);
+    private final ProfileCache profileCache = mock(ProfileCache.class);
+    private final FreeSlotIndex index = new FreeSlotIndex(reader, profileCache);
+    private final FreeSlotIndex.ProviderProfile boston = profile("Cardiology", "Boston", "02101");
+    private final FreeSlotIndex.ProviderProfile denver = profile("Cardiology", "Denver", "80202");
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testSearchReturnsEarliestSlotsAcrossProviders() {
+        index.putProvider(boston);
+        index.putProvider(denver);
+        insert(boston, MORNING.plusHours(2), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(denver, MORNING, ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(boston, MORNING.plusHours(1), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(denver, MORNING.plusDays(8), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(profile("Dermatology", "Boston", "02101"), MORNING, ProviderAvailability.AppointmentType.CONSULTATION,
+            Location.LocationType.CLINIC);
+
+        List<FreeSlotIndex.Match> matches = index.search(query(" cardiology ", null, null, null, null, 10));
+        assertEquals(3, matches.size());
+        assertEquals(List.of(MORNING, MORNING.plusHours(1), MORNING.plusHours(2)),
+            matches.stream().map(FreeSlotIndex.Match::start).toList());
+        assertEquals(denver, matches.get(0).provider());
+        assertEquals(MORNING.plusMinutes(30), matches.get(0).end());
+
+        assertEquals(2, index.search(query("Cardiology", null, null, null, null, 2)).size());
+        assertTrue(index.search(query("Neurology", null, null, null, null, 10)).isEmpty());
+    }
+
+    @Test
+    void testSearchFilters() {
+        insert(boston, MORNING, ProviderAvailability.AppointmentType.TELEMEDICINE, Location.LocationType.TELEMEDICINE);
+        insert(boston, MORNING.plusHours(1), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(denver, MORNING.plusHours(2), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.HOSPITAL);
+
+        assertEquals(List.of(MORNING, MORNING.plusHours(1), MORNING.plusHours(2)), starts(
+            query("Cardiology", null, null, null, null, 10)));
+        assertEquals(List.of(MORNING.plusHours(1), MORNING.plusHours(2)), starts(
+            query("Cardiology", ProviderAvailability.AppointmentType.CONSULTATION, null, null, null, 10)));
+        assertEquals(List.of(MORNING.plusHours(2)), starts(
+            query("Cardiology", null, Location.LocationType.HOSPITAL, null, null, 10)));
+        assertEquals(List.of(MORNING, MORNING.plusHours(1)), starts(query("Cardiology", null, null, "BOSTON", null, 10)));
+        assertEquals(List.of(MORNING.plusHours(2)), starts(query("Cardiology", null, null, null, "80202", 10)));
+        assertEquals(List.of(MORNING.plusHours(1)), starts(
+            query("Cardiology", null, Location.LocationType.CLINIC, "Boston", "02101", 10)));
+        assertTrue(starts(query("Cardiology", ProviderAvailability.AppointmentType.EMERGENCY, null, null, null, 10)).isEmpty());
+    }
+
+    @Test
+    void testRemoveAppliesOnlyAfterCommit() {
+        UUID slotId = insert(boston, MORNING, ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        AppointmentSlot slot = slot(slotId, boston.id(), MORNING);
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.removeAfterCommit(slot);
+        assertEquals(1, index.size());
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertEquals(1, index.size());
+
+        TransactionSynchronizationManager.initSynchronization();
+        index.removeAfterCommit(slot);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testAddLoadsUnknownActiveProvider() {
+        ProviderSummary provider = new ProviderSummary(UUID.randomUUID(), "John", "Doe", "Cardiology", true, "Boston", "MA", "02101");
+        when(profileCache.provider(provider.id())).thenReturn(Optional.of(provider));
+        ProviderSummary inactive = new ProviderSummary(UUID.randomUUID(), "Ann", "Lee", "Cardiology", false, null, null, null);
+        when(profileCache.provider(inactive.id())).thenReturn(Optional.of(inactive));
+
+        index.addAfterCommit(availability(provider.id()), List.of(slot(UUID.randomUUID(), provider.id(), MORNING)));
+        index.addAfterCommit(availability(inactive.id()), List.of(slot(UUID.randomUUID(), inactive.id(), MORNING)));
+
+        List<FreeSlotIndex.Match> matches = index.search(query("Cardiology", null, null, null, null, 10));
+        assertEquals(1, matches.size());
+        assertEquals("John Doe", matches.get(0).provider().name());
+        assertEquals(ProviderAvailability.AppointmentType.FOLLOW_UP, matches.get(0).appointmentType());
+        assertEquals(Location.LocationType.HOSPITAL, matches.get(0).locationType());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRebuildSkipsSlotsBookedWhileLoading() {
+        UUID booked = UUID.randomUUID();
+        UUID open = UUID.randomUUID();
+        doAnswer(invocation -> {
+            invocation.<Consumer<AvailableSlotReader.ProviderRow>>getArgument(0).accept(new AvailableSlotReader.ProviderRow(
+                boston.id(), boston.name(), boston.specialization(), boston.city(), boston.state(), boston.zip()));
+            return null;
+        }).when(reader).forEachActiveProvider(any());
+        doAnswer(invocation -> {
+            Consumer<AvailableSlotReader.SlotRow> consumer = invocation.getArgument(1);
+            consumer.accept(new AvailableSlotReader.SlotRow(booked, boston.id(), MORNING, MORNING.plusMinutes(30),
+                "CONSULTATION", "CLINIC"));
+            // A booking commits after its row was streamed, then the row for a slot it already claimed arrives
+            index.remove(boston.id(), booked, MORNING);
+            index.remove(boston.id(), open, MORNING.plusHours(1));
+            consumer.accept(new AvailableSlotReader.SlotRow(open, boston.id(), MORNING.plusHours(1),
+                MORNING.plusHours(1).plusMinutes(30), "CONSULTATION", "CLINIC"));
+            consumer.accept(new AvailableSlotReader.SlotRow(UUID.randomUUID(), boston.id(), MORNING.plusHours(2),
+                MORNING.plusHours(2).plusMinutes(30), "CONSULTATION", null));
+            return null;
+        }).when(reader).forEachAvailableSlot(any(), any());
+
+        index.rebuild();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(MORNING.plusHours(2)), starts(query("Cardiology", null, null, null, null, 10)));
+    }
+
+    @Test
+    void testProviderInvalidationRefilesItsSlots() {
+        ArgumentCaptor<Consumer<UUID>> listener = ArgumentCaptor.captor();
+        verify(profileCache).onProviderInvalidated(listener.capture());
+        insert(boston, MORNING, ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        insert(boston, MORNING.plusHours(1), ProviderAvailability.AppointmentType.CONSULTATION, Location.LocationType.CLINIC);
+        ProviderSummary moved = new ProviderSummary(boston.id(), "John", "Doe", "Neurology", true, "Denver", "CO", "80202");
+        ProviderSummary deactivated = new ProviderSummary(boston.id(), "John", "Doe", "Neurology", false, "Denver", "CO", "80202");
+        when(profileCache.provider(boston.id())).thenReturn(Optional.of(moved), Optional.of(deactivated));
+
+        listener.getValue().accept(boston.id());
+
+        assertTrue(starts(query("Cardiology", null, null, null, null, 10)).isEmpty());
+        assertTrue(starts(query("Neurology", null, null, "Boston", null, 10)).isEmpty());
+        assertEquals(List.of(MORNING, MORNING.plusHours(1)), starts(query("Neurology", null, null, "Denver", "80202", 10)));
+        assertEquals("John Doe", index.search(query("Neurology", null, null, null, null, 1)).get(0).provider().name());
+
+        listener.getValue().accept(boston.id());
+        assertEquals(0, index.size());
+        // Providers with nothing indexed are not looked up
+        listener.getValue().accept(denver.id());
+        verify(profileCache, never()).provider(denver.id());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSearchKeepsServingTheOldCopyDuringRebuild() {
+        doAnswer(invocation -> {
+            invocation.<Consumer<AvailableSlotReader.ProviderRow>>getArgument(0).accept(new AvailableSlotReader.ProviderRow(
+                boston.id(), boston.name(), boston.specialization(), boston.city(), boston.state(), boston.zip()));
+            return null;
+        }).when(reader).forEachActiveProvider(any());
+        UUID first = UUID.randomUUID();
+        UUID added = UUID.randomUUID();
+        doAnswer(invocation -> {
+            invocation.<Consumer<AvailableSlotReader.SlotRow>>getArgument(1).accept(new AvailableSlotReader.SlotRow(first,
+                boston.id(), MORNING, MORNING.plusMinutes(30), "CONSULTATION", "CLINIC"));
+            return null;
+        }).doAnswer(invocation -> {
+            // Mid-scan the previous copy still answers, and a slot created meanwhile reaches both copies
+            assertEquals(List.of(MORNING), starts(query("Cardiology", null, null, null, null, 10)));
+            index.insert(boston, added, MORNING.plusHours(3), MORNING.plusHours(3).plusMinutes(30), null, null);
+            invocation.<Consumer<AvailableSlotReader.SlotRow>>getArgument(1).accept(new AvailableSlotReader.SlotRow(
+                UUID.randomUUID(), boston.id(), MORNING.plusHours(1), MORNING.plusHours(1).plusMinutes(30), "CONSULTATION", "CLINIC"));
+            return null;
+        }).when(reader).forEachAvailableSlot(any(), any());
+
+        index.rebuild();
+        ReflectionTestUtils.setField(index, "loadOnStartup", true);
+        index.scheduledRebuild();
+
+        assertEquals(List.of(MORNING.plusHours(1), MORNING.plusHours(3)), starts(query("Cardiology", null, null, null, null, 10)));
+        verify(reader, times(2)).forEachAvailableSlot(any(), any());
+    }
+
+    private UUID insert(FreeSlotIndex.ProviderProfile provider, LocalDateTime start,
+                        ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType) {
+        UUID slotId = UUID.randomUUID();
+        index.putProvider(provider);
+        index.insert(provider, slotId, start, start.plusMinutes(30), appointmentType, locationType);
+        return slotId;
+    }
+
+    private List<LocalDateTime> starts(FreeSlotIndex.Query query) {
+        return index.search(query).stream().map(FreeSlotIndex.Match::start).toList();
+    }
+
+    private static FreeSlotIndex.Query query(String specialization, ProviderAvailability.AppointmentType appointmentType,
+                                             Location.LocationType locationType, String city, String zip, int limit) {
+        return new FreeSlotIndex.Query(specialization, MORNING.minusHours(1), MORNING.plusDays(7), appointmentType,
+            locationType, city, zip, limit);
+    }
+
+    private static FreeSlotIndex.ProviderProfile profile(String specialization, String city, String zip) {
+        return new FreeSlotIndex.ProviderProfile(UUID.randomUUID(), "Dr " + city, specialization, city, "XX", zip);
+    }
+
+    private static AppointmentSlot slot(UUID id, UUID providerId, LocalDateTime start) {
+        AppointmentSlot slot = new AppointmentSlot();
+        slot.setId(id);
+        slot.setProviderId(providerId);
+        slot.setSlotStartTime(start);
+        slot.setSlotEndTime(start.plusMinutes(30));
+        return slot;
+    }
+
+    private static ProviderAvailability availability(UUID providerId) {
+        ProviderAvailability availability = new ProviderAvailability();
+        availability.setProviderId(providerId);
+        availability.setAppointmentType(ProviderAvailability.AppointmentType.FOLLOW_UP);
+        Location location = new Location();
+        location.setType(Location.LocationType.HOSPITAL);
+        availability.setLocation(location);
+        return availability;
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        for (TransactionSynchronization synchronization : synchronizations) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.Location;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Free-slot search latency over 10,000 providers and ~5M open slots generated by FreeSlotDataGenerator.
+ * Each query asks for the first 20 slots in a 7-day window. "rareCombination" asks for a type and location
+ * no provider offers together, "noMatch" for a zip with no providers of the specialization. Run after {@code mvn test-compile} with the test
+ * classpath, e.g.
+ * {@code java -cp target/test-classes:target/classes:$(cat cp.txt) HealthFirstBackend.HealthFirstProject.service.FreeSlotSearchBenchmark}
+ * where cp.txt comes from {@code mvn dependency:build-classpath -Dmdep.outputFile=cp.txt}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FreeSlotSearchBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 7);
+    private static final int PROVIDERS = 10_000;
+    private static final int DAYS = 36;
+
+    private FreeSlotIndex index;
+    private LocalDateTime from;
+    private String nearZip;
+    private String missingZip;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new FreeSlotIndex(null, null);
+        FreeSlotDataGenerator generator = new FreeSlotDataGenerator(42);
+        long started = System.nanoTime();
+        long slots = generator.populate(index, PROVIDERS, FIRST_DAY, DAYS);
+        System.out.printf("Indexed %d slots for %d providers in %d ms%n", slots, PROVIDERS, (System.nanoTime() - started) / 1_000_000);
+        from = FIRST_DAY.plusDays(10).atTime(12, 0);
+        FreeSlotIndex.ProviderProfile cardiologist = generator.providers().get(0);
+        nearZip = cardiologist.zip();
+        missingZip = "99999";
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> firstAvailable() {
+        return index.search(query(null, null, null));
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> typeAndLocation() {
+        return index.search(query(ProviderAvailability.AppointmentType.FOLLOW_UP, Location.LocationType.HOME_VISIT, null));
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> nearZip() {
+        return index.search(query(null, null, nearZip));
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> nearZipTelemedicine() {
+        return index.search(query(ProviderAvailability.AppointmentType.TELEMEDICINE, null, nearZip));
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> rareCombination() {
+        return index.search(query(ProviderAvailability.AppointmentType.EMERGENCY, Location.LocationType.TELEMEDICINE, null));
+    }
+
+    @Benchmark
+    public List<FreeSlotIndex.Match> noMatch() {
+        return index.search(query(null, null, missingZip));
+    }
+
+    private FreeSlotIndex.Query query(ProviderAvailability.AppointmentType appointmentType, Location.LocationType locationType, String zip) {
+        return new FreeSlotIndex.Query("Cardiology", from, from.plusDays(7), appointmentType, locationType, null, zip, 20);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FreeSlotSearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,171 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.FreeSlotSearchResponseDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({FreeSlotSearchService.class, FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class, AppointmentService.class,
+    BookingReferenceGenerator.class, ProviderAvailabilityService.class, AppointmentSlotBatchWriter.class, ProviderScheduleIndex.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FreeSlotSearchServiceTest {
+    @Autowired
+    private FreeSlotSearchService searchService;
+    @Autowired
+    private FreeSlotIndex freeSlotIndex;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    private Provider provider;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        provider = providerRepository.save(newProvider());
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        availabilityRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+    }
+
+    @Test
+    void testRebuildLoadsOpenSlotsFromDatabase() {
+        availabilityService.createAvailability(provider.getId(), availability(ProviderAvailabilityRequestDTO.AppointmentType.CONSULTATION));
+        freeSlotIndex.rebuild();
+
+        FreeSlotSearchResponseDTO response = searchService.search("cardiology", null, null, "consultation", "CLINIC",
+            "boston", null, 2);
+        assertTrue(response.isSuccess());
+        assertEquals(2, response.getData().getCount());
+        FreeSlotSearchResponseDTO.Data.Slot first = response.getData().getSlots().get(0);
+        assertEquals(provider.getId().toString(), first.getProvider_id());
+        assertEquals("John Doe", first.getProvider_name());
+        assertEquals(tomorrow.atTime(9, 0), first.getSlot_start_time());
+        assertEquals(tomorrow.atTime(9, 30), first.getSlot_end_time());
+        assertEquals("CLINIC", first.getLocation_type());
+        assertEquals("02101", first.getZip());
+
+        assertEquals(0, searchService.search("Cardiology", null, null, null, "HOSPITAL", null, null, null).getData().getCount());
+    }
+
+    @Test
+    void testIndexFollowsAvailabilityAndBookings() {
+        freeSlotIndex.rebuild();
+        assertEquals(0, searchService.search("Cardiology", null, null, null, null, null, null, null).getData().getCount());
+
+        availabilityService.createAvailability(provider.getId(), availability(ProviderAvailabilityRequestDTO.AppointmentType.CONSULTATION));
+        assertEquals(6, searchService.search("Cardiology", null, null, null, null, null, null, null).getData().getCount());
+
+        BookAppointmentRequestDTO request = new BookAppointmentRequestDTO();
+        request.setProviderId(provider.getId().toString());
+        request.setPatientId(patientRepository.save(newPatient()).getId().toString());
+        request.setAppointmentDateTime(tomorrow.atTime(9, 0));
+        request.setAppointmentType("CONSULTATION");
+        appointmentService.bookAppointment(request);
+
+        List<FreeSlotSearchResponseDTO.Data.Slot> slots = searchService.search("Cardiology", null, null, null, null,
+            null, null, null).getData().getSlots();
+        assertEquals(5, slots.size());
+        assertEquals(tomorrow.atTime(9, 30), slots.get(0).getSlot_start_time());
+    }
+
+    @Test
+    void testRejectsInvalidParameters() {
+        freeSlotIndex.rebuild();
+        assertThrows(IllegalArgumentException.class, () -> searchService.search(" ", null, null, null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> searchService.search("Cardiology", null, null, "SURGERY", null, null, null, null));
+        LocalDateTime from = LocalDateTime.now().plusDays(2);
+        assertThrows(IllegalArgumentException.class,
+            () -> searchService.search("Cardiology", from, from.minusDays(1), null, null, null, null, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> searchService.search("Cardiology", from, from.plusDays(120), null, null, null, null, null));
+    }
+
+    private ProviderAvailabilityRequestDTO availability(ProviderAvailabilityRequestDTO.AppointmentType appointmentType) {
+        ProviderAvailabilityRequestDTO dto = new ProviderAvailabilityRequestDTO();
+        dto.setDate(tomorrow);
+        dto.setStart_time(LocalTime.of(9, 0));
+        dto.setEnd_time(LocalTime.of(12, 0));
+        dto.setTimezone("America/New_York");
+        dto.setSlot_duration(30);
+        dto.setBreak_duration(0);
+        dto.setAppointment_type(appointmentType);
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        dto.setLocation(location);
+        return dto;
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient() {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith");
+        p.setEmail("jane@email.com");
+        p.setPhoneNumber("+15551000001");
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
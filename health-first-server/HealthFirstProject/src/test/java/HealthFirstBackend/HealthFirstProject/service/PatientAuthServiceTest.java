@@ -5,12 +5,12 @@ import HealthFirstBackend.HealthFirstProject.dto.PatientLoginResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.Patient;
 import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
 import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,7 +21,7 @@ class PatientAuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @InjectMocks
     private PatientAuthService patientAuthService;
 
@@ -51,7 +51,7 @@ class PatientAuthServiceTest {
         dto.setPassword("SecurePassword123!");
         Patient patient = getActiveVerifiedPatient();
         when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(patient));
-        when(passwordEncoder.matches(dto.getPassword(), patient.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.matches(dto.getPassword(), patient.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken(anyString(), anyString(), anyString())).thenReturn("jwt-token");
         PatientLoginResponseDTO response = patientAuthService.login(dto);
         assertTrue(response.isSuccess());
@@ -68,7 +68,7 @@ class PatientAuthServiceTest {
         dto.setPassword("SecurePassword123!");
         Patient patient = getActiveVerifiedPatient();
         when(patientRepository.findByPhoneNumber(dto.getPhoneNumber())).thenReturn(Optional.of(patient));
-        when(passwordEncoder.matches(dto.getPassword(), patient.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.matches(dto.getPassword(), patient.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken(anyString(), anyString(), anyString())).thenReturn("jwt-token");
         PatientLoginResponseDTO response = patientAuthService.login(dto);
         assertTrue(response.isSuccess());
@@ -84,7 +84,7 @@ class PatientAuthServiceTest {
         dto.setEmail("jane.smith@email.com");
         dto.setPassword("wrong");
         when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(getActiveVerifiedPatient()));
-        when(passwordEncoder.matches(dto.getPassword(), "hashed")).thenReturn(false);
+        when(passwordHasher.matches(dto.getPassword(), "hashed")).thenReturn(false);
         Exception ex = assertThrows(IllegalArgumentException.class, () -> patientAuthService.login(dto));
         assertEquals("Invalid email/phone or password", ex.getMessage());
     }
@@ -112,4 +112,34 @@ class PatientAuthServiceTest {
         Exception ex = assertThrows(IllegalArgumentException.class, () -> patientAuthService.login(dto));
         assertEquals("Patient account is not verified or is inactive", ex.getMessage());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testLogin_RehashesOutdatedCost() {
+        PatientLoginRequestDTO dto = new PatientLoginRequestDTO();
+        dto.setEmail("jane.smith@email.com");
+        dto.setPassword("SecurePassword123!");
+        Patient patient = getActiveVerifiedPatient();
+        when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(patient));
+        when(passwordHasher.matches(dto.getPassword(), "hashed")).thenReturn(true);
+        when(passwordHasher.needsRehash("hashed")).thenReturn(true);
+        when(passwordHasher.encode(dto.getPassword())).thenReturn("rehashed");
+        when(jwtUtil.generateToken(anyString(), anyString(), anyString())).thenReturn("jwt-token");
+        patientAuthService.login(dto);
+        assertEquals("rehashed", patient.getPasswordHash());
+        verify(patientRepository).save(patient);
+    }
+
+    @Test
+    void testLogin_CurrentCostIsNotRehashed() {
+        PatientLoginRequestDTO dto = new PatientLoginRequestDTO();
+        dto.setEmail("jane.smith@email.com");
+        dto.setPassword("SecurePassword123!");
+        Patient patient = getActiveVerifiedPatient();
+        when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(patient));
+        when(passwordHasher.matches(dto.getPassword(), "hashed")).thenReturn(true);
+        when(jwtUtil.generateToken(anyString(), anyString(), anyString())).thenReturn("jwt-token");
+        patientAuthService.login(dto);
+        verify(passwordHasher, never()).encode(anyString());
+        verify(patientRepository, never()).save(any());
+    }
+}
@@ -5,12 +5,12 @@ import HealthFirstBackend.HealthFirstProject.dto.PatientRegistrationRequestDTO.A
 import HealthFirstBackend.HealthFirstProject.dto.PatientRegistrationResponseDTO;
 import HealthFirstBackend.HealthFirstProject.model.Patient;
 import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.time.LocalDate;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
@@ -20,7 +20,9 @@ class PatientServiceTest {
     @Mock
     private PatientRepository patientRepository;
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+    @Mock
+    private ProfileCache profileCache;
     @InjectMocks
     private PatientService patientService;
 
@@ -53,7 +55,7 @@ class PatientServiceTest {
         PatientRegistrationRequestDTO dto = getValidRequest();
         when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
         when(patientRepository.findByPhoneNumber(dto.getPhone_number())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(dto.getPassword())).thenReturn("hashed");
+        when(passwordHasher.encode(dto.getPassword())).thenReturn("hashed");
         PatientRegistrationResponseDTO response = patientService.registerPatient(dto);
         assertTrue(response.isSuccess());
         assertEquals("Patient registered successfully. Verification email sent.", response.getMessage());
@@ -126,7 +128,7 @@ class PatientServiceTest {
         PatientRegistrationRequestDTO dto = getValidRequest();
         when(patientRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
         when(patientRepository.findByPhoneNumber(dto.getPhone_number())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(dto.getPassword())).thenReturn("hashed");
+        when(passwordHasher.encode(dto.getPassword())).thenReturn("hashed");
         PatientRegistrationResponseDTO response = patientService.registerPatient(dto);
         // Password should not be returned in response
         assertNull(response.getData().getClass().getDeclaredFields(), "No sensitive fields in response DTO");
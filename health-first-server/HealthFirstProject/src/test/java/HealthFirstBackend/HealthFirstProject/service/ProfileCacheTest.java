@@ -0,0 +1,182 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProfileInvalidation;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientSummary;
+import HealthFirstBackend.HealthFirstProject.repository.ProfileInvalidationRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderSummary;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ProfileCacheTest {
+    private final ProviderRepository providerRepository = mock(ProviderRepository.class);
+    private final PatientRepository patientRepository = mock(PatientRepository.class);
+    private final ProfileInvalidationRepository invalidationRepository = mock(ProfileInvalidationRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final ProviderSummary provider = new ProviderSummary(UUID.randomUUID(), "John", "Doe", "Cardiology", true,
+        "Boston", "MA", "02101");
+    private final PatientSummary patient = new PatientSummary(UUID.randomUUID(), "Jane", "Roe", true);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testReadThroughCachesSummariesUntilTtl() {
+        ProfileCache cache = cache("local");
+        when(providerRepository.findSummariesByIdIn(List.of(provider.id()))).thenReturn(List.of(provider));
+        UUID missing = UUID.randomUUID();
+
+        assertEquals(provider, cache.provider(provider.id()).orElseThrow());
+        assertEquals(provider, cache.provider(provider.id()).orElseThrow());
+        assertTrue(cache.provider(missing).isEmpty());
+        assertTrue(cache.provider(missing).isEmpty());
+        verify(providerRepository, times(1)).findSummariesByIdIn(List.of(provider.id()));
+        verify(providerRepository, times(2)).findSummariesByIdIn(List.of(missing));
+        assertEquals(1, cache.stats().providers().hitCount());
+        assertEquals(1, cache.stats().providerEntries());
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11));
+        cache.provider(provider.id());
+        verify(providerRepository, times(2)).findSummariesByIdIn(List.of(provider.id()));
+    }
+
+    @Test
+    void testBulkLookupLoadsMissingIdsInOneQuery() {
+        ProfileCache cache = cache("local");
+        PatientSummary other = new PatientSummary(UUID.randomUUID(), "Sam", "Poe", true);
+        when(patientRepository.findSummariesByIdIn(anyCollection())).thenReturn(List.of(patient), List.of(patient, other));
+
+        cache.patient(patient.id());
+        Map<UUID, PatientSummary> found = cache.patients(List.of(patient.id(), other.id(), UUID.randomUUID()));
+
+        assertEquals(Map.of(patient.id(), patient, other.id(), other), found);
+        verify(patientRepository, times(2)).findSummariesByIdIn(anyCollection());
+        assertEquals(1, cache.stats().patients().hitCount());
+    }
+
+    @Test
+    void testInvalidationWaitsForCommit() {
+        ProfileCache cache = cache("local");
+        when(providerRepository.findSummariesByIdIn(List.of(provider.id()))).thenReturn(List.of(provider));
+        cache.provider(provider.id());
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateProvider(provider.id());
+        cache.provider(provider.id());
+        verify(providerRepository, times(1)).findSummariesByIdIn(List.of(provider.id()));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        cache.provider(provider.id());
+        verify(providerRepository, times(2)).findSummariesByIdIn(List.of(provider.id()));
+        verifyNoInteractions(invalidationRepository);
+    }
+
+    @Test
+    void testDistributedModePublishesAndAppliesInvalidations() {
+        LocalDateTime created = LocalDateTime.now();
+        ProfileCache cache = cache("distributed");
+        List<UUID> changedProviders = new ArrayList<>();
+        cache.onProviderInvalidated(changedProviders::add);
+        when(providerRepository.findSummariesByIdIn(List.of(provider.id()))).thenReturn(List.of(provider));
+        when(patientRepository.findSummariesByIdIn(List.of(patient.id()))).thenReturn(List.of(patient));
+        cache.provider(provider.id());
+        cache.patient(patient.id());
+
+        cache.invalidatePatient(patient.id());
+        verify(invalidationRepository).save(any(ProfileInvalidation.class));
+        assertEquals(1, cache.stats().invalidationsPublished());
+
+        ProfileInvalidation remote = invalidation(42L, ProfileInvalidation.Kind.PROVIDER, provider.id(), created.plusSeconds(1));
+        when(invalidationRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(any(), any(Pageable.class)))
+            .thenReturn(List.of(remote));
+        cache.poll();
+        cache.provider(provider.id());
+        verify(providerRepository, times(2)).findSummariesByIdIn(List.of(provider.id()));
+        assertEquals(1, cache.stats().invalidationsReceived());
+        assertEquals(List.of(provider.id()), changedProviders);
+
+        // The next poll re-reads the overlap window; the row is not applied or counted again
+        cache.poll();
+        cache.provider(provider.id());
+        verify(providerRepository, times(2)).findSummariesByIdIn(List.of(provider.id()));
+        assertEquals(1, cache.stats().invalidationsReceived());
+        assertEquals(List.of(provider.id()), changedProviders);
+    }
+
+    @Test
+    void testFirstPollCoversInvalidationsWrittenBeforeIt() {
+        LocalDateTime created = LocalDateTime.now();
+        ProfileCache cache = cache("distributed");
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(invalidationRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(since.capture(), any(Pageable.class)))
+            .thenReturn(List.of());
+
+        cache.poll();
+
+        assertTrue(since.getValue().isBefore(created.minusSeconds(59)));
+    }
+
+    @Test
+    void testInvalidationCommittedOutOfIdOrderIsApplied() {
+        LocalDateTime created = LocalDateTime.now();
+        ProfileCache cache = cache("distributed");
+        when(providerRepository.findSummariesByIdIn(List.of(provider.id()))).thenReturn(List.of(provider));
+        when(patientRepository.findSummariesByIdIn(List.of(patient.id()))).thenReturn(List.of(patient));
+        // id 43 commits first; id 42 was inserted earlier but its transaction commits after the next poll
+        ProfileInvalidation later = invalidation(43L, ProfileInvalidation.Kind.PROVIDER, provider.id(), created.plusSeconds(2));
+        ProfileInvalidation earlier = invalidation(42L, ProfileInvalidation.Kind.PATIENT, patient.id(), created.plusSeconds(1));
+        when(invalidationRepository.findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(any(), any(Pageable.class)))
+            .thenReturn(List.of(later), List.of(earlier, later));
+
+        cache.poll();
+        cache.patient(patient.id());
+        cache.poll();
+        cache.patient(patient.id());
+
+        verify(patientRepository, times(2)).findSummariesByIdIn(List.of(patient.id()));
+        assertEquals(2, cache.stats().invalidationsReceived());
+    }
+
+    @Test
+    void testLocalModeNeverTouchesInvalidationLog() {
+        ProfileCache cache = cache("local");
+        cache.invalidateProvider(provider.id());
+        cache.poll();
+        cache.purgeInvalidations();
+        verifyNoInteractions(invalidationRepository);
+        verify(invalidationRepository, never()).findByCreatedAtGreaterThanEqualOrderByCreatedAtAscIdAsc(any(), any());
+        assertThrows(IllegalArgumentException.class, () -> cache("redis"));
+    }
+
+    private static ProfileInvalidation invalidation(long id, ProfileInvalidation.Kind kind, UUID entityId, LocalDateTime createdAt) {
+        ProfileInvalidation invalidation = new ProfileInvalidation(kind, entityId);
+        ReflectionTestUtils.setField(invalidation, "id", id);
+        ReflectionTestUtils.setField(invalidation, "createdAt", createdAt);
+        return invalidation;
+    }
+
+    private ProfileCache cache(String mode) {
+        return new ProfileCache(providerRepository, patientRepository, invalidationRepository, mode, 100, 10, nanos::get);
+    }
+}
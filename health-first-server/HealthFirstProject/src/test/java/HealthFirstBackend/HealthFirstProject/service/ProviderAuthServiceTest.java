@@ -2,15 +2,16 @@ package HealthFirstBackend.HealthFirstProject.service;
 
 import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginRequestDTO;
 import HealthFirstBackend.HealthFirstProject.dto.ProviderLoginResponseDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HashingCapacityExceededException;
 import HealthFirstBackend.HealthFirstProject.model.Provider;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
 import HealthFirstBackend.HealthFirstProject.security.JwtUtil;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,7 +22,7 @@ class ProviderAuthServiceTest {
     @Mock
     private JwtUtil jwtUtil;
     @Mock
-    private BCryptPasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
     @InjectMocks
     private ProviderAuthService providerAuthService;
 
@@ -47,7 +48,7 @@ class ProviderAuthServiceTest {
         dto.setPassword("SecurePassword123!");
         Provider provider = getVerifiedProvider();
         when(providerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(provider));
-        when(passwordEncoder.matches(dto.getPassword(), provider.getPasswordHash())).thenReturn(true);
+        when(passwordHasher.matches(dto.getPassword(), provider.getPasswordHash())).thenReturn(true);
         when(jwtUtil.generateToken(anyString(), anyString(),anyString())).thenReturn("jwt-token");
         ProviderLoginResponseDTO response = providerAuthService.login(dto);
         assertEquals("jwt-token", response.getToken());
@@ -61,7 +62,7 @@ class ProviderAuthServiceTest {
         dto.setEmail("john.doe@clinic.com");
         dto.setPassword("wrong");
         when(providerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(getVerifiedProvider()));
-        when(passwordEncoder.matches(dto.getPassword(), "hashed")).thenReturn(false);
+        when(passwordHasher.matches(dto.getPassword(), "hashed")).thenReturn(false);
         Exception ex = assertThrows(IllegalArgumentException.class, () -> providerAuthService.login(dto));
         assertEquals("Invalid email or password", ex.getMessage());
     }
@@ -89,4 +90,21 @@ class ProviderAuthServiceTest {
         Exception ex = assertThrows(IllegalArgumentException.class, () -> providerAuthService.login(dto));
         assertEquals("Provider account is not verified or is inactive", ex.getMessage());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testLogin_RehashSkippedWhenHashingSaturated() {
+        ProviderLoginRequestDTO dto = new ProviderLoginRequestDTO();
+        dto.setEmail("john.doe@clinic.com");
+        dto.setPassword("SecurePassword123!");
+        Provider provider = getVerifiedProvider();
+        when(providerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.of(provider));
+        when(passwordHasher.matches(dto.getPassword(), "hashed")).thenReturn(true);
+        when(passwordHasher.needsRehash("hashed")).thenReturn(true);
+        when(passwordHasher.encode(dto.getPassword())).thenThrow(new HashingCapacityExceededException(1, "busy"));
+        when(jwtUtil.generateToken(anyString(), anyString(), anyString())).thenReturn("jwt-token");
+        ProviderLoginResponseDTO response = providerAuthService.login(dto);
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("hashed", provider.getPasswordHash());
+        verify(providerRepository, never()).save(any());
+    }
+}
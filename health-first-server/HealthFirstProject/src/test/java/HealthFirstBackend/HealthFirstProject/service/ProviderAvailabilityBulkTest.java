@@ -0,0 +1,180 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.BulkAvailabilityResponseDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@DataJpaTest(showSql = false, properties = "availability.bulk.chunk-size=" + ProviderAvailabilityBulkTest.CHUNK_SIZE)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ProviderAvailabilityService.class, AppointmentSlotBatchWriter.class, ProviderScheduleIndex.class,
+    FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProviderAvailabilityBulkTest {
+    static final int CHUNK_SIZE = 250;
+
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @MockitoSpyBean
+    private AppointmentSlotBatchWriter slotBatchWriter;
+
+    private final UUID providerId = UUID.randomUUID();
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        availabilityRepository.deleteAll();
+    }
+
+    @Test
+    void testReportsEachItem() {
+        ProviderAvailabilityRequestDTO invalid = window(firstDay.plusDays(1), 9, 12);
+        invalid.setTimezone(" ");
+        ProviderAvailabilityRequestDTO reversed = window(firstDay.plusDays(2), 12, 9);
+        List<ProviderAvailabilityRequestDTO> requests = List.of(
+            window(firstDay, 9, 12),
+            invalid,
+            reversed,
+            window(firstDay, 11, 13),
+            window(firstDay, 13, 14));
+
+        BulkAvailabilityResponseDTO response = availabilityService.createAvailabilities(providerId, requests);
+
+        assertFalse(response.isSuccess());
+        assertEquals(2, response.getData().getCreated());
+        assertEquals(3, response.getData().getFailed());
+        assertEquals(8, response.getData().getSlots_created());
+        List<BulkAvailabilityResponseDTO.Data.Result> results = response.getData().getResults();
+        assertEquals(List.of("CREATED", "INVALID", "INVALID", "CONFLICT", "CREATED"),
+            results.stream().map(BulkAvailabilityResponseDTO.Data.Result::getStatus).toList());
+        assertEquals("timezone: must not be blank", results.get(1).getMessage());
+        assertEquals("End time must be after start time", results.get(2).getMessage());
+        assertEquals("Time slot conflicts with existing availability", results.get(3).getMessage());
+        assertEquals(6, results.get(0).getSlots_created());
+        assertEquals(2, availabilityRepository.findByProviderId(providerId).size());
+        assertEquals(8, slotRepository.findByProviderIdOrderBySlotStartTime(providerId).size());
+    }
+
+    @Test
+    void testWindowWrittenElsewhereIsAConflict() {
+        // Loads the provider's schedule into the index
+        availabilityService.createAvailabilities(providerId, List.of(window(firstDay, 7, 8)));
+        // A row the index does not know about, as if written by another instance
+        ProviderAvailability external = new ProviderAvailability();
+        external.setProviderId(providerId);
+        external.setDate(firstDay.plusDays(1));
+        external.setStartTime(LocalTime.of(9, 0));
+        external.setEndTime(LocalTime.of(10, 0));
+        external.setTimezone("UTC");
+        external.setAppointmentType(ProviderAvailability.AppointmentType.CONSULTATION);
+        availabilityRepository.save(external);
+
+        List<ProviderAvailabilityRequestDTO> requests = new ArrayList<>();
+        for (int day = 0; day < 3; day++) {
+            requests.add(window(firstDay.plusDays(day), 9, 10));
+        }
+        BulkAvailabilityResponseDTO response = availabilityService.createAvailabilities(providerId, requests);
+
+        // Caught by the database re-check instead of failing the chunk on the unique key
+        assertEquals(List.of("CREATED", "CONFLICT", "CREATED"),
+            response.getData().getResults().stream().map(BulkAvailabilityResponseDTO.Data.Result::getStatus).toList());
+        assertEquals(2 + 2, availabilityRepository.findByProviderId(providerId).size());
+    }
+
+    @Test
+    void testFailedChunkDoesNotStopLaterChunks() {
+        doThrow(new DataIntegrityViolationException("slot insert failed")).doCallRealMethod()
+            .when(slotBatchWriter).insert(anyList());
+
+        List<ProviderAvailabilityRequestDTO> requests = new ArrayList<>();
+        for (int day = 0; day < CHUNK_SIZE + 50; day++) {
+            requests.add(window(firstDay.plusDays(day), 9, 10));
+        }
+        BulkAvailabilityResponseDTO response = availabilityService.createAvailabilities(providerId, requests);
+
+        // The first chunk's slot insert fails and the chunk rolls back as a whole
+        List<BulkAvailabilityResponseDTO.Data.Result> results = response.getData().getResults();
+        assertEquals("FAILED", results.get(0).getStatus());
+        assertEquals("FAILED", results.get(CHUNK_SIZE - 1).getStatus());
+        assertEquals("CREATED", results.get(CHUNK_SIZE).getStatus());
+        assertEquals(50, response.getData().getCreated());
+        assertNull(results.get(0).getAvailability_id());
+        assertEquals(50, availabilityRepository.findByProviderId(providerId).size());
+        assertEquals(50 * 2, slotRepository.findByProviderIdOrderBySlotStartTime(providerId).size());
+
+        // The rolled-back windows were released, so the day-0 window can be retried
+        response = availabilityService.createAvailabilities(providerId, List.of(window(firstDay, 9, 10)));
+        assertEquals("CREATED", response.getData().getResults().get(0).getStatus());
+    }
+
+    @Test
+    void testIngestsQuarterlySchedule() {
+        // Five one-hour windows a day for 1,000 days: 5,000 windows, 10,000 slots
+        List<ProviderAvailabilityRequestDTO> requests = new ArrayList<>();
+        for (int day = 0; day < 1000; day++) {
+            for (int hour = 8; hour < 18; hour += 2) {
+                requests.add(window(firstDay.plusDays(day), hour, hour + 1));
+            }
+        }
+        BulkAvailabilityResponseDTO response = availabilityService.createAvailabilities(providerId, requests);
+
+        assertTrue(response.isSuccess());
+        assertEquals(5000, response.getData().getCreated());
+        assertEquals(10_000, response.getData().getSlots_created());
+        assertEquals(10_000, slotRepository.count());
+    }
+
+    @Test
+    void testRejectsEmptyAndOversizedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.createAvailabilities(providerId, List.of()));
+        List<ProviderAvailabilityRequestDTO> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 10_000; i++) {
+            tooMany.add(window(firstDay, 9, 10));
+        }
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.createAvailabilities(providerId, tooMany));
+    }
+
+    private static ProviderAvailabilityRequestDTO window(LocalDate date, int startHour, int endHour) {
+        ProviderAvailabilityRequestDTO dto = new ProviderAvailabilityRequestDTO();
+        dto.setDate(date);
+        dto.setStart_time(LocalTime.of(startHour, 0));
+        dto.setEnd_time(LocalTime.of(endHour, 0));
+        dto.setTimezone("America/New_York");
+        dto.setSlot_duration(30);
+        dto.setBreak_duration(0);
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        dto.setLocation(location);
+        return dto;
+    }
+}
@@ -0,0 +1,190 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityResponseDTO;
+import HealthFirstBackend.HealthFirstProject.model.AppointmentSlot;
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({ProviderAvailabilityService.class, AppointmentSlotBatchWriter.class, ProviderScheduleIndex.class,
+    FreeSlotIndex.class, AvailableSlotReader.class, ProfileCache.class})
+class ProviderAvailabilityServiceTest {
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+
+    private ProviderAvailabilityRequestDTO getValidRequest() {
+        ProviderAvailabilityRequestDTO dto = new ProviderAvailabilityRequestDTO();
+        dto.setDate(LocalDate.now().plusDays(1));
+        dto.setStart_time(LocalTime.of(9, 0));
+        dto.setEnd_time(LocalTime.of(12, 0));
+        dto.setTimezone("America/New_York");
+        dto.setSlot_duration(30);
+        dto.setBreak_duration(0);
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        dto.setLocation(location);
+        return dto;
+    }
+
+    @Test
+    void testCreateAvailability_SingleDate() {
+        UUID providerId = UUID.randomUUID();
+        ProviderAvailabilityResponseDTO response = availabilityService.createAvailability(providerId, getValidRequest());
+        assertTrue(response.isSuccess());
+        assertEquals(6, response.getData().getSlots_created());
+        List<AppointmentSlot> slots = slotRepository.findByProviderIdOrderBySlotStartTime(providerId);
+        assertEquals(6, slots.size());
+        assertEquals(response.getData().getAvailability_id(), slots.get(0).getAvailabilityId().toString());
+        assertEquals(AppointmentSlot.Status.AVAILABLE, slots.get(0).getStatus());
+        assertEquals(7, slots.get(0).getId().version());
+        assertEquals(7, slots.get(0).getAvailabilityId().version());
+    }
+
+    @Test
+    void testCreateAvailability_WeeklyRecurrenceExpandsToEveryOccurrence() {
+        UUID providerId = UUID.randomUUID();
+        ProviderAvailabilityRequestDTO dto = getValidRequest();
+        dto.setIs_recurring(true);
+        dto.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.WEEKLY);
+        dto.setRecurrence_end_date(dto.getDate().plusWeeks(3));
+        ProviderAvailabilityResponseDTO response = availabilityService.createAvailability(providerId, dto);
+        assertEquals(24, response.getData().getSlots_created());
+        List<AppointmentSlot> slots = slotRepository.findByProviderIdOrderBySlotStartTime(providerId);
+        assertEquals(24, slots.size());
+        assertEquals(LocalDateTime.of(dto.getDate().plusWeeks(3), LocalTime.of(11, 30)),
+            slots.get(slots.size() - 1).getSlotStartTime());
+    }
+
+    @Test
+    void testCreateAvailability_YearOfDailyFifteenMinuteSlots() {
+        UUID providerId = UUID.randomUUID();
+        ProviderAvailabilityRequestDTO dto = getValidRequest();
+        dto.setStart_time(LocalTime.of(8, 0));
+        dto.setEnd_time(LocalTime.of(18, 0));
+        dto.setSlot_duration(15);
+        dto.setIs_recurring(true);
+        dto.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.DAILY);
+        dto.setRecurrence_end_date(dto.getDate().plusDays(364));
+        ProviderAvailabilityResponseDTO response = availabilityService.createAvailability(providerId, dto);
+        assertEquals(365 * 40, response.getData().getSlots_created());
+        assertEquals(365 * 40, slotRepository.findByProviderIdOrderBySlotStartTime(providerId).size());
+    }
+
+    @Test
+    void testCreateAvailability_RecurrenceEndBeforeStart() {
+        ProviderAvailabilityRequestDTO dto = getValidRequest();
+        dto.setIs_recurring(true);
+        dto.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.DAILY);
+        dto.setRecurrence_end_date(dto.getDate().minusDays(1));
+        Exception ex = assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.createAvailability(UUID.randomUUID(), dto));
+        assertEquals("Recurrence end date must not be before the start date", ex.getMessage());
+    }
+
+    @Test
+    void testCreateAvailability_Conflict() {
+        UUID providerId = UUID.randomUUID();
+        availabilityService.createAvailability(providerId, getValidRequest());
+        ProviderAvailabilityRequestDTO overlapping = getValidRequest();
+        overlapping.setStart_time(LocalTime.of(11, 0));
+        overlapping.setEnd_time(LocalTime.of(13, 0));
+        Exception ex = assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.createAvailability(providerId, overlapping));
+        assertEquals("Time slot conflicts with existing availability", ex.getMessage());
+    }
+
+    @Test
+    void testCreateAvailability_ConflictWithWindowTheScheduleIndexHasNotSeen() {
+        UUID providerId = UUID.randomUUID();
+        availabilityService.createAvailability(providerId, getValidRequest());
+
+        // Saved by another instance after this one cached the provider's schedule
+        ProviderAvailability elsewhere = new ProviderAvailability();
+        elsewhere.setProviderId(providerId);
+        elsewhere.setDate(LocalDate.now().plusDays(1));
+        elsewhere.setStartTime(LocalTime.of(14, 0));
+        elsewhere.setEndTime(LocalTime.of(16, 0));
+        elsewhere.setTimezone("America/New_York");
+        availabilityRepository.save(elsewhere);
+
+        ProviderAvailabilityRequestDTO overlapping = getValidRequest();
+        overlapping.setStart_time(LocalTime.of(15, 0));
+        overlapping.setEnd_time(LocalTime.of(17, 0));
+        Exception ex = assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.createAvailability(providerId, overlapping));
+        assertEquals("Time slot conflicts with existing availability", ex.getMessage());
+    }
+
+    @Test
+    void testCreateAvailability_AdjacentWindowIsNotAConflict() {
+        UUID providerId = UUID.randomUUID();
+        availabilityService.createAvailability(providerId, getValidRequest());
+        ProviderAvailabilityRequestDTO afternoon = getValidRequest();
+        afternoon.setStart_time(LocalTime.of(12, 0));
+        afternoon.setEnd_time(LocalTime.of(14, 0));
+        assertTrue(availabilityService.createAvailability(providerId, afternoon).isSuccess());
+    }
+
+    @Test
+    void testCreateAvailability_RecurringConflictOnLaterOccurrence() {
+        UUID providerId = UUID.randomUUID();
+        ProviderAvailabilityRequestDTO single = getValidRequest();
+        single.setDate(single.getDate().plusWeeks(10));
+        availabilityService.createAvailability(providerId, single);
+
+        // Weekly from tomorrow: the 11th occurrence lands on the existing window
+        ProviderAvailabilityRequestDTO weekly = getValidRequest();
+        weekly.setStart_time(LocalTime.of(10, 0));
+        weekly.setEnd_time(LocalTime.of(11, 0));
+        weekly.setIs_recurring(true);
+        weekly.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.WEEKLY);
+        weekly.setRecurrence_end_date(weekly.getDate().plusWeeks(20));
+        Exception ex = assertThrows(IllegalArgumentException.class,
+            () -> availabilityService.createAvailability(providerId, weekly));
+        assertEquals("Time slot conflicts with existing availability", ex.getMessage());
+
+        // Stopping the rule before that week is fine
+        weekly.setRecurrence_end_date(weekly.getDate().plusWeeks(9));
+        assertEquals(20, availabilityService.createAvailability(providerId, weekly).getData().getSlots_created());
+    }
+
+    @Test
+    void testCreateAvailability_SingleDateConflictsWithExistingRecurrence() {
+        UUID providerId = UUID.randomUUID();
+        ProviderAvailabilityRequestDTO daily = getValidRequest();
+        daily.setIs_recurring(true);
+        daily.setRecurrence_pattern(ProviderAvailabilityRequestDTO.RecurrencePattern.DAILY);
+        daily.setRecurrence_end_date(daily.getDate().plusDays(90));
+        availabilityService.createAvailability(providerId, daily);
+
+        ProviderAvailabilityRequestDTO single = getValidRequest();
+        single.setDate(single.getDate().plusDays(45));
+        single.setStart_time(LocalTime.of(8, 0));
+        single.setEnd_time(LocalTime.of(9, 30));
+        assertThrows(IllegalArgumentException.class, () -> availabilityService.createAvailability(providerId, single));
+    }
+}
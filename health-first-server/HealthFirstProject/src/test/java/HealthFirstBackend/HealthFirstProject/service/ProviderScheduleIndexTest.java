@@ -0,0 +1,153 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProviderScheduleIndexTest {
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    private final ProviderAvailabilityRepository repository = mock(ProviderAvailabilityRepository.class);
+    private final ProviderScheduleIndex index = new ProviderScheduleIndex(repository, 100, 10);
+    private final UUID providerId = UUID.randomUUID();
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testLoadsExpandedRecurrenceOnce() {
+        when(repository.findByProviderId(providerId)).thenReturn(List.of(
+            availability(MONDAY, LocalTime.of(9, 0), LocalTime.of(12, 0), ProviderAvailability.RecurrencePattern.WEEKLY, MONDAY.plusWeeks(51))));
+
+        assertTrue(index.overlaps(providerId, at(MONDAY.plusWeeks(30), 11, 30), at(MONDAY.plusWeeks(30), 13, 0)));
+        assertFalse(index.overlaps(providerId, at(MONDAY.plusWeeks(30).plusDays(1), 9, 0), at(MONDAY.plusWeeks(30).plusDays(1), 12, 0)));
+        assertFalse(index.overlaps(providerId, at(MONDAY.plusWeeks(52), 9, 0), at(MONDAY.plusWeeks(52), 12, 0)));
+        assertFalse(index.overlaps(providerId, at(MONDAY, 12, 0), at(MONDAY, 13, 0)));
+        verify(repository, times(1)).findByProviderId(providerId);
+    }
+
+    @Test
+    void testReserveIsAllOrNothing() {
+        when(repository.findByProviderId(providerId)).thenReturn(List.of(
+            availability(MONDAY.plusDays(20), LocalTime.of(9, 0), LocalTime.of(10, 0), null, null)));
+        List<LocalDate> month = dates(MONDAY, 30);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> index.reserve(providerId, month, LocalTime.of(9, 30), LocalTime.of(11, 0)));
+        // None of the first 20 days were added by the failed reservation
+        assertFalse(index.overlaps(providerId, at(MONDAY, 9, 30), at(MONDAY, 11, 0)));
+    }
+
+    @Test
+    void testRolledBackReservationIsRemoved() {
+        when(repository.findByProviderId(providerId)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(providerId, dates(MONDAY, 7), LocalTime.of(9, 0), LocalTime.of(12, 0));
+        assertTrue(index.overlaps(providerId, at(MONDAY.plusDays(3), 10, 0), at(MONDAY.plusDays(3), 10, 30)));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        assertFalse(index.overlaps(providerId, at(MONDAY.plusDays(3), 10, 0), at(MONDAY.plusDays(3), 10, 30)));
+    }
+
+    @Test
+    void testCommittedReservationStays() {
+        when(repository.findByProviderId(providerId)).thenReturn(List.of());
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(providerId, dates(MONDAY, 7), LocalTime.of(9, 0), LocalTime.of(12, 0));
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        assertThrows(IllegalArgumentException.class,
+            () -> index.reserve(providerId, List.of(MONDAY.plusDays(6)), LocalTime.of(11, 59), LocalTime.of(13, 0)));
+    }
+
+    @Test
+    void testLegacyOverlappingWindowsAreStillFound() {
+        // Rows written before conflicts were checked across recurrences may overlap each other
+        when(repository.findByProviderId(providerId)).thenReturn(List.of(
+            availability(MONDAY, LocalTime.of(8, 0), LocalTime.of(18, 0), null, null),
+            availability(MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 30), null, null)));
+        assertTrue(index.overlaps(providerId, at(MONDAY, 17, 0), at(MONDAY, 17, 30)));
+        assertTrue(index.overlaps(providerId, at(MONDAY, 7, 0), at(MONDAY, 8, 1)));
+        assertFalse(index.overlaps(providerId, at(MONDAY, 18, 0), at(MONDAY, 19, 0)));
+    }
+
+    @Test
+    void testBulkImportValidatesWithoutPerDateQueries() {
+        List<ProviderAvailability> existing = new ArrayList<>();
+        for (int day = 0; day < 365; day++) {
+            existing.add(availability(MONDAY.plusDays(day), LocalTime.of(8, 0), LocalTime.of(10, 0), null, null));
+            existing.add(availability(MONDAY.plusDays(day), LocalTime.of(14, 0), LocalTime.of(16, 0), null, null));
+        }
+        when(repository.findByProviderId(providerId)).thenReturn(existing);
+
+        // 500 new windows across the year, each probed against the 730 loaded ones
+        for (int i = 0; i < 500; i++) {
+            LocalDate date = MONDAY.plusDays(i % 365);
+            LocalTime start = i < 365 ? LocalTime.of(10, 0) : LocalTime.of(16, 0);
+            index.reserve(providerId, List.of(date), start, start.plusHours(2));
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> index.reserve(providerId, dates(MONDAY.plusDays(100), 30), LocalTime.of(11, 0), LocalTime.of(11, 30)));
+        verify(repository, times(1)).findByProviderId(providerId);
+        // One range query per reservation that passes the cached check, however many dates it spans
+        verify(repository, times(500)).findOccurringBetween(eq(providerId), any(), any());
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testStoredWindowMissingFromCacheIsAConflict() {
+        // Another instance saved this window after the schedule was cached here
+        when(repository.findByProviderId(providerId)).thenReturn(List.of());
+        assertFalse(index.overlaps(providerId, at(MONDAY.plusDays(3), 9, 0), at(MONDAY.plusDays(3), 10, 0)));
+        when(repository.findOccurringBetween(providerId, MONDAY, MONDAY.plusDays(6))).thenReturn(List.of(
+            availability(MONDAY.plusDays(3), LocalTime.of(9, 30), LocalTime.of(11, 0), null, null)));
+
+        assertThrows(IllegalArgumentException.class,
+            () -> index.reserve(providerId, dates(MONDAY, 7), LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        // Nothing was reserved and the stale schedule is reloaded on next use
+        when(repository.findOccurringBetween(any(), any(), any())).thenReturn(List.of());
+        index.reserve(providerId, List.of(MONDAY), LocalTime.of(9, 0), LocalTime.of(10, 0));
+        verify(repository, times(2)).findByProviderId(providerId);
+    }
+
+    private static List<LocalDate> dates(LocalDate start, int days) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            dates.add(start.plusDays(i));
+        }
+        return dates;
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour, int minute) {
+        return LocalDateTime.of(date, LocalTime.of(hour, minute));
+    }
+
+    private ProviderAvailability availability(LocalDate date, LocalTime start, LocalTime end,
+                                              ProviderAvailability.RecurrencePattern pattern, LocalDate recurrenceEnd) {
+        ProviderAvailability availability = new ProviderAvailability();
+        availability.setProviderId(providerId);
+        availability.setDate(date);
+        availability.setStartTime(start);
+        availability.setEndTime(end);
+        availability.setIsRecurring(pattern != null);
+        availability.setRecurrencePattern(pattern);
+        availability.setRecurrenceEndDate(recurrenceEnd);
+        return availability;
+    }
+}
@@ -6,6 +6,7 @@ import HealthFirstBackend.HealthFirstProject.model.ClinicAddress;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
 import HealthFirstBackend.HealthFirstProject.model.ProviderVerificationToken;
 import HealthFirstBackend.HealthFirstProject.repository.ProviderVerificationTokenRepository;
+import HealthFirstBackend.HealthFirstProject.security.PasswordHasher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -136,7 +137,8 @@ class ProviderServiceTest {
         when(providerRepository.findByEmail(dto.getEmail())).thenReturn(Optional.empty());
         when(providerRepository.findByPhoneNumber(dto.getPhone_number())).thenReturn(Optional.empty());
         when(providerRepository.findByLicenseNumber(dto.getLicense_number())).thenReturn(Optional.empty());
-        ProviderService realService = new ProviderService(providerRepository,tokenRepository);
+        ProviderService realService = new ProviderService(providerRepository, tokenRepository,
+                new PasswordHasher(new BCryptPasswordEncoder(12), 12, 1, 4, 5000), mock(EmailService.class), mock(ProfileCache.class));
         var response = realService.registerProvider(dto);
         // Password should not be returned in response
         assertNull(response.getData().getProvider_id(), "Provider ID should not be null after registration");
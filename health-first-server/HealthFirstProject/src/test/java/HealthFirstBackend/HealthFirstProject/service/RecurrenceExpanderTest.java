@@ -0,0 +1,52 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.ProviderAvailability;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecurrenceExpanderTest {
+    private static final LocalDate START = LocalDate.of(2024, 1, 31);
+
+    @Test
+    void testDaily() {
+        List<LocalDate> dates = RecurrenceExpander.dates(START, ProviderAvailability.RecurrencePattern.DAILY,
+            LocalDate.of(2024, 2, 4)).collect(Collectors.toList());
+        assertEquals(5, dates.size());
+        assertEquals(LocalDate.of(2024, 2, 4), dates.get(4));
+    }
+
+    @Test
+    void testWeekly() {
+        List<LocalDate> dates = RecurrenceExpander.dates(START, ProviderAvailability.RecurrencePattern.WEEKLY,
+            LocalDate.of(2024, 2, 27)).collect(Collectors.toList());
+        assertEquals(List.of(START, LocalDate.of(2024, 2, 7), LocalDate.of(2024, 2, 14),
+            LocalDate.of(2024, 2, 21)), dates);
+    }
+
+    @Test
+    void testMonthly_KeepsDayOfMonthAfterShortMonths() {
+        List<LocalDate> dates = RecurrenceExpander.dates(START, ProviderAvailability.RecurrencePattern.MONTHLY,
+            LocalDate.of(2024, 4, 30)).collect(Collectors.toList());
+        assertEquals(List.of(START, LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 31),
+            LocalDate.of(2024, 4, 30)), dates);
+    }
+
+    @Test
+    void testNonRecurring() {
+        ProviderAvailability availability = new ProviderAvailability();
+        availability.setDate(START);
+        availability.setIsRecurring(false);
+        availability.setRecurrencePattern(ProviderAvailability.RecurrencePattern.DAILY);
+        availability.setRecurrenceEndDate(START.plusDays(10));
+        assertEquals(List.of(START), RecurrenceExpander.dates(availability).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testRecurringWithoutEndDate() {
+        assertEquals(List.of(START), RecurrenceExpander.dates(START, ProviderAvailability.RecurrencePattern.WEEKLY, null)
+            .collect(Collectors.toList()));
+    }
+}
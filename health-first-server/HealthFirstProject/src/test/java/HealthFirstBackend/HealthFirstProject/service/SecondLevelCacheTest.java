@@ -0,0 +1,189 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityListResponseDTO;
+import HealthFirstBackend.HealthFirstProject.dto.ProviderAvailabilityRequestDTO;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderAvailabilityRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Import({SecondLevelCacheStats.class, ProviderAvailabilityService.class, AppointmentService.class,
+    BookingReferenceGenerator.class, AppointmentSlotBatchWriter.class, ProviderScheduleIndex.class, FreeSlotIndex.class,
+    AvailableSlotReader.class, ProfileCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+    private static final String AVAILABILITY_REGION = "provider_availability";
+    private static final String REQUIREMENTS_REGION = "provider_availability_requirements";
+    private static final String QUERY_REGION = "provider_availability_queries";
+
+    @Autowired
+    private SecondLevelCacheStats cacheStats;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ProviderAvailabilityService availabilityService;
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderAvailabilityRepository availabilityRepository;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+
+    private Provider provider;
+    private LocalDate tomorrow;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+        provider = providerRepository.save(newProvider());
+        tomorrow = LocalDate.now().plusDays(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotRepository.deleteAll();
+        availabilityRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+    }
+
+    @Test
+    void testAvailabilityListingIsServedFromCache() {
+        availabilityService.createAvailability(provider.getId(), request(tomorrow));
+        availabilityService.getAvailabilitySlots(provider.getId());
+
+        SecondLevelCacheStats.Region query = cacheStats.region(QUERY_REGION);
+        SecondLevelCacheStats.Region availability = cacheStats.region(AVAILABILITY_REGION);
+        SecondLevelCacheStats.Region requirements = cacheStats.region(REQUIREMENTS_REGION);
+        ProviderAvailabilityListResponseDTO listing = availabilityService.getAvailabilitySlots(provider.getId());
+
+        assertEquals(List.of("Fasting"), listing.getData().getAvailability_slots().get(0).getSpecial_requirements());
+        assertEquals(query.hits() + 1, cacheStats.region(QUERY_REGION).hits());
+        assertEquals(availability.misses(), cacheStats.region(AVAILABILITY_REGION).misses());
+        assertEquals(requirements.hits() + 1, cacheStats.region(REQUIREMENTS_REGION).hits());
+        assertTrue(cacheStats.stats().enabled());
+    }
+
+    @Test
+    void testCreatingAvailabilityInvalidatesCachedListing() {
+        availabilityService.createAvailability(provider.getId(), request(tomorrow));
+        assertEquals(1, availabilityService.getAvailabilitySlots(provider.getId()).getData().getTotal_slots());
+
+        availabilityService.createAvailability(provider.getId(), request(tomorrow.plusDays(1)));
+        SecondLevelCacheStats.Region query = cacheStats.region(QUERY_REGION);
+
+        assertEquals(2, availabilityService.getAvailabilitySlots(provider.getId()).getData().getTotal_slots());
+        assertEquals(query.hits(), cacheStats.region(QUERY_REGION).hits());
+        assertEquals(query.misses() + 1, cacheStats.region(QUERY_REGION).misses());
+    }
+
+    @Test
+    void testEntityUpdateReplacesCachedProvider() {
+        providerRepository.findById(provider.getId()).orElseThrow();
+        Provider update = providerRepository.findById(provider.getId()).orElseThrow();
+        update.setSpecialization("Neurology");
+        providerRepository.save(update);
+
+        SecondLevelCacheStats.Region region = cacheStats.region("provider");
+        assertEquals("Neurology", providerRepository.findById(provider.getId()).orElseThrow().getSpecialization());
+        assertEquals(region.hits() + 1, cacheStats.region("provider").hits());
+
+        providerRepository.deleteById(provider.getId());
+        assertTrue(providerRepository.findById(provider.getId()).isEmpty());
+    }
+
+    @Test
+    void testBookingKeepsAvailabilityCacheWarm() {
+        availabilityService.createAvailability(provider.getId(), request(tomorrow));
+        Patient patient = patientRepository.save(newPatient());
+        availabilityService.getAvailabilitySlots(provider.getId());
+
+        BookAppointmentRequestDTO booking = new BookAppointmentRequestDTO();
+        booking.setProviderId(provider.getId().toString());
+        booking.setPatientId(patient.getId().toString());
+        booking.setAppointmentDateTime(tomorrow.atTime(9, 0));
+        booking.setAppointmentType("CONSULTATION");
+        appointmentService.bookAppointment(booking);
+
+        // The claim is a bulk update of appointment_slots only, so provider_availability entries stay valid
+        SecondLevelCacheStats.Region query = cacheStats.region(QUERY_REGION);
+        availabilityService.getAvailabilitySlots(provider.getId());
+        assertEquals(query.hits() + 1, cacheStats.region(QUERY_REGION).hits());
+        assertEquals(AppointmentSlot.Status.BOOKED,
+            slotRepository.findByProviderIdOrderBySlotStartTime(provider.getId()).get(0).getStatus());
+    }
+
+    private ProviderAvailabilityRequestDTO request(LocalDate date) {
+        ProviderAvailabilityRequestDTO dto = new ProviderAvailabilityRequestDTO();
+        dto.setDate(date);
+        dto.setStart_time(LocalTime.of(9, 0));
+        dto.setEnd_time(LocalTime.of(10, 0));
+        dto.setTimezone("America/New_York");
+        dto.setSlot_duration(30);
+        dto.setBreak_duration(0);
+        dto.setSpecial_requirements(List.of("Fasting"));
+        ProviderAvailabilityRequestDTO.LocationDTO location = new ProviderAvailabilityRequestDTO.LocationDTO();
+        location.setType(ProviderAvailabilityRequestDTO.LocationDTO.LocationType.CLINIC);
+        location.setAddress("123 Medical Center Dr");
+        dto.setLocation(location);
+        return dto;
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient() {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith");
+        p.setEmail("jane@email.com");
+        p.setPhoneNumber("+15551000001");
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
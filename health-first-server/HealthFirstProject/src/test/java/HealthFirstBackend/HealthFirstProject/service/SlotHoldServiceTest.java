@@ -0,0 +1,269 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.dto.BookAppointmentRequestDTO;
+import HealthFirstBackend.HealthFirstProject.exception.HoldLimitExceededException;
+import HealthFirstBackend.HealthFirstProject.exception.SlotUnavailableException;
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotBatchWriter;
+import HealthFirstBackend.HealthFirstProject.repository.AppointmentSlotRepository;
+import HealthFirstBackend.HealthFirstProject.repository.AvailableSlotReader;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import({SlotHoldService.class, AppointmentService.class, BookingReferenceGenerator.class, FreeSlotIndex.class,
+    AvailableSlotReader.class, ProfileCache.class, AppointmentSlotBatchWriter.class})
+// The expiry load test spreads its holds over a handful of patients, so the per-patient cap is lifted here
+@TestPropertySource(properties = {"slot.hold.ttl=2s", "slot.hold.max-per-patient=10000"})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SlotHoldServiceTest {
+    private static final int CONCURRENT_HOLDS = 10_000;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+    @Autowired
+    private AppointmentService appointmentService;
+    @Autowired
+    private AppointmentSlotRepository slotRepository;
+    @Autowired
+    private AppointmentSlotBatchWriter batchWriter;
+    @Autowired
+    private ProviderRepository providerRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Provider provider;
+    private List<Patient> patients;
+    private LocalDateTime firstSlot;
+
+    @BeforeEach
+    void setUp() {
+        provider = providerRepository.save(newProvider());
+        patients = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            patients.add(patientRepository.save(newPatient(i)));
+        }
+        firstSlot = LocalDate.now().plusDays(1).atTime(9, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        slotHoldService.stop();
+        slotRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentHoldsAllExpire() throws Exception {
+        createSlots(CONCURRENT_HOLDS);
+        slotHoldService.start();
+        SlotHoldService.Stats before = slotHoldService.stats();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<SlotHoldService.Hold>> futures = new ArrayList<>();
+        for (int i = 0; i < CONCURRENT_HOLDS; i++) {
+            final int attempt = i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return slotHoldService.hold(provider.getId(), patients.get(attempt % THREADS).getId(),
+                    firstSlot.plusMinutes(15L * attempt));
+            }));
+        }
+        start.countDown();
+        for (Future<SlotHoldService.Hold> future : futures) {
+            assertNotNull(future.get(120, TimeUnit.SECONDS).expiresAt());
+        }
+        executor.shutdown();
+
+        awaitNoHolds();
+        SlotHoldService.Stats stats = slotHoldService.stats();
+        assertEquals(CONCURRENT_HOLDS, stats.held() - before.held());
+        assertEquals(CONCURRENT_HOLDS, stats.expired() - before.expired());
+        System.out.printf("%d holds expired, max lag past deadline %d ms%n", CONCURRENT_HOLDS, stats.maxExpiryLagMillis());
+        for (AppointmentSlot slot : slotRepository.findByProviderIdOrderBySlotStartTime(provider.getId())) {
+            assertEquals(AppointmentSlot.Status.AVAILABLE, slot.getStatus());
+            assertNull(slot.getPatientId());
+            assertNull(slot.getHoldExpiresAt());
+        }
+    }
+
+    @Test
+    void testHeldSlotIsBookedOnlyByItsHolder() {
+        createSlots(1);
+        UUID holder = patients.get(0).getId();
+        SlotHoldService.Hold hold = slotHoldService.hold(provider.getId(), holder, firstSlot);
+
+        assertThrows(SlotUnavailableException.class, () -> slotHoldService.hold(provider.getId(), patients.get(1).getId(), firstSlot));
+        assertThrows(SlotUnavailableException.class, () -> appointmentService.bookAppointment(bookingRequest(patients.get(1).getId())));
+
+        var booked = appointmentService.bookAppointment(bookingRequest(holder)).getData();
+        assertEquals(hold.slotId().toString(), booked.getAppointment_id());
+        AppointmentSlot slot = slotRepository.findById(hold.slotId()).orElseThrow();
+        assertEquals(AppointmentSlot.Status.BOOKED, slot.getStatus());
+        assertEquals(holder, slot.getPatientId());
+        assertNull(slot.getHoldExpiresAt());
+    }
+
+    @Test
+    void testReleaseReopensSlot() {
+        createSlots(1);
+        UUID holder = patients.get(0).getId();
+        SlotHoldService.Hold hold = slotHoldService.hold(provider.getId(), holder, firstSlot);
+
+        assertFalse(slotHoldService.release(hold.slotId(), patients.get(1).getId()));
+        assertTrue(slotHoldService.release(hold.slotId(), holder));
+        assertFalse(slotHoldService.release(hold.slotId(), holder));
+        assertEquals(AppointmentSlot.Status.AVAILABLE, slotRepository.findById(hold.slotId()).orElseThrow().getStatus());
+        assertNotNull(slotHoldService.hold(provider.getId(), patients.get(1).getId(), firstSlot));
+    }
+
+    @Test
+    void testOutstandingHoldsAreRequeuedOnStart() throws Exception {
+        UUID slotId = createSlots(1).get(0);
+        // A hold placed before this instance started, e.g. by a previous run
+        placeHold(slotId, LocalDateTime.now().plusNanos(500_000_000L));
+
+        slotHoldService.start();
+        awaitNoHolds();
+        assertEquals(AppointmentSlot.Status.AVAILABLE, slotRepository.findById(slotId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testSweepReleasesLapsedHoldsNotQueuedHere() {
+        UUID slotId = createSlots(1).get(0);
+        placeHold(slotId, LocalDateTime.now().minusMinutes(1));
+        assertThrows(SlotUnavailableException.class, () -> slotHoldService.hold(provider.getId(), patients.get(1).getId(), firstSlot));
+
+        slotHoldService.sweep();
+        assertEquals(AppointmentSlot.Status.AVAILABLE, slotRepository.findById(slotId).orElseThrow().getStatus());
+        assertEquals(slotId, slotHoldService.hold(provider.getId(), patients.get(1).getId(), firstSlot).slotId());
+    }
+
+    @Test
+    void testHoldsArePerPatientLimited() {
+        createSlots(4);
+        UUID patient = patients.get(0).getId();
+        ReflectionTestUtils.setField(slotHoldService, "maxHoldsPerPatient", 2);
+        try {
+            slotHoldService.hold(provider.getId(), patient, firstSlot);
+            // One slot per time: another open slot at the same start is refused
+            SlotUnavailableException sameTime = assertThrows(SlotUnavailableException.class,
+                () -> slotHoldService.hold(provider.getId(), patient, firstSlot));
+            assertTrue(sameTime.getMessage().contains("already has a slot"));
+            slotHoldService.hold(provider.getId(), patient, firstSlot.plusMinutes(15));
+            assertThrows(HoldLimitExceededException.class,
+                () -> slotHoldService.hold(provider.getId(), patient, firstSlot.plusMinutes(30)));
+            assertEquals(2, slotRepository.countLiveHolds(patient, LocalDateTime.now(), AppointmentSlot.Status.HELD));
+
+            // Booking a held slot frees a place under the cap; other patients are unaffected
+            appointmentService.bookAppointment(bookingRequest(patient));
+            slotHoldService.hold(provider.getId(), patient, firstSlot.plusMinutes(30));
+            slotHoldService.hold(provider.getId(), patients.get(1).getId(), firstSlot.plusMinutes(45));
+        } finally {
+            ReflectionTestUtils.setField(slotHoldService, "maxHoldsPerPatient", 10000);
+        }
+    }
+
+    @Test
+    void testHoldRejectsUnknownPatientAndPastTime() {
+        createSlots(1);
+        assertThrows(IllegalArgumentException.class, () -> slotHoldService.hold(provider.getId(), UUID.randomUUID(), firstSlot));
+        assertThrows(IllegalArgumentException.class,
+            () -> slotHoldService.hold(provider.getId(), patients.get(0).getId(), LocalDateTime.now().minusHours(1)));
+    }
+
+    private List<UUID> createSlots(int count) {
+        UUID availabilityId = UUID.randomUUID();
+        List<AppointmentSlot> slots = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            AppointmentSlot slot = new AppointmentSlot();
+            slot.setId(UuidV7Generator.next());
+            slot.setAvailabilityId(availabilityId);
+            slot.setProviderId(provider.getId());
+            slot.setSlotStartTime(firstSlot.plusMinutes(15L * i));
+            slot.setSlotEndTime(firstSlot.plusMinutes(15L * (i + 1)));
+            slot.setStatus(AppointmentSlot.Status.AVAILABLE);
+            slots.add(slot);
+        }
+        transactionTemplate.executeWithoutResult(status -> batchWriter.insert(slots));
+        return slots.stream().map(AppointmentSlot::getId).toList();
+    }
+
+    private void placeHold(UUID slotId, LocalDateTime expiresAt) {
+        transactionTemplate.executeWithoutResult(status -> assertEquals(1, slotRepository.holdSlot(slotId,
+            patients.get(0).getId(), expiresAt, LocalDateTime.now(), AppointmentSlot.Status.AVAILABLE, AppointmentSlot.Status.HELD)));
+    }
+
+    private void awaitNoHolds() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (!slotRepository.findHoldsExpiringBy(AppointmentSlot.Status.HELD, LocalDateTime.of(9999, 12, 31, 0, 0)).isEmpty()) {
+            assertTrue(System.nanoTime() < deadline, "holds did not expire");
+            Thread.sleep(100);
+        }
+    }
+
+    private BookAppointmentRequestDTO bookingRequest(UUID patientId) {
+        BookAppointmentRequestDTO request = new BookAppointmentRequestDTO();
+        request.setProviderId(provider.getId().toString());
+        request.setPatientId(patientId.toString());
+        request.setAppointmentDateTime(firstSlot);
+        request.setAppointmentType("CONSULTATION");
+        return request;
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient(int i) {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith" + (char) ('a' + i));
+        p.setEmail("jane" + i + "@email.com");
+        p.setPhoneNumber("+1555100" + String.format("%04d", i));
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}
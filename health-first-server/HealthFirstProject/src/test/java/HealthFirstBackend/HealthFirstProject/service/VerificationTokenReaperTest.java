@@ -0,0 +1,141 @@
+package HealthFirstBackend.HealthFirstProject.service;
+
+import HealthFirstBackend.HealthFirstProject.model.*;
+import HealthFirstBackend.HealthFirstProject.repository.PatientRepository;
+import HealthFirstBackend.HealthFirstProject.repository.PatientVerificationTokenRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderRepository;
+import HealthFirstBackend.HealthFirstProject.repository.ProviderVerificationTokenRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(showSql = false)
+@ActiveProfiles("test")
+@Import(VerificationTokenReaper.class)
+@TestPropertySource(properties = "verification.token.purge-batch-size=100")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class VerificationTokenReaperTest {
+    @Autowired
+    private VerificationTokenReaper reaper;
+    @Autowired
+    private PatientVerificationTokenRepository patientTokenRepository;
+    @Autowired
+    private ProviderVerificationTokenRepository providerTokenRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private ProviderRepository providerRepository;
+
+    private Patient patient;
+    private Provider provider;
+
+    @BeforeEach
+    void setUp() {
+        patient = patientRepository.save(newPatient());
+        provider = providerRepository.save(newProvider());
+    }
+
+    @AfterEach
+    void tearDown() {
+        patientTokenRepository.deleteAll();
+        providerTokenRepository.deleteAll();
+        patientRepository.deleteAll();
+        providerRepository.deleteAll();
+    }
+
+    @Test
+    void testPurgeDeletesOnlyExpiredTokensAcrossBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PatientVerificationToken> patientTokens = new ArrayList<>();
+        // Expired and live tokens interleaved, spanning several batches
+        for (int i = 0; i < 350; i++) {
+            patientTokens.add(patientToken(i % 3 == 0 ? now.plusHours(1) : now.minusHours(1)));
+        }
+        patientTokenRepository.saveAll(patientTokens);
+        List<ProviderVerificationToken> providerTokens = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            providerTokens.add(providerToken(i < 100 ? now.minusMinutes(1) : now.plusDays(1)));
+        }
+        providerTokenRepository.saveAll(providerTokens);
+        VerificationTokenReaper.Stats before = reaper.stats();
+
+        assertEquals(233 + 100, reaper.purge());
+
+        assertEquals(117, patientTokenRepository.count());
+        assertEquals(20, providerTokenRepository.count());
+        assertTrue(patientTokenRepository.findAll().stream().allMatch(t -> t.getExpiryDate().isAfter(now)));
+        assertTrue(providerTokenRepository.findAll().stream().allMatch(t -> t.getExpiryDate().isAfter(now)));
+        VerificationTokenReaper.Stats stats = reaper.stats();
+        assertEquals(1, stats.runs() - before.runs());
+        assertEquals(233, stats.patientTokensPurged() - before.patientTokensPurged());
+        assertEquals(100, stats.providerTokensPurged() - before.providerTokensPurged());
+    }
+
+    @Test
+    void testPurgeWithNothingExpired() {
+        patientTokenRepository.save(patientToken(LocalDateTime.now().plusHours(1)));
+        assertEquals(0, reaper.purge());
+        assertEquals(1, patientTokenRepository.count());
+    }
+
+    private PatientVerificationToken patientToken(LocalDateTime expiry) {
+        PatientVerificationToken token = new PatientVerificationToken();
+        token.setToken(UUID.randomUUID().toString());
+        token.setPatient(patient);
+        token.setType(PatientVerificationToken.Type.EMAIL);
+        token.setExpiryDate(expiry);
+        return token;
+    }
+
+    private ProviderVerificationToken providerToken(LocalDateTime expiry) {
+        ProviderVerificationToken token = new ProviderVerificationToken();
+        token.setToken(UUID.randomUUID().toString());
+        token.setProvider(provider);
+        token.setExpiryDate(expiry);
+        return token;
+    }
+
+    private Provider newProvider() {
+        Provider p = new Provider();
+        p.setFirstName("John");
+        p.setLastName("Doe");
+        p.setEmail("john.doe@clinic.com");
+        p.setPhoneNumber("+15550000001");
+        p.setPasswordHash("hashed");
+        p.setSpecialization("Cardiology");
+        p.setLicenseNumber("LIC12345");
+        p.setYearsOfExperience(10);
+        ClinicAddress address = new ClinicAddress();
+        address.setStreet("123 Medical Center Dr");
+        address.setCity("Boston");
+        address.setState("MA");
+        address.setZip("02101");
+        p.setClinicAddress(address);
+        return p;
+    }
+
+    private Patient newPatient() {
+        Patient p = new Patient();
+        p.setFirstName("Jane");
+        p.setLastName("Smith");
+        p.setEmail("jane@email.com");
+        p.setPhoneNumber("+15551000000");
+        p.setPasswordHash("hashed");
+        p.setDateOfBirth(LocalDate.of(1990, 5, 15));
+        p.setGender(Patient.Gender.FEMALE);
+        return p;
+    }
+}